@@ -1,8 +1,10 @@
 package com.company.performance.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,6 +16,9 @@ import java.util.concurrent.Executor;
 @Configuration
 public class AppConfig implements WebMvcConfigurer {
 
+  @Value("${app.export.max-concurrent:2}")
+  private int maxConcurrentExports;
+
   /**
    * Configure Jackson ObjectMapper for JSON serialization
    */
@@ -53,4 +58,61 @@ public class AppConfig implements WebMvcConfigurer {
     executor.initialize();
     return executor;
   }
-}
\ No newline at end of file
+
+  /**
+   * Configure password hashing executor (login bulkhead). Sized to the core
+   * count so hashing bursts cannot starve request threads of CPU; the bounded
+   * queue makes excess logins fail fast instead of piling up.
+   */
+  @Bean(name = "passwordHashExecutor")
+  public ThreadPoolTaskExecutor passwordHashExecutor(
+      @Value("${app.security.password-hash.queue-capacity:64}") int queueCapacity) {
+    int cores = Runtime.getRuntime().availableProcessors();
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(cores);
+    executor.setMaxPoolSize(cores);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("PasswordHash-");
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Configure bulk import hashing executor. Separate from the login bulkhead
+   * so an import never fills its queue. The two still compete for CPU, so
+   * hash-threads=0 uses half the cores: a large import runs about half as
+   * fast as it could on an idle host, but leaves the other half to logins,
+   * whose latency and 429 rate stay close to normal while it runs.
+   */
+  @Bean(name = "importHashExecutor")
+  public ThreadPoolTaskExecutor importHashExecutor(@Value("${app.import.hash-threads:0}") int hashThreads) {
+    int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setThreadNamePrefix("ImportHash-");
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Configure the executor that writes streamed responses (user exports).
+   * Exports are capped at app.export.max-concurrent, so one thread each is
+   * enough; without this MVC falls back to a new thread per request.
+   */
+  @Bean(name = "streamingTaskExecutor")
+  public ThreadPoolTaskExecutor streamingTaskExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(maxConcurrentExports);
+    executor.setMaxPoolSize(maxConcurrentExports);
+    executor.setQueueCapacity(maxConcurrentExports);
+    executor.setThreadNamePrefix("Streaming-");
+    executor.initialize();
+    return executor;
+  }
+
+  @Override
+  public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+    configurer.setTaskExecutor(streamingTaskExecutor());
+  }
+}
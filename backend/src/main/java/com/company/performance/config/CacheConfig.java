@@ -0,0 +1,75 @@
+package com.company.performance.config;
+
+import com.company.performance.util.AppConstants;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  /**
+   * Configure in-memory caches backed by Caffeine
+   */
+  @Bean
+  public CacheManager cacheManager(
+      @Value("${app.cache.users.max-size:10000}") long userCacheMaxSize,
+      @Value("${app.cache.users.ttl:PT5M}") Duration userCacheTtl) {
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    cacheManager.setAllowNullValues(false);
+    cacheManager.registerCustomCache(AppConstants.CacheKeys.USER_CACHE,
+        Caffeine.newBuilder()
+            .maximumSize(userCacheMaxSize)
+            .expireAfterWrite(userCacheTtl)
+            .recordStats()
+            .build());
+    return cacheManager;
+  }
+
+  /**
+   * Configure the Hibernate second-level cache regions (JCache API backed by
+   * Caffeine). Hibernate is set to fail on a missing region, so every region
+   * it uses is created here with its own size and TTL.
+   */
+  @Bean(destroyMethod = "close")
+  public javax.cache.CacheManager hibernateCacheManager(
+      @Value("${app.cache.hibernate.users.max-size:10000}") long usersMaxSize,
+      @Value("${app.cache.hibernate.users.ttl:PT5M}") Duration usersTtl,
+      @Value("${app.cache.hibernate.queries.max-size:1000}") long queriesMaxSize,
+      @Value("${app.cache.hibernate.queries.ttl:PT5M}") Duration queriesTtl) {
+    // Own provider instance, so each application context gets its own manager
+    javax.cache.CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+    cacheManager.createCache(AppConstants.CacheRegions.USERS, region(usersMaxSize, usersTtl));
+    cacheManager.createCache(AppConstants.CacheRegions.USER_NATURAL_IDS, region(usersMaxSize, usersTtl));
+    cacheManager.createCache(AppConstants.CacheRegions.ACTIVE_MANAGERS, region(queriesMaxSize, queriesTtl));
+    cacheManager.createCache(AppConstants.CacheRegions.USERS_BY_EMPLOYEE_ID, region(queriesMaxSize, queriesTtl));
+    cacheManager.createCache("default-query-results-region", region(queriesMaxSize, queriesTtl));
+    // One entry per table; must not expire, or stale query results could be served
+    cacheManager.createCache("default-update-timestamps-region", new CaffeineConfiguration<>());
+    return cacheManager;
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer hibernateCacheCustomizer(javax.cache.CacheManager hibernateCacheManager) {
+    return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+  }
+
+  private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+    CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+    configuration.setMaximumSize(OptionalLong.of(maxSize));
+    configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+    return configuration;
+  }
+}
@@ -0,0 +1,132 @@
+package com.company.performance.config;
+
+import com.company.performance.service.QueryMetricsService;
+import com.company.performance.util.QueryMetricsDataSource;
+import com.company.performance.util.ReadReplicaDataSource;
+import com.company.performance.util.StreamingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read/write routing. Writes and read-write transactions use the primary
+ * (spring.datasource.*); read-only transactions use the read replicas in
+ * app.datasource.replica.urls, or the primary when there are none or none
+ * is healthy. Exports stream from their own pool (see
+ * {@link StreamingDataSource}). All of them are wrapped in
+ * QueryMetricsDataSource unless app.db.metrics.enabled is false.
+ */
+@Configuration
+public class DataSourceConfig {
+
+  /**
+   * Configure the primary pool from spring.datasource.* and
+   * spring.datasource.hikari.*, as Boot would without this class
+   */
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  /**
+   * Configure a pool per read replica (same driver as the primary)
+   */
+  @Bean
+  public ReadReplicaDataSource readReplicaDataSource(
+      @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+      @Value("${app.datasource.replica.urls:}") List<String> urls,
+      @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+      @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password,
+      @Value("${app.datasource.replica.pool-size:10}") int poolSize,
+      @Value("${app.datasource.replica.connection-timeout:PT1S}") Duration connectionTimeout,
+      @Value("${app.datasource.replica.lag-query:}") String lagQuery,
+      @Value("${app.datasource.replica.max-lag:PT5S}") Duration maxLag) {
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    for (String url : urls) {
+      if (url.isBlank()) {
+        continue;
+      }
+      HikariDataSource replica = new HikariDataSource();
+      replica.setPoolName("replica-" + (replicas.size() + 1));
+      replica.setJdbcUrl(url.trim());
+      replica.setDriverClassName(primaryDataSource.getDriverClassName());
+      replica.setUsername(username);
+      replica.setPassword(password);
+      replica.setMaximumPoolSize(poolSize);
+      replica.setReadOnly(true);
+      // Fail over to the primary quickly instead of waiting for a dead replica
+      replica.setConnectionTimeout(connectionTimeout.toMillis());
+      replica.setInitializationFailTimeout(-1);
+      replicas.put(replica.getPoolName(), replica);
+    }
+    return new ReadReplicaDataSource(primaryDataSource, replicas, lagQuery, maxLag, connectionTimeout);
+  }
+
+  /**
+   * Configure the export pool: one connection per concurrent export, on the
+   * primary unless app.export.datasource.url names another server (such as
+   * a replica). Only this pool turns on Connector/J's cursor fetch, which
+   * also forces server-side prepared statements; on the shared pools that
+   * would cost every login and /me query an extra prepare round trip.
+   */
+  @Bean
+  public HikariDataSource exportDataSource(
+      @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+      @Value("${app.export.datasource.url:}") String url,
+      @Value("${app.export.max-concurrent:2}") int maxConcurrent) {
+    HikariDataSource export = new HikariDataSource();
+    export.setPoolName("export");
+    export.setJdbcUrl(url.isBlank() ? primaryDataSource.getJdbcUrl() : url);
+    export.setDriverClassName(primaryDataSource.getDriverClassName());
+    export.setUsername(primaryDataSource.getUsername());
+    export.setPassword(primaryDataSource.getPassword());
+    export.setMaximumPoolSize(Math.max(1, maxConcurrent));
+    export.setMinimumIdle(0);
+    export.setReadOnly(true);
+    export.setInitializationFailTimeout(-1);
+    // Connector/J setting; drivers that do not know it ignore it
+    export.addDataSourceProperty("useCursorFetch", "true");
+    return export;
+  }
+
+  /**
+   * The application data source. The lazy proxy fetches the physical
+   * connection on first use, once the transaction has marked it read-only,
+   * and takes it from the replicas in that case. Metrics wrap the pools
+   * rather than the lazy proxy, so acquire time is the real pool checkout.
+   */
+  @Bean
+  @Primary
+  public StreamingDataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+      ReadReplicaDataSource readReplicaDataSource,
+      @Qualifier("exportDataSource") HikariDataSource exportDataSource,
+      QueryMetricsService queryMetricsService) {
+    DataSource primary = instrument(primaryDataSource, queryMetricsService, "primary");
+    DataSource export = instrument(exportDataSource, queryMetricsService, "export");
+    if (!readReplicaDataSource.hasReplicas()) {
+      return new StreamingDataSource(primary, export);
+    }
+    LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+    dataSource.setReadOnlyDataSource(instrument(readReplicaDataSource, queryMetricsService, "read-replicas"));
+    return new StreamingDataSource(dataSource, export);
+  }
+
+  private static DataSource instrument(DataSource dataSource, QueryMetricsService queryMetricsService, String name) {
+    return queryMetricsService.isEnabled()
+        ? new QueryMetricsDataSource(dataSource, queryMetricsService, name)
+        : dataSource;
+  }
+}
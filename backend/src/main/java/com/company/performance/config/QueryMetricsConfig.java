@@ -0,0 +1,72 @@
+package com.company.performance.config;
+
+import com.company.performance.service.QueryMetricsService;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Attributes statements to the Spring Data repository method that issued
+ * them: every repository proxy gets an interceptor that tags the calling
+ * thread with "Repository.method" for the duration of the call.
+ */
+@Configuration
+public class QueryMetricsConfig {
+
+  /**
+   * Add the interceptor to each repository as its factory builds the proxy.
+   * Static, so it is registered before the repository factory beans.
+   */
+  @Bean
+  public static BeanPostProcessor repositoryQueryMetricsPostProcessor(ObjectProvider<QueryMetricsService> metrics) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+          factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+              (proxyFactory, repository) -> {
+                QueryMetricsService queryMetricsService = metrics.getObject();
+                if (queryMetricsService.isEnabled()) {
+                  proxyFactory.addAdvice(new RepositoryMethodInterceptor(
+                      queryMetricsService, repository.getRepositoryInterface().getSimpleName()));
+                }
+              }));
+        }
+        return bean;
+      }
+    };
+  }
+
+  private static final class RepositoryMethodInterceptor implements MethodInterceptor {
+    private final QueryMetricsService metrics;
+    private final String repositoryName;
+    private final Map<Method, String> names = new ConcurrentHashMap<>();
+
+    RepositoryMethodInterceptor(QueryMetricsService metrics, String repositoryName) {
+      this.metrics = metrics;
+      this.repositoryName = repositoryName;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+      String method = names.computeIfAbsent(invocation.getMethod(), m -> repositoryName + "." + m.getName());
+      String enclosing = metrics.enterRepositoryMethod(method);
+      long statements = metrics.currentStatementCount();
+      long start = System.nanoTime();
+      try {
+        return invocation.proceed();
+      } finally {
+        metrics.exitRepositoryMethod(method, enclosing, System.nanoTime() - start,
+            metrics.currentStatementCount() - statements);
+      }
+    }
+  }
+}
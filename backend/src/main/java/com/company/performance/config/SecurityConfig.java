@@ -2,9 +2,16 @@ package com.company.performance.config;
 
 import com.company.performance.filter.JwtAuthenticationFilter;
 import com.company.performance.service.CustomUserDetailsService;
+import com.company.performance.util.BulkheadPasswordEncoder;
+import com.company.performance.util.CalibratedBCryptPasswordEncoder;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -13,14 +20,15 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -34,15 +42,29 @@ public class SecurityConfig {
   private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public BulkheadPasswordEncoder passwordEncoder(
+      @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor passwordHashExecutor,
+      @Value("${app.security.password-hash.max-wait:PT5S}") Duration maxWait,
+      @Value("${app.security.password-hash.retry-after:PT2S}") Duration retryAfter,
+      @Value("${app.security.password-hash.strength:0}") int strength,
+      @Value("${app.security.password-hash.target-ms:250}") long targetMs,
+      @Value("${app.security.password-hash.min-strength:10}") int minStrength,
+      @Value("${app.security.password-hash.max-strength:16}") int maxStrength,
+      @Value("${app.security.password-hash.upgrade-strength:0}") int upgradeStrength) {
+    // A fixed strength skips calibration (useful for tests and benchmarks)
+    CalibratedBCryptPasswordEncoder bcrypt = strength > 0
+        ? new CalibratedBCryptPasswordEncoder(strength, upgradeStrength)
+        : CalibratedBCryptPasswordEncoder.calibrate(targetMs, minStrength, maxStrength, upgradeStrength);
+    return new BulkheadPasswordEncoder(bcrypt, passwordHashExecutor, maxWait, retryAfter);
   }
 
   @Bean
-  public DaoAuthenticationProvider authenticationProvider() {
+  public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
     DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
     authProvider.setUserDetailsService(userDetailsService);
-    authProvider.setPasswordEncoder(passwordEncoder());
+    authProvider.setPasswordEncoder(passwordEncoder);
+    // Rehash stored passwords whose cost or algorithm is out of date
+    authProvider.setUserDetailsPasswordService(userDetailsService);
     return authProvider;
   }
 
@@ -52,12 +74,21 @@ public class SecurityConfig {
   }
 
   @Bean
-  public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain filterChain(HttpSecurity http, DaoAuthenticationProvider authenticationProvider)
+      throws Exception {
     http
         .cors(cors -> cors.configurationSource(corsConfigurationSource()))
         .csrf(AbstractHttpConfigurer::disable)
         .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+        // Missing, invalid or refresh-type bearer tokens get 401, not the default 403
+        .exceptionHandling(exceptions -> exceptions
+            .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
         .authorizeHttpRequests(authz -> authz
+            // Streamed responses (exports) finish in an async dispatch; the
+            // request was authorized when it started, and the stateless
+            // JWT filter does not run again for it
+            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
             // Public endpoints
             .requestMatchers("/api/auth/login", "/api/auth/refresh", "/api/auth/health").permitAll()
             .requestMatchers("/api/test/**").permitAll()
@@ -76,10 +107,12 @@ public class SecurityConfig {
             .requestMatchers("/api/employee/**").authenticated()
             .requestMatchers("/api/performance/**").authenticated()
             .requestMatchers("/api/goals/**").authenticated()
+            .requestMatchers("/api/org/**").authenticated()
+            .requestMatchers("/api/users/**").authenticated()
 
             // All other requests need authentication
             .anyRequest().authenticated())
-        .authenticationProvider(authenticationProvider())
+        .authenticationProvider(authenticationProvider)
         .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
     return http.build();
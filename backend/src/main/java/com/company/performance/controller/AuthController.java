@@ -1,10 +1,14 @@
 package com.company.performance.controller;
 
 import com.company.performance.dto.auth.*;
+import com.company.performance.exception.TooManyRequestsException;
 import com.company.performance.service.AuthenticationService;
+import com.company.performance.util.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
   private final AuthenticationService authenticationService;
+  private final JwtUtil jwtUtil;
 
   /**
    * User login endpoint
@@ -32,6 +37,9 @@ public class AuthController {
 
       return ResponseEntity.ok(
           ApiResponse.success("Login successful", jwtResponse));
+    } catch (TooManyRequestsException e) {
+      log.warn("Login throttled for user {}: {}", loginRequest.getEmail(), e.getMessage());
+      return tooManyRequests(e);
     } catch (Exception e) {
       log.error("Login failed for user {}: {}", loginRequest.getEmail(), e.getMessage());
       return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -52,6 +60,9 @@ public class AuthController {
 
       return ResponseEntity.status(HttpStatus.CREATED)
           .body(ApiResponse.success("User registered successfully", userInfo));
+    } catch (TooManyRequestsException e) {
+      log.warn("Registration throttled for user {}: {}", registerRequest.getEmail(), e.getMessage());
+      return tooManyRequests(e);
     } catch (Exception e) {
       log.error("Registration failed for user {}: {}", registerRequest.getEmail(), e.getMessage());
       return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -110,6 +121,9 @@ public class AuthController {
 
       return ResponseEntity.ok(
           ApiResponse.success("Password changed successfully"));
+    } catch (TooManyRequestsException e) {
+      log.warn("Password change throttled: {}", e.getMessage());
+      return tooManyRequests(e);
     } catch (Exception e) {
       log.error("Password change failed: {}", e.getMessage());
       return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -118,13 +132,14 @@ public class AuthController {
   }
 
   /**
-   * Logout endpoint (client-side token invalidation)
+   * Logout endpoint (revokes the access token and optional refresh token)
    */
   @PostMapping("/logout")
-  public ResponseEntity<ApiResponse> logout() {
-    // In JWT implementation, logout is typically handled client-side
-    // by removing the token from storage. Server-side token blacklisting
-    // can be implemented for enhanced security if needed.
+  public ResponseEntity<ApiResponse> logout(
+      HttpServletRequest request,
+      @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
+    String refreshToken = refreshTokenRequest != null ? refreshTokenRequest.getRefreshToken() : null;
+    authenticationService.logout(jwtUtil.getTokenFromRequest(request), refreshToken);
 
     return ResponseEntity.ok(
         ApiResponse.success("Logged out successfully"));
@@ -138,4 +153,10 @@ public class AuthController {
     return ResponseEntity.ok(
         ApiResponse.success("Authentication service is running"));
   }
+
+  private ResponseEntity<ApiResponse> tooManyRequests(TooManyRequestsException e) {
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+        .body(ApiResponse.error(e.getMessage()));
+  }
 }
\ No newline at end of file
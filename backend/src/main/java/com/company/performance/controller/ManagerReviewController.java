@@ -0,0 +1,44 @@
+package com.company.performance.controller;
+
+import com.company.performance.dto.auth.ApiResponse;
+import com.company.performance.dto.review.BulkTransitionRequest;
+import com.company.performance.dto.review.BulkTransitionResult;
+import com.company.performance.service.PerformanceReviewService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/manager/reviews")
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:3000" })
+@PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+@RequiredArgsConstructor
+public class ManagerReviewController {
+
+  private final PerformanceReviewService performanceReviewService;
+
+  /**
+   * Move many reviews along the workflow at once (e.g. approve a whole team).
+   * Each item carries the version last read; items that fail are reported
+   * individually and don't stop the rest.
+   */
+  @PostMapping("/transitions")
+  public ResponseEntity<ApiResponse> changeStatuses(@Valid @RequestBody BulkTransitionRequest request,
+      Authentication authentication) {
+    try {
+      BulkTransitionResult result = performanceReviewService.changeStatuses(request.getTransitions(),
+          authentication.getName());
+      return ResponseEntity.ok(ApiResponse.success("Review transitions processed", result));
+    } catch (Exception e) {
+      log.error("Bulk review transition by {} failed: {}", authentication.getName(), e.getMessage());
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+          .body(ApiResponse.error(e.getMessage()));
+    }
+  }
+}
@@ -0,0 +1,179 @@
+package com.company.performance.controller;
+
+import com.company.performance.dto.auth.ApiResponse;
+import com.company.performance.event.DomainEventBus;
+import com.company.performance.service.DepartmentStatsService;
+import com.company.performance.service.GoalOverdueSweeper;
+import com.company.performance.service.HibernateCacheStatsService;
+import com.company.performance.service.OrgHierarchyService;
+import com.company.performance.service.QueryMetricsService;
+import com.company.performance.service.TokenRevocationService;
+import com.company.performance.service.UserSearchService;
+import com.company.performance.util.BulkheadPasswordEncoder;
+import com.company.performance.util.ReadReplicaDataSource;
+import com.company.performance.util.VerifiedTokenCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/metrics")
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:3000" })
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class MetricsController {
+
+  private final VerifiedTokenCache verifiedTokenCache;
+  private final CacheManager cacheManager;
+  private final TokenRevocationService tokenRevocationService;
+  private final BulkheadPasswordEncoder passwordEncoder;
+  private final OrgHierarchyService orgHierarchyService;
+  private final UserSearchService userSearchService;
+  private final ReadReplicaDataSource readReplicaDataSource;
+  private final HibernateCacheStatsService hibernateCacheStatsService;
+  private final QueryMetricsService queryMetricsService;
+  private final DepartmentStatsService departmentStatsService;
+  private final GoalOverdueSweeper goalOverdueSweeper;
+  private final DomainEventBus domainEventBus;
+
+  /**
+   * Verified JWT cache hit/miss/eviction counters
+   */
+  @GetMapping("/token-cache")
+  public ResponseEntity<ApiResponse> tokenCacheStats() {
+    return ResponseEntity.ok(
+        ApiResponse.success("Token cache statistics", verifiedTokenCache.getStats()));
+  }
+
+  /**
+   * Token denylist size and overflow counters
+   */
+  @GetMapping("/revocations")
+  public ResponseEntity<ApiResponse> revocationStats() {
+    return ResponseEntity.ok(
+        ApiResponse.success("Token revocation statistics", tokenRevocationService.getStats()));
+  }
+
+  /**
+   * Org hierarchy index size and depth
+   */
+  @GetMapping("/org-hierarchy")
+  public ResponseEntity<ApiResponse> orgHierarchyStats() {
+    return ResponseEntity.ok(
+        ApiResponse.success("Org hierarchy statistics", orgHierarchyService.getStats()));
+  }
+
+  /**
+   * People search index size
+   */
+  @GetMapping("/user-search")
+  public ResponseEntity<ApiResponse> userSearchStats() {
+    return ResponseEntity.ok(
+        ApiResponse.success("User search statistics", userSearchService.getStats()));
+  }
+
+  /**
+   * Hibernate second-level, natural-id and query cache hit ratios
+   */
+  @GetMapping("/hibernate-cache")
+  public ResponseEntity<ApiResponse> hibernateCacheStats() {
+    return ResponseEntity.ok(
+        ApiResponse.success("Hibernate cache statistics", hibernateCacheStatsService.getStats()));
+  }
+
+  /**
+   * Statement latency, rows and N+1 counts per repository method and SQL
+   * shape (top statements by total time), plus connection-acquire times
+   */
+  @GetMapping("/queries")
+  public ResponseEntity<ApiResponse> queryStats(@RequestParam(defaultValue = "50") int top) {
+    return ResponseEntity.ok(
+        ApiResponse.success("Query statistics", queryMetricsService.getStats(Math.max(1, top))));
+  }
+
+  /**
+   * Clear the statement statistics (e.g. before measuring a change)
+   */
+  @DeleteMapping("/queries")
+  public ResponseEntity<ApiResponse> resetQueryStats() {
+    queryMetricsService.reset();
+    return ResponseEntity.ok(ApiResponse.success("Query statistics reset"));
+  }
+
+  /**
+   * Department stats snapshot count and refresh counters
+   */
+  @GetMapping("/performance-stats")
+  public ResponseEntity<ApiResponse> performanceStatsStats() {
+    return ResponseEntity.ok(
+        ApiResponse.success("Department stats cache statistics", departmentStatsService.getStats()));
+  }
+
+  /**
+   * Goals marked overdue, in total and by the last sweep
+   */
+  @GetMapping("/goal-sweeper")
+  public ResponseEntity<ApiResponse> goalSweeperStats() {
+    return ResponseEntity.ok(
+        ApiResponse.success("Goal overdue sweeper statistics", goalOverdueSweeper.getStats()));
+  }
+
+  /**
+   * Domain events published, and per subscriber queue depth, delivery lag
+   * and backpressure counters
+   */
+  @GetMapping("/events")
+  public ResponseEntity<ApiResponse> eventBusStats() {
+    return ResponseEntity.ok(
+        ApiResponse.success("Event bus statistics", domainEventBus.getStats()));
+  }
+
+  /**
+   * Read replica health and read routing counters
+   */
+  @GetMapping("/read-replicas")
+  public ResponseEntity<ApiResponse> readReplicaStats() {
+    return ResponseEntity.ok(
+        ApiResponse.success("Read replica statistics", readReplicaDataSource.getStats()));
+  }
+
+  /**
+   * Password hashing executor queue depth and latency
+   */
+  @GetMapping("/password-hashing")
+  public ResponseEntity<ApiResponse> passwordHashingStats() {
+    return ResponseEntity.ok(
+        ApiResponse.success("Password hashing statistics", passwordEncoder.getStats()));
+  }
+
+  /**
+   * Statistics for a named application cache (e.g. users)
+   */
+  @GetMapping("/caches/{name}")
+  public ResponseEntity<ApiResponse> cacheStats(@PathVariable String name) {
+    if (!cacheManager.getCacheNames().contains(name) ||
+        !(cacheManager.getCache(name) instanceof CaffeineCache cache)) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body(ApiResponse.error("Cache not found: " + name));
+    }
+
+    CacheStats stats = cache.getNativeCache().stats();
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("size", cache.getNativeCache().estimatedSize());
+    result.put("hitCount", stats.hitCount());
+    result.put("missCount", stats.missCount());
+    result.put("hitRate", stats.hitRate());
+    result.put("evictionCount", stats.evictionCount());
+    return ResponseEntity.ok(ApiResponse.success("Cache statistics", result));
+  }
+}
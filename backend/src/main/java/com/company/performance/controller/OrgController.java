@@ -0,0 +1,117 @@
+package com.company.performance.controller;
+
+import com.company.performance.dto.auth.ApiResponse;
+import com.company.performance.dto.auth.UserInfo;
+import com.company.performance.service.OrgHierarchyService;
+import com.company.performance.util.AppConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/org")
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:3000" })
+@RequiredArgsConstructor
+public class OrgController {
+
+  private final OrgHierarchyService orgHierarchyService;
+
+  /**
+   * Everyone reporting to a user, directly or (by default) transitively
+   */
+  @GetMapping("/{id}/reports")
+  public ResponseEntity<ApiResponse> getReports(@PathVariable Long id,
+      @RequestParam(defaultValue = "false") boolean directOnly,
+      Authentication authentication) {
+    if (!canView(authentication, id)) {
+      return forbidden();
+    }
+
+    try {
+      List<UserInfo> reports = orgHierarchyService.getReports(id, directOnly);
+      return ResponseEntity.ok(
+          ApiResponse.success("Reports retrieved successfully", reports));
+    } catch (Exception e) {
+      log.error("Failed to get reports for user {}: {}", id, e.getMessage());
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body(ApiResponse.error(e.getMessage()));
+    }
+  }
+
+  /**
+   * Managers above a user up to the top of the org
+   */
+  @GetMapping("/{id}/chain")
+  public ResponseEntity<ApiResponse> getReportingChain(@PathVariable Long id,
+      Authentication authentication) {
+    if (!canView(authentication, id)) {
+      return forbidden();
+    }
+
+    try {
+      List<UserInfo> chain = orgHierarchyService.getReportingChain(id);
+      return ResponseEntity.ok(
+          ApiResponse.success("Reporting chain retrieved successfully", chain));
+    } catch (Exception e) {
+      log.error("Failed to get reporting chain for user {}: {}", id, e.getMessage());
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body(ApiResponse.error(e.getMessage()));
+    }
+  }
+
+  /**
+   * Direct and total report counts of a user
+   */
+  @GetMapping("/{id}/span")
+  public ResponseEntity<ApiResponse> getSpanOfControl(@PathVariable Long id,
+      Authentication authentication) {
+    if (!canView(authentication, id)) {
+      return forbidden();
+    }
+
+    try {
+      Map<String, Object> span = orgHierarchyService.getSpanOfControl(id);
+      return ResponseEntity.ok(
+          ApiResponse.success("Span of control retrieved successfully", span));
+    } catch (Exception e) {
+      log.error("Failed to get span of control for user {}: {}", id, e.getMessage());
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body(ApiResponse.error(e.getMessage()));
+    }
+  }
+
+  /**
+   * Check if a user is in a manager's org
+   */
+  @GetMapping("/{id}/contains/{userId}")
+  public ResponseEntity<ApiResponse> isInOrg(@PathVariable Long id, @PathVariable Long userId,
+      Authentication authentication) {
+    if (!canView(authentication, id)) {
+      return forbidden();
+    }
+
+    return ResponseEntity.ok(
+        ApiResponse.success("Org membership checked", orgHierarchyService.isInOrg(id, userId)));
+  }
+
+  /**
+   * Admins see the whole org; everyone else only themselves and their reports
+   */
+  private boolean canView(Authentication authentication, Long id) {
+    boolean admin = authentication.getAuthorities().stream()
+        .anyMatch(authority -> authority.getAuthority().equals(AppConstants.ROLE_PREFIX + AppConstants.Roles.ADMIN));
+    return admin || orgHierarchyService.canView(authentication.getName(), id);
+  }
+
+  private ResponseEntity<ApiResponse> forbidden() {
+    return ResponseEntity.status(HttpStatus.FORBIDDEN)
+        .body(ApiResponse.error(AppConstants.Messages.ACCESS_DENIED));
+  }
+}
@@ -0,0 +1,194 @@
+package com.company.performance.controller;
+
+import com.company.performance.dto.auth.ApiResponse;
+import com.company.performance.dto.review.CreateReviewRequest;
+import com.company.performance.dto.review.DepartmentStats;
+import com.company.performance.dto.review.RatingStats;
+import com.company.performance.dto.review.ReviewInfo;
+import com.company.performance.dto.review.ReviewStatusRequest;
+import com.company.performance.service.DepartmentStatsService;
+import com.company.performance.service.OrgHierarchyService;
+import com.company.performance.service.PerformanceReviewService;
+import com.company.performance.service.RatingAggregateService;
+import com.company.performance.util.AppConstants;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/performance")
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:3000" })
+@RequiredArgsConstructor
+public class PerformanceReviewController {
+
+  private final PerformanceReviewService performanceReviewService;
+  private final RatingAggregateService ratingAggregateService;
+  private final DepartmentStatsService departmentStatsService;
+  private final OrgHierarchyService orgHierarchyService;
+
+  /**
+   * Start a draft review of someone in the caller's org
+   */
+  @PostMapping("/reviews")
+  @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+  public ResponseEntity<ApiResponse> createReview(@Valid @RequestBody CreateReviewRequest request,
+      Authentication authentication) {
+    try {
+      ReviewInfo review = performanceReviewService.createReview(authentication.getName(), request);
+      return ResponseEntity.status(HttpStatus.CREATED)
+          .body(ApiResponse.success("Review created successfully", review));
+    } catch (Exception e) {
+      log.error("Review creation failed for employee {}: {}", request.getEmployeeId(), e.getMessage());
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+          .body(ApiResponse.error(e.getMessage()));
+    }
+  }
+
+  /**
+   * Get a review
+   */
+  @GetMapping("/reviews/{id}")
+  public ResponseEntity<ApiResponse> getReview(@PathVariable Long id, Authentication authentication) {
+    try {
+      return ResponseEntity.ok(ApiResponse.success("Review retrieved successfully",
+          performanceReviewService.getReview(id, authentication.getName())));
+    } catch (Exception e) {
+      log.error("Failed to get review {}: {}", id, e.getMessage());
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body(ApiResponse.error(e.getMessage()));
+    }
+  }
+
+  /**
+   * Move a review along the workflow (submit, start review, approve, reject).
+   * Pass the version last read to refuse the change if someone else moved
+   * the review in between.
+   */
+  @PutMapping("/reviews/{id}/status")
+  @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+  public ResponseEntity<ApiResponse> changeStatus(@PathVariable Long id,
+      @Valid @RequestBody ReviewStatusRequest request,
+      @RequestParam(required = false) Long version,
+      Authentication authentication) {
+    try {
+      ReviewInfo review = performanceReviewService.changeStatus(id, request.getStatus(), version,
+          authentication.getName());
+      return ResponseEntity.ok(ApiResponse.success("Review status updated successfully", review));
+    } catch (ObjectOptimisticLockingFailureException e) {
+      log.warn("Concurrent update of review {}: {}", id, e.getMessage());
+      return ResponseEntity.status(HttpStatus.CONFLICT)
+          .body(ApiResponse.error("Review was modified by someone else; reload and retry"));
+    } catch (Exception e) {
+      log.error("Status change of review {} failed: {}", id, e.getMessage());
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+          .body(ApiResponse.error(e.getMessage()));
+    }
+  }
+
+  /**
+   * An employee's reviews, newest first
+   */
+  @GetMapping("/employees/{employeeId}/reviews")
+  public ResponseEntity<ApiResponse> getEmployeeReviews(@PathVariable Long employeeId,
+      Authentication authentication) {
+    if (!canView(authentication, employeeId)) {
+      return forbidden();
+    }
+    List<ReviewInfo> reviews = performanceReviewService.getReviewsForEmployee(employeeId);
+    return ResponseEntity.ok(ApiResponse.success("Reviews retrieved successfully", reviews));
+  }
+
+  /**
+   * Rating statistics of an employee's approved reviews
+   */
+  @GetMapping("/stats/employees/{employeeId}")
+  public ResponseEntity<ApiResponse> getEmployeeStats(@PathVariable Long employeeId,
+      Authentication authentication) {
+    if (!canView(authentication, employeeId)) {
+      return forbidden();
+    }
+    RatingStats stats = ratingAggregateService.getEmployeeStats(employeeId);
+    return ResponseEntity.ok(ApiResponse.success("Rating statistics retrieved successfully", stats));
+  }
+
+  /**
+   * Rating statistics of the approved reviews a manager wrote
+   */
+  @GetMapping("/stats/managers/{managerId}")
+  public ResponseEntity<ApiResponse> getManagerStats(@PathVariable Long managerId,
+      Authentication authentication) {
+    if (!canView(authentication, managerId)) {
+      return forbidden();
+    }
+    RatingStats stats = ratingAggregateService.getManagerStats(managerId);
+    return ResponseEntity.ok(ApiResponse.success("Rating statistics retrieved successfully", stats));
+  }
+
+  /**
+   * Rating statistics of a department's approved reviews
+   */
+  @GetMapping("/stats/departments/{department}")
+  @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+  public ResponseEntity<ApiResponse> getDepartmentStats(@PathVariable String department) {
+    RatingStats stats = ratingAggregateService.getDepartmentStats(department);
+    return ResponseEntity.ok(ApiResponse.success("Rating statistics retrieved successfully", stats));
+  }
+
+  /**
+   * Dashboard stats of every department, from the materialized snapshots
+   */
+  @GetMapping("/dashboard/departments")
+  @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+  public ResponseEntity<ApiResponse> getDepartmentDashboards() {
+    List<DepartmentStats> stats = departmentStatsService.getAllStats();
+    return ResponseEntity.ok(ApiResponse.success("Department statistics retrieved successfully", stats));
+  }
+
+  /**
+   * Dashboard stats of a department, from its materialized snapshot
+   */
+  @GetMapping("/dashboard/departments/{department}")
+  @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+  public ResponseEntity<ApiResponse> getDepartmentDashboard(@PathVariable String department) {
+    DepartmentStats stats = departmentStatsService.getStats(department);
+    return ResponseEntity.ok(ApiResponse.success("Department statistics retrieved successfully", stats));
+  }
+
+  /**
+   * Rebuild department snapshots from the database now, one department or
+   * all of them
+   */
+  @PostMapping("/dashboard/departments/rebuild")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<ApiResponse> rebuildDepartmentDashboards(@RequestParam(required = false) String department) {
+    if (department != null) {
+      DepartmentStats stats = departmentStatsService.forceRebuild(department);
+      return ResponseEntity.ok(ApiResponse.success("Department statistics rebuilt", stats));
+    }
+    departmentStatsService.rebuildAll();
+    return ResponseEntity.ok(ApiResponse.success("Department statistics rebuilt"));
+  }
+
+  /**
+   * Admins see everyone; everyone else only themselves and their reports
+   */
+  private boolean canView(Authentication authentication, Long id) {
+    boolean admin = authentication.getAuthorities().stream()
+        .anyMatch(authority -> authority.getAuthority().equals(AppConstants.ROLE_PREFIX + AppConstants.Roles.ADMIN));
+    return admin || orgHierarchyService.canView(authentication.getName(), id);
+  }
+
+  private ResponseEntity<ApiResponse> forbidden() {
+    return ResponseEntity.status(HttpStatus.FORBIDDEN)
+        .body(ApiResponse.error(AppConstants.Messages.ACCESS_DENIED));
+  }
+}
@@ -1,5 +1,6 @@
 package com.company.performance.controller;
 
+import com.company.performance.dto.auth.UserInfo;
 import com.company.performance.entity.User;
 import com.company.performance.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,8 +28,8 @@ public class TestController {
   }
 
   @GetMapping("/users")
-  public ResponseEntity<List<User>> getAllUsers() {
-    List<User> users = userRepository.findAll();
+  public ResponseEntity<List<UserInfo>> getAllUsers() {
+    List<UserInfo> users = userRepository.findAllUserInfo();
     return ResponseEntity.ok(users);
   }
 
@@ -0,0 +1,81 @@
+package com.company.performance.controller;
+
+import com.company.performance.dto.auth.ApiResponse;
+import com.company.performance.dto.auth.UserInfo;
+import com.company.performance.dto.user.AssignManagerRequest;
+import com.company.performance.service.AuthenticationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/users")
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:3000" })
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class UserAdminController {
+
+  private final AuthenticationService authenticationService;
+
+  /**
+   * Deactivate user account
+   */
+  @PutMapping("/{id}/deactivate")
+  public ResponseEntity<ApiResponse> deactivateUser(@PathVariable Long id) {
+    log.info("Deactivation request for user ID: {}", id);
+
+    try {
+      UserInfo userInfo = authenticationService.deactivateUser(id);
+
+      return ResponseEntity.ok(
+          ApiResponse.success("User deactivated successfully", userInfo));
+    } catch (Exception e) {
+      log.error("Deactivation failed for user {}: {}", id, e.getMessage());
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body(ApiResponse.error(e.getMessage()));
+    }
+  }
+
+  /**
+   * Revoke all active sessions for a user
+   */
+  @PostMapping("/{id}/revoke-sessions")
+  public ResponseEntity<ApiResponse> revokeSessions(@PathVariable Long id) {
+    log.info("Session revocation request for user ID: {}", id);
+
+    try {
+      authenticationService.revokeAllSessions(id);
+
+      return ResponseEntity.ok(
+          ApiResponse.success("All sessions revoked successfully"));
+    } catch (Exception e) {
+      log.error("Session revocation failed for user {}: {}", id, e.getMessage());
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body(ApiResponse.error(e.getMessage()));
+    }
+  }
+
+  /**
+   * Change or clear a user's manager
+   */
+  @PutMapping("/{id}/manager")
+  public ResponseEntity<ApiResponse> assignManager(@PathVariable Long id,
+      @RequestBody AssignManagerRequest request) {
+    log.info("Manager assignment request for user ID: {}", id);
+
+    try {
+      UserInfo userInfo = authenticationService.assignManager(id, request.getManagerId());
+
+      return ResponseEntity.ok(
+          ApiResponse.success("Manager assigned successfully", userInfo));
+    } catch (Exception e) {
+      log.error("Manager assignment failed for user {}: {}", id, e.getMessage());
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+          .body(ApiResponse.error(e.getMessage()));
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.company.performance.controller;
+
+import com.company.performance.dto.auth.ApiResponse;
+import com.company.performance.dto.user.UserPageResponse;
+import com.company.performance.dto.user.UserSearchResponse;
+import com.company.performance.service.UserDirectoryService;
+import com.company.performance.service.UserSearchService;
+import com.company.performance.util.AppConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.function.Supplier;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/users")
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:3000" })
+@RequiredArgsConstructor
+public class UserController {
+
+  private final UserSearchService userSearchService;
+  private final UserDirectoryService userDirectoryService;
+
+  /**
+   * Typeahead people search over name, email, employee ID, job title and
+   * department
+   */
+  @GetMapping("/search")
+  public ResponseEntity<ApiResponse> search(@RequestParam("q") String query,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "" + AppConstants.Pagination.DEFAULT_PAGE_SIZE) int size) {
+    UserSearchResponse response = userSearchService.search(query, page, size);
+    return ResponseEntity.ok(
+        ApiResponse.success("Search completed successfully", response));
+  }
+
+  /**
+   * Active users, one page at a time. Pass nextCursor from the previous
+   * page as cursor to continue.
+   */
+  @GetMapping
+  public ResponseEntity<ApiResponse> listActive(@RequestParam(required = false) String sort,
+      @RequestParam(required = false) String direction,
+      @RequestParam(defaultValue = "" + AppConstants.Pagination.DEFAULT_PAGE_SIZE) int size,
+      @RequestParam(required = false) String cursor) {
+    return page(() -> userDirectoryService.listActive(sort, direction, size, cursor));
+  }
+
+  /**
+   * Users with a role
+   */
+  @GetMapping("/by-role/{role}")
+  public ResponseEntity<ApiResponse> listByRole(@PathVariable String role,
+      @RequestParam(required = false) String sort,
+      @RequestParam(required = false) String direction,
+      @RequestParam(defaultValue = "" + AppConstants.Pagination.DEFAULT_PAGE_SIZE) int size,
+      @RequestParam(required = false) String cursor) {
+    return page(() -> userDirectoryService.listByRole(role, sort, direction, size, cursor));
+  }
+
+  /**
+   * Users in a department
+   */
+  @GetMapping("/by-department/{department}")
+  public ResponseEntity<ApiResponse> listByDepartment(@PathVariable String department,
+      @RequestParam(required = false) String sort,
+      @RequestParam(required = false) String direction,
+      @RequestParam(defaultValue = "" + AppConstants.Pagination.DEFAULT_PAGE_SIZE) int size,
+      @RequestParam(required = false) String cursor) {
+    return page(() -> userDirectoryService.listByDepartment(department, sort, direction, size, cursor));
+  }
+
+  /**
+   * Direct reports of a manager
+   */
+  @GetMapping("/by-manager/{managerId}")
+  public ResponseEntity<ApiResponse> listByManager(@PathVariable Long managerId,
+      @RequestParam(required = false) String sort,
+      @RequestParam(required = false) String direction,
+      @RequestParam(defaultValue = "" + AppConstants.Pagination.DEFAULT_PAGE_SIZE) int size,
+      @RequestParam(required = false) String cursor) {
+    return page(() -> userDirectoryService.listByManager(managerId, sort, direction, size, cursor));
+  }
+
+  /**
+   * Active managers
+   */
+  @GetMapping("/managers")
+  public ResponseEntity<ApiResponse> listManagers(@RequestParam(required = false) String sort,
+      @RequestParam(required = false) String direction,
+      @RequestParam(defaultValue = "" + AppConstants.Pagination.DEFAULT_PAGE_SIZE) int size,
+      @RequestParam(required = false) String cursor) {
+    return page(() -> userDirectoryService.listActiveManagers(sort, direction, size, cursor));
+  }
+
+  private ResponseEntity<ApiResponse> page(Supplier<UserPageResponse> query) {
+    try {
+      return ResponseEntity.ok(
+          ApiResponse.success("Users retrieved successfully", query.get()));
+    } catch (IllegalArgumentException e) {
+      log.warn("Invalid user listing request: {}", e.getMessage());
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+          .body(ApiResponse.error(e.getMessage()));
+    }
+  }
+}
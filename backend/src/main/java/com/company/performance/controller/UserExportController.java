@@ -0,0 +1,102 @@
+package com.company.performance.controller;
+
+import com.company.performance.dto.auth.ApiResponse;
+import com.company.performance.exception.TooManyRequestsException;
+import com.company.performance.service.UserExportService;
+import com.company.performance.util.UserExportWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/users/export")
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:3000" })
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class UserExportController {
+
+  private static final String EXPORT_PERMIT = UserExportController.class.getName() + ".permit";
+
+  private final UserExportService userExportService;
+
+  /**
+   * Stream the user directory as CSV (format=csv) or NDJSON (format=ndjson).
+   * Active users only unless includeInactive=true; gzip-compressed when the
+   * client sends Accept-Encoding: gzip.
+   */
+  @GetMapping
+  public ResponseEntity<StreamingResponseBody> exportUsers(
+      @RequestParam(defaultValue = "csv") String format,
+      @RequestParam(defaultValue = "false") boolean includeInactive,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+      HttpServletRequest request) {
+    UserExportWriter.Format exportFormat = UserExportWriter.Format.fromParam(format);
+    userExportService.acquire();
+    // Taken here so a full pool is still answered with 429; released when
+    // the async request ends, including a timeout or error before the body
+    // ever ran
+    WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(EXPORT_PERMIT,
+        new CallableProcessingInterceptor() {
+          @Override
+          public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+            userExportService.release();
+          }
+        });
+
+    boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+    StreamingResponseBody body = out -> {
+      try {
+        userExportService.export(exportFormat, includeInactive, gzip, out);
+      } catch (IOException e) {
+        log.warn("User export aborted: {}", e.getMessage());
+        throw e;
+      }
+    };
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("users." + exportFormat.getExtension())
+            .build()
+            .toString())
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return response.body(body);
+  }
+
+  // The success body is a stream, so errors raised before it starts are
+  // answered here rather than caught inline
+
+  @ExceptionHandler(IllegalArgumentException.class)
+  public ResponseEntity<ApiResponse> handleInvalidExport(IllegalArgumentException e) {
+    log.warn("Invalid user export: {}", e.getMessage());
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+        .body(ApiResponse.error(e.getMessage()));
+  }
+
+  @ExceptionHandler(TooManyRequestsException.class)
+  public ResponseEntity<ApiResponse> handleTooManyExports(TooManyRequestsException e) {
+    log.warn("User export rejected: {}", e.getMessage());
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+        .body(ApiResponse.error(e.getMessage()));
+  }
+}
@@ -0,0 +1,66 @@
+package com.company.performance.controller;
+
+import com.company.performance.dto.auth.ApiResponse;
+import com.company.performance.dto.user.UserImportStatus;
+import com.company.performance.exception.TooManyRequestsException;
+import com.company.performance.service.UserImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/users/import")
+@CrossOrigin(origins = { "http://localhost:5173", "http://localhost:3000" })
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class UserImportController {
+
+  private final UserImportService userImportService;
+
+  /**
+   * Bulk import users from the request body: CSV with a header row
+   * (text/csv), a JSON array (application/json) or one JSON object per line
+   * (application/x-ndjson). Returns 202 with a job id to poll.
+   */
+  @PostMapping(consumes = { "text/csv", "application/json", "application/x-ndjson" })
+  public ResponseEntity<ApiResponse> startImport(HttpServletRequest request) {
+    try {
+      UserImportStatus status = userImportService.startImport(request.getInputStream(), request.getContentType());
+
+      return ResponseEntity.status(HttpStatus.ACCEPTED)
+          .body(ApiResponse.success("Import started", status));
+    } catch (TooManyRequestsException e) {
+      log.warn("User import rejected: {}", e.getMessage());
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+          .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+          .body(ApiResponse.error(e.getMessage()));
+    } catch (IllegalArgumentException e) {
+      log.warn("Invalid user import: {}", e.getMessage());
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+          .body(ApiResponse.error(e.getMessage()));
+    } catch (IOException e) {
+      log.error("Could not read user import upload: {}", e.getMessage());
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+          .body(ApiResponse.error("Could not read upload: " + e.getMessage()));
+    }
+  }
+
+  /**
+   * Progress and per-row errors of an import
+   */
+  @GetMapping("/{jobId}")
+  public ResponseEntity<ApiResponse> getStatus(@PathVariable String jobId) {
+    return userImportService.getStatus(jobId)
+        .map(status -> ResponseEntity.ok(ApiResponse.success("Import status retrieved successfully", status)))
+        .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(ApiResponse.error("Import not found: " + jobId)));
+  }
+}
@@ -1,5 +1,6 @@
 package com.company.performance.dto.auth;
 
+import com.company.performance.entity.User;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,4 +19,28 @@ public class UserInfo {
   private String role;
   private Long managerId;
   private Boolean isActive;
-}
\ No newline at end of file
+
+  // Used by JPQL constructor projections, which select the role enum
+  public UserInfo(Long id, String email, String firstName, String lastName, String employeeId,
+      String jobTitle, String department, User.Role role, Long managerId, Boolean isActive) {
+    this(id, email, firstName, lastName, employeeId, jobTitle, department,
+        role != null ? role.name() : null, managerId, isActive);
+  }
+
+  /**
+   * Map a User entity
+   */
+  public static UserInfo from(User user) {
+    return new UserInfo(
+        user.getId(),
+        user.getEmail(),
+        user.getFirstName(),
+        user.getLastName(),
+        user.getEmployeeId(),
+        user.getJobTitle(),
+        user.getDepartment(),
+        user.getRole().name(),
+        user.getManagerId(),
+        user.getIsActive());
+  }
+}
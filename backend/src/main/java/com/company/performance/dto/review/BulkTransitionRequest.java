@@ -0,0 +1,39 @@
+package com.company.performance.dto.review;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransitionRequest {
+
+  @NotEmpty(message = "Transitions are required")
+  @Size(max = 1000, message = "At most 1000 transitions per request")
+  private List<@Valid @NotNull Transition> transitions;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Transition {
+
+    @NotNull(message = "Review is required")
+    private Long reviewId;
+
+    // Version the caller last read; the move fails if the review changed since
+    @NotNull(message = "Version is required")
+    private Long version;
+
+    // One of AppConstants.ReviewStatus
+    @NotBlank(message = "Status is required")
+    private String status;
+  }
+}
@@ -0,0 +1,39 @@
+package com.company.performance.dto.review;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransitionResult {
+
+  public static final String APPLIED = "APPLIED";
+  public static final String NOT_FOUND = "NOT_FOUND";
+  public static final String ACCESS_DENIED = "ACCESS_DENIED";
+  public static final String DUPLICATE = "DUPLICATE";
+  public static final String INVALID_TRANSITION = "INVALID_TRANSITION";
+  public static final String CONFLICT = "CONFLICT";
+
+  private int applied;
+  private int failed;
+  // One per requested transition, in request order
+  private List<ItemResult> results;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class ItemResult {
+    private Long reviewId;
+    private String status;
+    // One of the outcome constants above
+    private String outcome;
+    // Set when the transition was not applied
+    private String message;
+    // New version (when applied) or the current one, to retry with
+    private Long version;
+  }
+}
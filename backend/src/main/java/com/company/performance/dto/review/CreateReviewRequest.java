@@ -0,0 +1,31 @@
+package com.company.performance.dto.review;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateReviewRequest {
+
+  @NotNull(message = "Employee is required")
+  private Long employeeId;
+
+  @NotBlank(message = "Review period is required")
+  @Size(max = 50, message = "Review period must not exceed 50 characters")
+  private String reviewPeriod;
+
+  @NotNull(message = "Overall rating is required")
+  @Min(value = 1, message = "Overall rating must be between 1 and 5")
+  @Max(value = 5, message = "Overall rating must be between 1 and 5")
+  private Integer overallRating;
+
+  @Size(max = 1000, message = "Comments must not exceed 1000 characters")
+  private String comments;
+}
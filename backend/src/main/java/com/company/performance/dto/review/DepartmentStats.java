@@ -0,0 +1,29 @@
+package com.company.performance.dto.review;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentStats {
+  private String department;
+  // Increases with every change; equal versions mean identical numbers
+  private long version;
+  private long reviewCount;
+  private double averageRating;
+  private double ratingStandardDeviation;
+  // Approved reviews per rating band (EXCELLENT, GOOD, SATISFACTORY, NEEDS_IMPROVEMENT)
+  private Map<String, Long> ratingBands;
+  // Goals per status
+  private Map<String, Long> goals;
+  // Completed goals over goals that were not cancelled
+  private double goalCompletionRate;
+  // Last full rebuild from the database; numbers may lag other instances' changes by up to maxStaleness
+  private Instant rebuiltAt;
+  private Instant updatedAt;
+}
@@ -0,0 +1,24 @@
+package com.company.performance.dto.review;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingStats {
+  // EMPLOYEE, MANAGER or DEPARTMENT
+  private String scope;
+  private String key;
+  private long reviewCount;
+  private double averageRating;
+  private double standardDeviation;
+  // Null when there are no approved reviews
+  private Integer minRating;
+  private Integer maxRating;
+  // Approved reviews per rating band (EXCELLENT, GOOD, SATISFACTORY, NEEDS_IMPROVEMENT)
+  private Map<String, Long> bands;
+}
@@ -0,0 +1,26 @@
+package com.company.performance.dto.review;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewInfo {
+  private Long id;
+  private Long employeeId;
+  private Long reviewerId;
+  private String department;
+  private String reviewPeriod;
+  private Integer overallRating;
+  private String comments;
+  private String status;
+  // Pass back with status changes that must not overwrite someone else's
+  private Long version;
+  private LocalDateTime submittedAt;
+  private LocalDateTime decidedAt;
+  private LocalDateTime createdAt;
+}
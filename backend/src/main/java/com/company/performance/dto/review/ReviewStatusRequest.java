@@ -0,0 +1,16 @@
+package com.company.performance.dto.review;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewStatusRequest {
+
+  // One of AppConstants.ReviewStatus
+  @NotBlank(message = "Status is required")
+  private String status;
+}
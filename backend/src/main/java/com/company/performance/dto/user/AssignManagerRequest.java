@@ -0,0 +1,13 @@
+package com.company.performance.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignManagerRequest {
+  // Null removes the user's manager
+  private Long managerId;
+}
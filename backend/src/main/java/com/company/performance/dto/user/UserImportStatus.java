@@ -0,0 +1,39 @@
+package com.company.performance.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportStatus {
+  private String jobId;
+  // QUEUED, RUNNING, COMPLETED or FAILED
+  private String status;
+  private String format;
+  private long rowsRead;
+  private long imported;
+  private long failed;
+  private double rowsPerSecond;
+  private LocalDateTime startedAt;
+  private LocalDateTime finishedAt;
+  // Set when the whole job failed (unreadable file, database down)
+  private String message;
+  // First max-errors row errors; failed counts all of them
+  private List<RowError> errors;
+  private boolean errorsTruncated;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class RowError {
+    // 1-based record number in the file (header excluded)
+    private long row;
+    private String email;
+    private String message;
+  }
+}
@@ -0,0 +1,19 @@
+package com.company.performance.dto.user;
+
+import com.company.performance.dto.auth.UserInfo;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageResponse {
+  private List<UserInfo> content;
+  private int size;
+  private boolean hasMore;
+  // Pass back as cursor to fetch the next page; null on the last page
+  private String nextCursor;
+}
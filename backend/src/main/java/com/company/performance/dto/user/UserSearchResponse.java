@@ -0,0 +1,19 @@
+package com.company.performance.dto.user;
+
+import com.company.performance.dto.auth.UserInfo;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchResponse {
+  private String query;
+  private int page;
+  private int size;
+  private boolean hasMore;
+  private List<UserInfo> results;
+}
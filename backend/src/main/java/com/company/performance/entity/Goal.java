@@ -0,0 +1,63 @@
+package com.company.performance.entity;
+
+import com.company.performance.util.AppConstants;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Goal of an employee with a due date. Moves through AppConstants.GoalStatus;
+ * open goals past their due date are marked OVERDUE by the overdue sweeper.
+ */
+@Entity
+@Table(name = "goals")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Goal {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "employee_id", nullable = false)
+  private Long employeeId;
+
+  // Employee's department when the goal was created
+  @Column(name = "department")
+  private String department;
+
+  @Column(nullable = false, length = 200)
+  private String title;
+
+  @Column(length = 1000)
+  private String description;
+
+  @Column(nullable = false, length = 20)
+  private String status = AppConstants.GoalStatus.NOT_STARTED;
+
+  @Column(name = "due_date", nullable = false)
+  private LocalDate dueDate;
+
+  @Column(name = "completed_at")
+  private LocalDateTime completedAt;
+
+  // Bulk status updates bump this too, so edits racing a sweep fail
+  @Version
+  @Column(nullable = false)
+  private Long version;
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @UpdateTimestamp
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+}
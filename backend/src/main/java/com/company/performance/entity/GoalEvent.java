@@ -0,0 +1,41 @@
+package com.company.performance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A goal status transition (event type from AppConstants.Events). Rows are
+ * appended with JDBC batches by GoalEventWriter and never change.
+ */
+@Entity
+@Immutable
+@Table(name = "goal_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalEvent {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "goal_id", nullable = false)
+  private Long goalId;
+
+  @Column(name = "event_type", nullable = false, length = 50)
+  private String eventType;
+
+  @Column(name = "from_status", length = 20)
+  private String fromStatus;
+
+  @Column(name = "to_status", nullable = false, length = 20)
+  private String toStatus;
+
+  @Column(name = "occurred_at", nullable = false)
+  private LocalDateTime occurredAt;
+}
@@ -0,0 +1,75 @@
+package com.company.performance.entity;
+
+import com.company.performance.util.AppConstants;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Performance review of an employee by a manager. Moves through
+ * AppConstants.ReviewStatus (see ReviewWorkflow); its rating counts towards
+ * the rating aggregates once approved.
+ */
+@Entity
+@Table(name = "performance_reviews")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PerformanceReview {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "employee_id", nullable = false)
+  private Long employeeId;
+
+  @Column(name = "reviewer_id", nullable = false)
+  private Long reviewerId;
+
+  // Employee's department when the review was created
+  @Column(name = "department")
+  private String department;
+
+  @Column(name = "review_period", nullable = false, length = 50)
+  private String reviewPeriod;
+
+  @Column(name = "overall_rating", nullable = false)
+  private Integer overallRating;
+
+  @Column(length = 1000)
+  private String comments;
+
+  @Column(nullable = false, length = 20)
+  private String status = AppConstants.ReviewStatus.DRAFT;
+
+  // Optimistic lock: concurrent transitions of the same review fail instead
+  // of overwriting each other (and approving twice)
+  @Version
+  @Column(nullable = false)
+  private Long version;
+
+  @Column(name = "submitted_at")
+  private LocalDateTime submittedAt;
+
+  // When the review was approved or rejected
+  @Column(name = "decided_at")
+  private LocalDateTime decidedAt;
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @UpdateTimestamp
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  public boolean isApproved() {
+    return AppConstants.ReviewStatus.APPROVED.equals(status);
+  }
+}
@@ -0,0 +1,116 @@
+package com.company.performance.entity;
+
+import com.company.performance.util.AppConstants;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Running totals of the approved review ratings of one employee, reviewing
+ * manager or department. Rows are only written by the additive upsert in
+ * RatingAggregateRepository, so concurrent approvals never lose an update;
+ * average and spread are derived from count, sum and sum of squares.
+ */
+@Entity
+@Table(name = "rating_aggregates")
+@IdClass(RatingAggregate.Key.class)
+@Immutable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingAggregate {
+
+  public static final String EMPLOYEE = "EMPLOYEE";
+  public static final String MANAGER = "MANAGER";
+  public static final String DEPARTMENT = "DEPARTMENT";
+
+  @Id
+  @Column(length = 20)
+  private String scope;
+
+  // Employee or manager id, or department name
+  @Id
+  @Column(name = "scope_key")
+  private String scopeKey;
+
+  @Column(name = "review_count", nullable = false)
+  private Long reviewCount;
+
+  @Column(name = "rating_sum", nullable = false)
+  private Long ratingSum;
+
+  @Column(name = "rating_sum_squares", nullable = false)
+  private Long ratingSumSquares;
+
+  @Column(name = "min_rating", nullable = false)
+  private Integer minRating;
+
+  @Column(name = "max_rating", nullable = false)
+  private Integer maxRating;
+
+  @Column(name = "excellent_count", nullable = false)
+  private Long excellentCount;
+
+  @Column(name = "good_count", nullable = false)
+  private Long goodCount;
+
+  @Column(name = "satisfactory_count", nullable = false)
+  private Long satisfactoryCount;
+
+  @Column(name = "needs_improvement_count", nullable = false)
+  private Long needsImprovementCount;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  public double getAverage() {
+    return reviewCount == 0 ? 0.0 : (double) ratingSum / reviewCount;
+  }
+
+  // Population standard deviation
+  public double getStandardDeviation() {
+    if (reviewCount == 0) {
+      return 0.0;
+    }
+    double mean = getAverage();
+    return Math.sqrt(Math.max(0.0, (double) ratingSumSquares / reviewCount - mean * mean));
+  }
+
+  public long getBandCount(Band band) {
+    return switch (band) {
+      case EXCELLENT -> excellentCount;
+      case GOOD -> goodCount;
+      case SATISFACTORY -> satisfactoryCount;
+      case NEEDS_IMPROVEMENT -> needsImprovementCount;
+    };
+  }
+
+  // Rating bands from AppConstants.PerformanceMetrics
+  public enum Band {
+    EXCELLENT, GOOD, SATISFACTORY, NEEDS_IMPROVEMENT;
+
+    public static Band of(double rating) {
+      if (rating >= AppConstants.PerformanceMetrics.EXCELLENT_THRESHOLD) {
+        return EXCELLENT;
+      } else if (rating >= AppConstants.PerformanceMetrics.GOOD_THRESHOLD) {
+        return GOOD;
+      } else if (rating >= AppConstants.PerformanceMetrics.SATISFACTORY_THRESHOLD) {
+        return SATISFACTORY;
+      }
+      return NEEDS_IMPROVEMENT;
+    }
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Key implements Serializable {
+    private String scope;
+    private String scopeKey;
+  }
+}
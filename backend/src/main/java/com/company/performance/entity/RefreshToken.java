@@ -0,0 +1,69 @@
+package com.company.performance.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Issued refresh token, keyed by its jti. Each token may be exchanged once;
+ * all tokens descending from the same login share a family id so reuse of
+ * a rotated token can revoke the whole chain.
+ */
+@Entity
+@Table(name = "refresh_tokens")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken implements Persistable<String> {
+
+  @Id
+  @Column(length = 36)
+  private String id;
+
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  @Column(name = "family_id", nullable = false, length = 36)
+  private String familyId;
+
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  @Column(name = "used_at")
+  private LocalDateTime usedAt;
+
+  @Column(name = "replaced_by", length = 36)
+  private String replacedBy;
+
+  @Column(nullable = false)
+  private Boolean revoked = false;
+
+  @CreationTimestamp
+  @Column(name = "created_at", updatable = false)
+  private LocalDateTime createdAt;
+
+  // Ids are assigned by the application, so track newness explicitly to let
+  // save() insert directly instead of merging (select + insert)
+  @Transient
+  private boolean newEntity = true;
+
+  @Override
+  public boolean isNew() {
+    return newEntity;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    newEntity = false;
+  }
+
+  public boolean isUsed() {
+    return usedAt != null;
+  }
+}
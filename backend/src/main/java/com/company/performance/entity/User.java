@@ -1,10 +1,15 @@
 package com.company.performance.entity;
 
+import com.company.performance.util.AppConstants;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,15 +17,24 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+// Second-level cached; read-write so updates through the session keep the
+// entity and natural-id regions consistent
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AppConstants.CacheRegions.USERS)
+@NaturalIdCache(region = AppConstants.CacheRegions.USER_NATURAL_IDS)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
 
+  // Pooled sequence (a table on MySQL): ids are handed out in blocks, so
+  // inserts can be JDBC-batched, which IDENTITY rules out
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+  @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 100)
   private Long id;
 
+  @NaturalId
   @Column(unique = true, nullable = false)
   private String email;
 
@@ -52,14 +66,18 @@ public class User {
   @Column(nullable = false)
   private Role role;
 
-  @Column(name = "is_active")
+  @Column(name = "is_active", nullable = false)
   private Boolean isActive = true;
 
   @Column(name = "manager_id")
   private Long managerId;
 
+  // Bumped on password change or deactivation to revoke outstanding tokens
+  @Column(name = "token_version", nullable = false)
+  private Long tokenVersion = 0L;
+
   @CreationTimestamp
-  @Column(name = "created_at", updatable = false)
+  @Column(name = "created_at", nullable = false, updatable = false)
   private LocalDateTime createdAt;
 
   @UpdateTimestamp
@@ -86,4 +104,12 @@ public class User {
   public boolean isAdmin() {
     return role == Role.ADMIN;
   }
+
+  public long currentTokenVersion() {
+    return tokenVersion != null ? tokenVersion : 0L;
+  }
+
+  public void bumpTokenVersion() {
+    tokenVersion = currentTokenVersion() + 1;
+  }
 }
\ No newline at end of file
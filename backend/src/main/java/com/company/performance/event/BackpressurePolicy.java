@@ -0,0 +1,16 @@
+package com.company.performance.event;
+
+/**
+ * What publishing does when a subscriber's buffer is full
+ */
+public enum BackpressurePolicy {
+  // Drop the event and count it; for work that is best-effort or repaired
+  // elsewhere (e.g. by a periodic rebuild)
+  DROP,
+  // Wait for space up to the bus's block timeout, then drop; slows down
+  // publishers instead of losing events under short bursts
+  BLOCK,
+  // Handle the event on the publishing thread; nothing is lost, but the
+  // handler must be thread-safe and may see events out of order
+  CALLER_RUNS
+}
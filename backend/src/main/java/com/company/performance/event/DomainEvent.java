@@ -0,0 +1,70 @@
+package com.company.performance.event;
+
+import com.company.performance.util.AppConstants;
+
+import java.time.Instant;
+
+/**
+ * Typed application events, named by AppConstants.Events. They are built
+ * and published on the DomainEventBus once the transaction that caused them
+ * has committed, so occurredAt is never earlier than the commit.
+ */
+public sealed interface DomainEvent {
+
+  // One of AppConstants.Events
+  String type();
+
+  Instant occurredAt();
+
+  record UserRegistered(Long userId, String email, String department, Instant occurredAt) implements DomainEvent {
+    @Override
+    public String type() {
+      return AppConstants.Events.USER_REGISTERED;
+    }
+  }
+
+  record UserLogin(Long userId, String email, Instant occurredAt) implements DomainEvent {
+    @Override
+    public String type() {
+      return AppConstants.Events.USER_LOGIN;
+    }
+  }
+
+  record UserLogout(String email, Instant occurredAt) implements DomainEvent {
+    @Override
+    public String type() {
+      return AppConstants.Events.USER_LOGOUT;
+    }
+  }
+
+  record PasswordChanged(Long userId, String email, Instant occurredAt) implements DomainEvent {
+    @Override
+    public String type() {
+      return AppConstants.Events.PASSWORD_CHANGED;
+    }
+  }
+
+  record ReviewSubmitted(Long reviewId, Long employeeId, Long reviewerId, Instant occurredAt) implements DomainEvent {
+    @Override
+    public String type() {
+      return AppConstants.Events.REVIEW_SUBMITTED;
+    }
+  }
+
+  // departmentSequence: position in the department's rating aggregate
+  // count (RatingAggregateService.recordApprovals); 0 without a department
+  record ReviewApproved(Long reviewId, Long employeeId, Long reviewerId, String department, int rating,
+      long departmentSequence, Instant occurredAt) implements DomainEvent {
+    @Override
+    public String type() {
+      return AppConstants.Events.REVIEW_APPROVED;
+    }
+  }
+
+  record GoalOverdue(Long goalId, String department, String fromStatus, Instant occurredAt) implements DomainEvent {
+    @Override
+    public String type() {
+      return AppConstants.Events.GOAL_OVERDUE;
+    }
+  }
+}
@@ -0,0 +1,296 @@
+package com.company.performance.event;
+
+import com.company.performance.util.LatencyHistogram;
+import com.company.performance.util.MpscRingBuffer;
+import com.company.performance.util.TransactionUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * In-process, asynchronous event bus. Every subscriber has its own bounded
+ * MPSC ring buffer and consumer thread: publishing is a lock-free offer per
+ * interested subscriber, and the consumer hands events to the handler in
+ * batches of up to the subscriber's batch size, so side effects run off the
+ * request thread and can be applied in bulk. A full buffer is handled by
+ * the subscriber's BackpressurePolicy; a slow subscriber never delays
+ * another. Delivery is at most once and does not survive a restart.
+ */
+@Slf4j
+@Component
+public class DomainEventBus {
+
+  // Consumer wakes up this often even without a signal
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+  private final int capacity;
+  private final long blockTimeoutNanos;
+  private final List<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+  private final LongAdder published = new LongAdder();
+  private final LongAdder unrouted = new LongAdder();
+
+  public DomainEventBus(@Value("${app.events.buffer-capacity:8192}") int capacity,
+      @Value("${app.events.block-timeout:PT0.1S}") Duration blockTimeout) {
+    // Checked here so a bad setting fails at startup, not at the first subscribe
+    if (capacity < MpscRingBuffer.MIN_CAPACITY || capacity > MpscRingBuffer.MAX_CAPACITY) {
+      throw new IllegalArgumentException("app.events.buffer-capacity must be between " + MpscRingBuffer.MIN_CAPACITY
+          + " and " + MpscRingBuffer.MAX_CAPACITY + ": " + capacity);
+    }
+    this.capacity = capacity;
+    this.blockTimeoutNanos = blockTimeout.toNanos();
+  }
+
+  /**
+   * Deliver events of a type (and its subtypes) to a handler, in batches of
+   * up to maxBatchSize on the subscription's own thread. Handler exceptions
+   * are logged and counted; the batch is not retried.
+   */
+  public <E extends DomainEvent> void subscribe(String name, Class<E> type, BackpressurePolicy policy,
+      int maxBatchSize, Consumer<List<E>> handler) {
+    Subscription<E> subscription = new Subscription<>(name, type, policy, Math.max(1, maxBatchSize), handler,
+        new MpscRingBuffer<>(capacity));
+    subscriptions.add(subscription);
+    subscription.start();
+    log.debug("Event subscriber {} registered for {} ({})", name, type.getSimpleName(), policy);
+  }
+
+  /**
+   * Hand an event to every subscriber of its type, without waiting for them
+   */
+  public void publish(DomainEvent event) {
+    published.increment();
+    boolean routed = false;
+    for (Subscription<?> subscription : subscriptions) {
+      if (subscription.type.isInstance(event)) {
+        subscription.offer(event);
+        routed = true;
+      }
+    }
+    if (!routed) {
+      unrouted.increment();
+    }
+  }
+
+  /**
+   * Build and publish an event once the surrounding transaction commits
+   * (immediately when none is active); rolled-back changes publish nothing
+   */
+  public void publishAfterCommit(Supplier<? extends DomainEvent> event) {
+    TransactionUtils.runAfterCommit(() -> publish(event.get()));
+  }
+
+  /**
+   * Build and publish a batch of events once the surrounding transaction
+   * commits
+   */
+  public void publishAllAfterCommit(Supplier<? extends Collection<? extends DomainEvent>> events) {
+    TransactionUtils.runAfterCommit(() -> events.get().forEach(this::publish));
+  }
+
+  /**
+   * Wait until every event accepted so far has been handled; false on
+   * timeout (shutdown, tests)
+   */
+  public boolean awaitDrained(Duration timeout) {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    for (Subscription<?> subscription : subscriptions) {
+      while (!subscription.isDrained()) {
+        if (System.nanoTime() - deadline > 0) {
+          return false;
+        }
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Publish counts and, per subscriber, queue depth, delivery lag and
+   * backpressure counters
+   */
+  public Map<String, Object> getStats() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("published", published.sum());
+    result.put("unrouted", unrouted.sum());
+    result.put("bufferCapacity", capacity);
+    Map<String, Object> subscribers = new LinkedHashMap<>();
+    for (Subscription<?> subscription : subscriptions) {
+      subscribers.put(subscription.name, subscription.getStats());
+    }
+    result.put("subscribers", subscribers);
+    return result;
+  }
+
+  /**
+   * Stop the consumers after they have handled what is already queued
+   */
+  @PreDestroy
+  public void shutdown() {
+    if (!awaitDrained(Duration.ofSeconds(5))) {
+      log.warn("Event subscribers did not drain before shutdown");
+    }
+    for (Subscription<?> subscription : subscriptions) {
+      subscription.stop();
+    }
+  }
+
+  private record Envelope(DomainEvent event, long publishedNanos) {
+  }
+
+  private final class Subscription<E extends DomainEvent> implements Runnable {
+
+    private final String name;
+    private final Class<E> type;
+    private final BackpressurePolicy policy;
+    private final int maxBatchSize;
+    private final Consumer<List<E>> handler;
+    private final MpscRingBuffer<Envelope> buffer;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+    // Set while the consumer is parked on an empty buffer
+    private volatile boolean idle;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder handled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    // Publish to hand-off to the handler
+    private final LatencyHistogram lag = new LatencyHistogram();
+    private volatile Instant lastDeliveredAt;
+
+    Subscription(String name, Class<E> type, BackpressurePolicy policy, int maxBatchSize,
+        Consumer<List<E>> handler, MpscRingBuffer<Envelope> buffer) {
+      this.name = name;
+      this.type = type;
+      this.policy = policy;
+      this.maxBatchSize = maxBatchSize;
+      this.handler = handler;
+      this.buffer = buffer;
+      this.thread = new Thread(this, "events-" + name);
+      this.thread.setDaemon(true);
+    }
+
+    void start() {
+      thread.start();
+    }
+
+    void stop() {
+      running = false;
+      LockSupport.unpark(thread);
+    }
+
+    void offer(DomainEvent event) {
+      Envelope envelope = new Envelope(event, System.nanoTime());
+      if (buffer.offer(envelope)) {
+        accepted();
+        return;
+      }
+
+      switch (policy) {
+        case DROP -> dropped.increment();
+        case BLOCK -> {
+          blocked.increment();
+          long deadline = System.nanoTime() + blockTimeoutNanos;
+          while (!buffer.offer(envelope)) {
+            if (System.nanoTime() - deadline > 0) {
+              dropped.increment();
+              return;
+            }
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+          }
+          accepted();
+        }
+        case CALLER_RUNS -> {
+          callerRuns.increment();
+          deliver(List.of(envelope));
+        }
+      }
+    }
+
+    private void accepted() {
+      accepted.increment();
+      if (idle) {
+        LockSupport.unpark(thread);
+      }
+    }
+
+    @Override
+    public void run() {
+      List<Envelope> batch = new ArrayList<>(maxBatchSize);
+      while (running || !buffer.isEmpty()) {
+        if (buffer.drainTo(batch, maxBatchSize) == 0) {
+          idle = true;
+          // Re-check after announcing idleness, so a concurrent offer either
+          // lands before this check or sees idle and unparks
+          if (buffer.isEmpty() && running) {
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+          }
+          idle = false;
+          continue;
+        }
+        deliver(batch);
+        handled.add(batch.size());
+        batch.clear();
+      }
+    }
+
+    private void deliver(List<Envelope> envelopes) {
+      long now = System.nanoTime();
+      List<E> events = new ArrayList<>(envelopes.size());
+      for (Envelope envelope : envelopes) {
+        lag.record(now - envelope.publishedNanos());
+        events.add(type.cast(envelope.event()));
+      }
+      try {
+        handler.accept(events);
+      } catch (RuntimeException e) {
+        failed.add(events.size());
+        log.error("Event subscriber {} failed on a batch of {}: {}", name, events.size(), e.getMessage(), e);
+      }
+      batches.increment();
+      lastDeliveredAt = Instant.now();
+    }
+
+    boolean isDrained() {
+      return handled.sum() >= accepted.sum();
+    }
+
+    Map<String, Object> getStats() {
+      Map<String, Object> result = new LinkedHashMap<>();
+      result.put("eventType", type.getSimpleName());
+      result.put("policy", policy.name());
+      result.put("maxBatchSize", maxBatchSize);
+      result.put("queued", buffer.size());
+      result.put("accepted", accepted.sum());
+      result.put("handled", handled.sum());
+      result.put("failed", failed.sum());
+      result.put("dropped", dropped.sum());
+      result.put("blocked", blocked.sum());
+      result.put("callerRuns", callerRuns.sum());
+      result.put("batches", batches.sum());
+      result.put("lag", lag.summary());
+      result.put("lastDeliveredAt", lastDeliveredAt);
+      return result;
+    }
+  }
+}
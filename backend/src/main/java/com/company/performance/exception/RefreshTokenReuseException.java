@@ -0,0 +1,22 @@
+package com.company.performance.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a refresh token that was already rotated is presented again
+ * after the grace window, which indicates the token has been stolen
+ */
+@Getter
+public class RefreshTokenReuseException extends RuntimeException {
+
+  private final String familyId;
+  private final Long userId;
+  private final String email;
+
+  public RefreshTokenReuseException(String familyId, Long userId, String email) {
+    super("Refresh token reuse detected");
+    this.familyId = familyId;
+    this.userId = userId;
+    this.email = email;
+  }
+}
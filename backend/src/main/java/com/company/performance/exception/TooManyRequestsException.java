@@ -0,0 +1,18 @@
+package com.company.performance.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a bounded resource (e.g. the password hashing executor) is
+ * saturated and the request should be retried later
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+  private final long retryAfterSeconds;
+
+  public TooManyRequestsException(String message, long retryAfterSeconds) {
+    super(message);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
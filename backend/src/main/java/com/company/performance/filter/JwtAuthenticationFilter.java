@@ -1,7 +1,12 @@
 package com.company.performance.filter;
 
 import com.company.performance.service.CustomUserDetailsService;
+import com.company.performance.service.TokenRevocationService;
+import com.company.performance.service.TokenVersionService;
+import com.company.performance.util.AppConstants;
 import com.company.performance.util.JwtUtil;
+import com.company.performance.util.VerifiedToken;
+import com.company.performance.util.VerifiedTokenCache;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,10 +14,12 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -27,7 +34,13 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${app.jwt.stateless:false}")
+    private boolean statelessTokens;
 
     @Override
     protected void doFilterInternal(
@@ -38,14 +51,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = jwtUtil.getTokenFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.extractUsername(jwt);
+            // Only set authentication if no authentication is already set
+            if (StringUtils.hasText(jwt) && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Cache hit skips parsing entirely; on miss a single parse + signature
+                // check runs and expired tokens are rejected by the parser
+                VerifiedToken token = verifiedTokenCache.verify(jwt);
+                String username = token.getSubject();
 
-                // Only set authentication if no authentication is already set
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                if (token.isRefreshToken()) {
+                    // Refresh tokens are only good at /api/auth/refresh, where
+                    // rotation makes them single-use
+                    log.debug("Rejected refresh token used as bearer credential for user: {}", username);
+                } else if (tokenRevocationService.isRevoked(token)) {
+                    log.debug("Rejected revoked token for user: {}", username);
+                } else if (username != null) {
+                    UserDetails userDetails = statelessTokens && token.hasUserClaims()
+                            ? principalFromClaims(token)
+                            : userDetailsService.loadUserByUsername(username);
 
-                    if (jwtUtil.validateToken(jwt, userDetails)) {
+                    if (userDetails != null) {
                         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                                 userDetails,
                                 null,
@@ -71,12 +95,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Build principal straight from token claims (stateless mode). Revocation
+     * is checked against the in-memory token version map, so no user lookup
+     * happens on this path.
+     */
+    private UserDetails principalFromClaims(VerifiedToken token) {
+        if (!tokenVersionService.isCurrent(token.getUserId(), token.getTokenVersion())) {
+            log.debug("Rejected revoked token for user: {}", token.getSubject());
+            return null;
+        }
+
+        return User.withUsername(token.getSubject())
+                .password("")
+                .authorities(new SimpleGrantedAuthority(AppConstants.ROLE_PREFIX + token.getRole()))
+                .build();
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
         String path = request.getRequestURI();
 
-        // Skip JWT validation for public endpoints
-        return path.startsWith("/api/auth/") ||
+        // Skip JWT validation for public endpoints; other /api/auth endpoints
+        // (me, logout, change-password, register) need the bearer token
+        return path.equals("/api/auth/login") ||
+                path.equals("/api/auth/refresh") ||
+                path.equals("/api/auth/health") ||
                 path.startsWith("/api/test/") ||
                 path.startsWith("/actuator/health") ||
                 path.equals("/error");
@@ -0,0 +1,42 @@
+package com.company.performance.filter;
+
+import com.company.performance.service.QueryMetricsService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Scopes N+1 detection to a request: the SELECT shapes a request executes
+ * on its thread are counted and repeats are reported when it completes
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+  private final QueryMetricsService queryMetricsService;
+
+  @Override
+  protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+    return !queryMetricsService.isEnabled();
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain) throws ServletException, IOException {
+    queryMetricsService.beginRequest();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      queryMetricsService.endRequest(request.getMethod() + " " + request.getRequestURI());
+    }
+  }
+}
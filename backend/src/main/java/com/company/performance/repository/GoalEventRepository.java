@@ -0,0 +1,13 @@
+package com.company.performance.repository;
+
+import com.company.performance.entity.GoalEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GoalEventRepository extends JpaRepository<GoalEvent, Long>, GoalEventWriter {
+
+  List<GoalEvent> findByGoalIdOrderByOccurredAtAsc(Long goalId);
+}
@@ -0,0 +1,17 @@
+package com.company.performance.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Appends goal transition events in JDBC batches
+ */
+public interface GoalEventWriter {
+
+  /**
+   * Record the same transition for every goal in the batch, in the
+   * transaction that makes it
+   */
+  void recordTransitions(Collection<Long> goalIds, String eventType, String fromStatus, String toStatus,
+      LocalDateTime occurredAt);
+}
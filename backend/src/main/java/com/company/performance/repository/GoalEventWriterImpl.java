@@ -0,0 +1,49 @@
+package com.company.performance.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Event ids are database-generated, which keeps Hibernate from batching
+ * inserts of GoalEvent entities; a prepared statement batch sends a sweep
+ * batch's events in one round trip instead.
+ */
+class GoalEventWriterImpl implements GoalEventWriter {
+
+  private static final String INSERT =
+      "INSERT INTO goal_events (goal_id, event_type, from_status, to_status, occurred_at) VALUES (?, ?, ?, ?, ?)";
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  @Transactional
+  public void recordTransitions(Collection<Long> goalIds, String eventType, String fromStatus, String toStatus,
+      LocalDateTime occurredAt) {
+    if (goalIds.isEmpty()) {
+      return;
+    }
+    Timestamp at = Timestamp.valueOf(occurredAt);
+
+    entityManager.unwrap(Session.class).doWork(connection -> {
+      try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+        for (Long goalId : goalIds) {
+          statement.setLong(1, goalId);
+          statement.setString(2, eventType);
+          statement.setString(3, fromStatus);
+          statement.setString(4, toStatus);
+          statement.setTimestamp(5, at);
+          statement.addBatch();
+        }
+        statement.executeBatch();
+      }
+    });
+  }
+}
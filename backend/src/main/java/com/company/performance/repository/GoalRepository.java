@@ -0,0 +1,46 @@
+package com.company.performance.repository;
+
+import com.company.performance.entity.Goal;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GoalRepository extends JpaRepository<Goal, Long> {
+
+  // Next keyset page of goals in a status that were due before today, in
+  // (dueDate, id) order; locks just the page so the status update that
+  // follows can't race another transition
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT g FROM Goal g WHERE g.status = :status AND g.dueDate < :today " +
+      "AND (g.dueDate > :afterDueDate OR (g.dueDate = :afterDueDate AND g.id > :afterId)) " +
+      "ORDER BY g.dueDate, g.id")
+  List<Goal> findDueForUpdate(@Param("status") String status, @Param("today") LocalDate today,
+      @Param("afterDueDate") LocalDate afterDueDate, @Param("afterId") Long afterId, Limit limit);
+
+  // Set-based status change of a batch of goals still in the expected status
+  @Modifying(clearAutomatically = true)
+  @Query("UPDATE Goal g SET g.status = :toStatus, g.version = g.version + 1, g.updatedAt = :now " +
+      "WHERE g.id IN :ids AND g.status = :fromStatus")
+  int updateStatus(@Param("ids") Collection<Long> ids, @Param("fromStatus") String fromStatus,
+      @Param("toStatus") String toStatus, @Param("now") LocalDateTime now);
+
+  // Read from the (department, status) index without touching the rows
+  @Query("SELECT g.department AS department, g.status AS status, COUNT(g) AS count FROM Goal g " +
+      "WHERE g.department IS NOT NULL GROUP BY g.department, g.status")
+  List<GoalStatusCount> countByDepartmentAndStatus();
+
+  @Query("SELECT g.department AS department, g.status AS status, COUNT(g) AS count FROM Goal g " +
+      "WHERE g.department = :department GROUP BY g.department, g.status")
+  List<GoalStatusCount> countByStatus(@Param("department") String department);
+}
@@ -0,0 +1,12 @@
+package com.company.performance.repository;
+
+/**
+ * Projection of the number of goals in one department and status
+ */
+public interface GoalStatusCount {
+  String getDepartment();
+
+  String getStatus();
+
+  Long getCount();
+}
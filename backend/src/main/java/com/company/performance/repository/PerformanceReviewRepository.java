@@ -0,0 +1,22 @@
+package com.company.performance.repository;
+
+import com.company.performance.entity.PerformanceReview;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Query methods run in read-only transactions unless called inside a
+// read-write one (see UserRepository)
+@Repository
+@Transactional(readOnly = true)
+public interface PerformanceReviewRepository extends JpaRepository<PerformanceReview, Long>,
+    ReviewStatusUpdater {
+
+  // An employee's reviews, newest first
+  List<PerformanceReview> findByEmployeeIdOrderByCreatedAtDesc(Long employeeId);
+
+  // A reviewer's reviews in a status, newest first
+  List<PerformanceReview> findByReviewerIdAndStatusOrderByCreatedAtDesc(Long reviewerId, String status);
+}
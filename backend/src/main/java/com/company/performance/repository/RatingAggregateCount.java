@@ -0,0 +1,10 @@
+package com.company.performance.repository;
+
+/**
+ * Projection of the review count of one rating aggregate row
+ */
+public interface RatingAggregateCount {
+  String getScopeKey();
+
+  Long getReviewCount();
+}
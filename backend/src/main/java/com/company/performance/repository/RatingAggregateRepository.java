@@ -0,0 +1,27 @@
+package com.company.performance.repository;
+
+import com.company.performance.entity.RatingAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+// Reads are primary-key lookups; rows are written only through applyDeltas
+@Repository
+@Transactional(readOnly = true)
+public interface RatingAggregateRepository extends JpaRepository<RatingAggregate, RatingAggregate.Key>,
+    RatingAggregateUpdater {
+
+  // Leading primary key column, so a range scan of one scope
+  List<RatingAggregate> findByScope(String scope);
+
+  // Scalar read, so it sees the calling transaction's upserts rather than
+  // entities already loaded into the persistence context
+  @Query("SELECT a.scopeKey AS scopeKey, a.reviewCount AS reviewCount FROM RatingAggregate a " +
+      "WHERE a.scope = :scope AND a.scopeKey IN :keys")
+  List<RatingAggregateCount> findReviewCounts(@Param("scope") String scope, @Param("keys") Collection<String> keys);
+}
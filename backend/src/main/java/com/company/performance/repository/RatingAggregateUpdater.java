@@ -0,0 +1,12 @@
+package com.company.performance.repository;
+
+import java.util.Collection;
+
+/**
+ * Additive writes to the rating aggregates
+ */
+public interface RatingAggregateUpdater {
+
+  // Add each delta to its row (created on first use), as one JDBC batch
+  void applyDeltas(Collection<RatingDelta> deltas);
+}
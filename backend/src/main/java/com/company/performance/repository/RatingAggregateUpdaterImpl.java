@@ -0,0 +1,77 @@
+package com.company.performance.repository;
+
+import com.company.performance.entity.RatingAggregate;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Upserts that add to the current totals in the database ("count = count +
+ * ?"), so concurrent approvals touching the same row serialize on its row
+ * lock instead of overwriting each other. Rows are written in key order,
+ * which keeps two batches from deadlocking on each other's rows.
+ */
+class RatingAggregateUpdaterImpl implements RatingAggregateUpdater {
+
+  private static final String UPSERT =
+      "INSERT INTO rating_aggregates (scope, scope_key, review_count, rating_sum, rating_sum_squares, " +
+          "min_rating, max_rating, excellent_count, good_count, satisfactory_count, needs_improvement_count, " +
+          "updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP(6)) " +
+          "ON DUPLICATE KEY UPDATE review_count = review_count + ?, rating_sum = rating_sum + ?, " +
+          "rating_sum_squares = rating_sum_squares + ?, min_rating = LEAST(min_rating, ?), " +
+          "max_rating = GREATEST(max_rating, ?), excellent_count = excellent_count + ?, " +
+          "good_count = good_count + ?, satisfactory_count = satisfactory_count + ?, " +
+          "needs_improvement_count = needs_improvement_count + ?, updated_at = CURRENT_TIMESTAMP(6)";
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  // Fragments don't inherit the repository's transaction settings; joins the
+  // approving transaction
+  @Override
+  @Transactional
+  public void applyDeltas(Collection<RatingDelta> deltas) {
+    if (deltas.isEmpty()) {
+      return;
+    }
+    List<RatingDelta> ordered = deltas.stream()
+        .filter(delta -> delta.getCount() > 0)
+        .sorted(Comparator.comparing(RatingDelta::getScope).thenComparing(RatingDelta::getScopeKey))
+        .toList();
+
+    entityManager.unwrap(Session.class).doWork(connection -> {
+      try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+        for (RatingDelta delta : ordered) {
+          int i = 1;
+          statement.setString(i++, delta.getScope());
+          statement.setString(i++, delta.getScopeKey());
+          i = setTotals(statement, i, delta);
+          setTotals(statement, i, delta);
+          statement.addBatch();
+        }
+        statement.executeBatch();
+      }
+    });
+  }
+
+  private static int setTotals(PreparedStatement statement, int index, RatingDelta delta)
+      throws SQLException {
+    int i = index;
+    statement.setLong(i++, delta.getCount());
+    statement.setLong(i++, delta.getSum());
+    statement.setLong(i++, delta.getSumSquares());
+    statement.setInt(i++, delta.getMin());
+    statement.setInt(i++, delta.getMax());
+    for (RatingAggregate.Band band : RatingAggregate.Band.values()) {
+      statement.setLong(i++, delta.getBandCount(band));
+    }
+    return i;
+  }
+}
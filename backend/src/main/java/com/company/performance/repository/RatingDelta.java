@@ -0,0 +1,39 @@
+package com.company.performance.repository;
+
+import com.company.performance.entity.RatingAggregate;
+import lombok.Getter;
+
+/**
+ * Ratings to add to one rating aggregate row, accumulated in memory so a
+ * batch of approvals becomes a single upsert per row
+ */
+@Getter
+public class RatingDelta {
+
+  private final String scope;
+  private final String scopeKey;
+  private long count;
+  private long sum;
+  private long sumSquares;
+  private int min = Integer.MAX_VALUE;
+  private int max = Integer.MIN_VALUE;
+  private final long[] bandCounts = new long[RatingAggregate.Band.values().length];
+
+  public RatingDelta(String scope, String scopeKey) {
+    this.scope = scope;
+    this.scopeKey = scopeKey;
+  }
+
+  public void add(int rating) {
+    count++;
+    sum += rating;
+    sumSquares += (long) rating * rating;
+    min = Math.min(min, rating);
+    max = Math.max(max, rating);
+    bandCounts[RatingAggregate.Band.of(rating).ordinal()]++;
+  }
+
+  public long getBandCount(RatingAggregate.Band band) {
+    return bandCounts[band.ordinal()];
+  }
+}
@@ -0,0 +1,37 @@
+package com.company.performance.repository;
+
+import com.company.performance.entity.RefreshToken;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+  // Lock the row so concurrent rotations of the same token serialize across instances
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT t FROM RefreshToken t WHERE t.id = :id")
+  Optional<RefreshToken> findByIdForUpdate(@Param("id") String id);
+
+  // Revoke every token descending from the same login
+  @Modifying
+  @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.familyId = :familyId")
+  int revokeFamily(@Param("familyId") String familyId);
+
+  // Revoke every refresh token of a user
+  @Modifying
+  @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.userId = :userId AND t.revoked = false")
+  int revokeAllForUser(@Param("userId") Long userId);
+
+  // Purge tokens that can no longer be presented
+  @Modifying
+  @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :cutoff")
+  int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,20 @@
+package com.company.performance.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set-based review status changes guarded by each review's version
+ */
+public interface ReviewStatusUpdater {
+
+  /**
+   * Move every review still at its expected version from one status to
+   * another, bumping the version. The rows are locked before they are
+   * updated. Returns the ids this call moved; the rest changed since their
+   * version was read.
+   */
+  Set<Long> updateStatuses(Map<Long, Long> expectedVersions, String fromStatus, String toStatus,
+      LocalDateTime now);
+}
@@ -0,0 +1,99 @@
+package com.company.performance.repository;
+
+import com.company.performance.util.AppConstants;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One locking read and one UPDATE per call. "SELECT ... WHERE (id, version)
+ * IN ((?, ?), ...) FOR UPDATE" locks the reviews still at their expected
+ * version and status, waiting out any transaction that holds them; the
+ * UPDATE then moves exactly those rows. Ownership comes from the rows this
+ * call locked, never from their final state, since a concurrent change to
+ * the same status leaves a row that looks just like one we moved.
+ */
+class ReviewStatusUpdaterImpl implements ReviewStatusUpdater {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  // Joins the caller's transaction
+  @Override
+  @Transactional
+  public Set<Long> updateStatuses(Map<Long, Long> expectedVersions, String fromStatus, String toStatus,
+      LocalDateTime now) {
+    if (expectedVersions.isEmpty()) {
+      return Set.of();
+    }
+    String pairs = String.join(", ", Collections.nCopies(expectedVersions.size(), "(?, ?)"));
+
+    return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+      Set<Long> locked = new LinkedHashSet<>();
+      try (PreparedStatement statement = connection.prepareStatement(
+          "SELECT id FROM performance_reviews WHERE status = ? AND (id, version) IN (" + pairs + ") FOR UPDATE")) {
+        int i = 1;
+        statement.setString(i++, fromStatus);
+        for (Map.Entry<Long, Long> entry : expectedVersions.entrySet()) {
+          statement.setLong(i++, entry.getKey());
+          statement.setLong(i++, entry.getValue());
+        }
+        try (ResultSet rows = statement.executeQuery()) {
+          while (rows.next()) {
+            locked.add(rows.getLong(1));
+          }
+        }
+      }
+      if (locked.isEmpty()) {
+        return Set.of();
+      }
+
+      // The locks keep every selected row at its status and version until commit
+      String timestampColumn = timestampColumn(toStatus);
+      String ids = String.join(", ", Collections.nCopies(locked.size(), "?"));
+      Timestamp at = Timestamp.valueOf(now);
+      try (PreparedStatement statement = connection.prepareStatement(
+          "UPDATE performance_reviews SET status = ?, version = version + 1, updated_at = ?" +
+              (timestampColumn != null ? ", " + timestampColumn + " = ?" : "") +
+              " WHERE id IN (" + ids + ")")) {
+        int i = 1;
+        statement.setString(i++, toStatus);
+        statement.setTimestamp(i++, at);
+        if (timestampColumn != null) {
+          statement.setTimestamp(i++, at);
+        }
+        for (Long id : locked) {
+          statement.setLong(i++, id);
+        }
+        int updated = statement.executeUpdate();
+        if (updated != locked.size()) {
+          throw new IllegalStateException("Updated " + updated + " of " + locked.size() + " locked reviews");
+        }
+      }
+      return locked;
+    });
+  }
+
+  /**
+   * Column stamped along with the status (see PerformanceReviewService.applyStatus)
+   */
+  private static String timestampColumn(String status) {
+    if (AppConstants.ReviewStatus.SUBMITTED.equals(status)) {
+      return "submitted_at";
+    }
+    if (AppConstants.ReviewStatus.APPROVED.equals(status) || AppConstants.ReviewStatus.REJECTED.equals(status)) {
+      return "decided_at";
+    }
+    return null;
+  }
+}
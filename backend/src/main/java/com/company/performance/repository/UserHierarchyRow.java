@@ -0,0 +1,12 @@
+package com.company.performance.repository;
+
+/**
+ * Projection of the columns needed to build the reporting hierarchy
+ */
+public interface UserHierarchyRow {
+  Long getId();
+
+  Long getManagerId();
+
+  Boolean getIsActive();
+}
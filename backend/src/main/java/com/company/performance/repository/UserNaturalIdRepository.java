@@ -0,0 +1,15 @@
+package com.company.performance.repository;
+
+import com.company.performance.entity.User;
+
+import java.util.Optional;
+
+/**
+ * Lookups by the User natural id (email), served from the second-level
+ * natural-id and entity caches when possible
+ */
+public interface UserNaturalIdRepository {
+
+  // Find user by email for authentication
+  Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,28 @@
+package com.company.performance.repository;
+
+import com.company.performance.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Resolves emails through Hibernate's natural-id API; a derived query
+ * would always go to the database, as only the query cache could serve it
+ */
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  // Fragments don't inherit the repository's transaction settings
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<User> findByEmail(String email) {
+    return entityManager.unwrap(Session.class)
+        .bySimpleNaturalId(User.class)
+        .loadOptional(email);
+  }
+}
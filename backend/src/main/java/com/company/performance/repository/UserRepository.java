@@ -1,26 +1,54 @@
 package com.company.performance.repository;
 
+import com.company.performance.dto.auth.UserInfo;
 import com.company.performance.entity.User;
+import com.company.performance.util.AppConstants;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+// Query methods run in read-only transactions (served by a read replica when
+// configured) unless called inside a read-write one; the inherited save and
+// delete methods keep their own read-write transactions
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+@Transactional(readOnly = true)
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
 
-  // Find user by email for authentication
-  Optional<User> findByEmail(String email);
+  // Selects only the UserInfo columns straight into DTOs (no managed entities)
+  String USER_INFO_SELECT = "SELECT new com.company.performance.dto.auth.UserInfo(" +
+      "u.id, u.email, u.firstName, u.lastName, u.employeeId, u.jobTitle, u.department, " +
+      "u.role, u.managerId, u.isActive) FROM User u";
 
-  // Find user by employee ID
+  // Rows per round trip when streaming (a server-side cursor on the MySQL export pool)
+  String STREAM_FETCH_SIZE = "1000";
+
+  // Find user by employee ID (query cache; the users come from the entity cache)
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = AppConstants.CacheRegions.USERS_BY_EMPLOYEE_ID)
+  })
   Optional<User> findByEmployeeId(String employeeId);
 
   // Check if email exists
   boolean existsByEmail(String email);
 
+  // Check if an active account exists for the email
+  boolean existsByEmailAndIsActiveTrue(String email);
+
   // Check if employee ID exists
   boolean existsByEmployeeId(String employeeId);
 
@@ -36,18 +64,81 @@ public interface UserRepository extends JpaRepository<User, Long> {
   // Find users by manager
   List<User> findByManagerId(Long managerId);
 
-  // Find all managers
+  // Find all managers (query cache, invalidated by any write to users)
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = AppConstants.CacheRegions.ACTIVE_MANAGERS)
+  })
   @Query("SELECT u FROM User u WHERE u.role = 'MANAGER' AND u.isActive = true")
   List<User> findAllActiveManagers();
 
+  // Keyset-paginated variants of the list finders; the sort must end with a
+  // unique key (id) so every position is unambiguous
+  Window<User> findByIsActiveTrue(ScrollPosition position, Sort sort, Limit limit);
+
+  Window<User> findByRole(User.Role role, ScrollPosition position, Sort sort, Limit limit);
+
+  Window<User> findByDepartment(String department, ScrollPosition position, Sort sort, Limit limit);
+
+  Window<User> findByManagerId(Long managerId, ScrollPosition position, Sort sort, Limit limit);
+
+  Window<User> findByRoleAndIsActiveTrue(User.Role role, ScrollPosition position, Sort sort, Limit limit);
+
   // Find employees under a specific manager
   @Query("SELECT u FROM User u WHERE u.managerId = :managerId AND u.isActive = true")
   List<User> findEmployeesByManager(@Param("managerId") Long managerId);
 
-  // Search users by name
-  @Query("SELECT u FROM User u WHERE " +
-      "(LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-      "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
-      "u.isActive = true")
-  List<User> searchUsersByName(@Param("searchTerm") String searchTerm);
-}
\ No newline at end of file
+  // Users whose tokens deviate from the default (revoked or deactivated)
+  @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion, u.isActive AS isActive FROM User u " +
+      "WHERE u.tokenVersion > 0 OR u.isActive = false")
+  List<UserTokenState> findNonDefaultTokenStates();
+
+  // Reporting lines of every user, for the in-memory org hierarchy
+  @Query("SELECT u.id AS id, u.managerId AS managerId, u.isActive AS isActive FROM User u")
+  List<UserHierarchyRow> findHierarchyRows();
+
+  // Id of a user, without loading the entity
+  @Query("SELECT u.id FROM User u WHERE u.email = :email")
+  Optional<Long> findIdByEmail(@Param("email") String email);
+
+  // Which of the given emails are taken (set-based duplicate check for imports)
+  @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+  List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+  // Which of the given employee IDs are taken
+  @Query("SELECT u.employeeId FROM User u WHERE u.employeeId IN :employeeIds")
+  List<String> findExistingEmployeeIds(@Param("employeeIds") Collection<String> employeeIds);
+
+  // Which of the given ids belong to active users
+  @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.isActive = true")
+  List<Long> findActiveIds(@Param("ids") Collection<Long> ids);
+
+  // UserInfo projection of a single user
+  @Query(USER_INFO_SELECT + " WHERE u.email = :email")
+  Optional<UserInfo> findUserInfoByEmail(@Param("email") String email);
+
+  // UserInfo projections of a set of users
+  @Query(USER_INFO_SELECT + " WHERE u.id IN :ids")
+  List<UserInfo> findUserInfoByIdIn(@Param("ids") Collection<Long> ids);
+
+  // UserInfo projections of all users
+  @Query(USER_INFO_SELECT)
+  List<UserInfo> findAllUserInfo();
+
+  // UserInfo projections of active users
+  @Query(USER_INFO_SELECT + " WHERE u.isActive = true")
+  List<UserInfo> findActiveUserInfo();
+
+  // UserInfo projections of all users in id order, streamed for exports;
+  // consume inside a transaction and close the stream
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+  @Query(USER_INFO_SELECT + " ORDER BY u.id")
+  Stream<UserInfo> streamAllUserInfo();
+
+  // UserInfo projections of active users in (createdAt, id) order, streamed
+  // for exports; the order of the (is_active, created_at, id) index, so the
+  // first row streams without sorting every active user first
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+  @Query(USER_INFO_SELECT + " WHERE u.isActive = true ORDER BY u.createdAt, u.id")
+  Stream<UserInfo> streamActiveUserInfo();
+}
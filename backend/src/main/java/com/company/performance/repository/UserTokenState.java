@@ -0,0 +1,13 @@
+package com.company.performance.repository;
+
+/**
+ * Projection of the columns needed to decide whether a user's tokens are
+ * still valid
+ */
+public interface UserTokenState {
+  Long getId();
+
+  Long getTokenVersion();
+
+  Boolean getIsActive();
+}
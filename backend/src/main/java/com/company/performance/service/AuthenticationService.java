@@ -2,8 +2,11 @@ package com.company.performance.service;
 
 import com.company.performance.dto.auth.*;
 import com.company.performance.entity.User;
+import com.company.performance.event.DomainEvent;
+import com.company.performance.event.DomainEventBus;
 import com.company.performance.repository.UserRepository;
 import com.company.performance.util.JwtUtil;
+import com.company.performance.util.VerifiedToken;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,7 +19,9 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Slf4j
@@ -29,11 +34,20 @@ public class AuthenticationService {
   private final PasswordEncoder passwordEncoder;
   private final JwtUtil jwtUtil;
   private final CustomUserDetailsService userDetailsService;
+  private final TokenVersionService tokenVersionService;
+  private final TokenRevocationService tokenRevocationService;
+  private final RefreshTokenService refreshTokenService;
+  private final OrgHierarchyService orgHierarchyService;
+  private final UserSearchService userSearchService;
+  private final DomainEventBus eventBus;
+  private final TransactionTemplate transactionTemplate;
 
   /**
-   * Authenticate user and generate JWT tokens
+   * Authenticate user and generate JWT tokens. Not transactional on purpose:
+   * the password check can wait in the hashing bulkhead queue, and must not
+   * hold a pooled connection while it does. The user lookup and the refresh
+   * token row each run in their own short transaction afterwards.
    */
-  @Transactional
   public JwtResponse authenticateUser(LoginRequest loginRequest) {
     try {
       log.info("Attempting to authenticate user: {}", loginRequest.getEmail());
@@ -48,16 +62,17 @@ public class AuthenticationService {
       User user = userDetailsService.getUserByEmail(userDetails.getUsername());
 
       // Generate tokens
-      String accessToken = jwtUtil.generateToken(userDetails);
-      String refreshToken = jwtUtil.generateRefreshToken(userDetails);
+      String accessToken = jwtUtil.generateToken(user);
+      String refreshToken = refreshTokenService.issue(user);
 
+      eventBus.publishAfterCommit(() -> new DomainEvent.UserLogin(user.getId(), user.getEmail(), Instant.now()));
       log.info("User authenticated successfully: {}", loginRequest.getEmail());
 
       return new JwtResponse(
           accessToken,
           refreshToken,
           jwtUtil.getExpirationTime(),
-          mapToUserInfo(user));
+          UserInfo.from(user));
 
     } catch (BadCredentialsException e) {
       log.error("Authentication failed for user {}: Invalid credentials", loginRequest.getEmail());
@@ -72,12 +87,18 @@ public class AuthenticationService {
   }
 
   /**
-   * Register new user (Admin only functionality)
+   * Register new user (Admin only functionality). Like login, the password is
+   * hashed before the transaction opens, so a caller waiting in the hashing
+   * bulkhead queue does not hold a pooled connection.
    */
-  @Transactional
   public UserInfo registerUser(RegisterRequest registerRequest) {
     log.info("Attempting to register new user: {}", registerRequest.getEmail());
 
+    String encodedPassword = passwordEncoder.encode(registerRequest.getPassword());
+    return transactionTemplate.execute(status -> createUser(registerRequest, encodedPassword));
+  }
+
+  private UserInfo createUser(RegisterRequest registerRequest, String encodedPassword) {
     // Check if email already exists
     if (userRepository.existsByEmail(registerRequest.getEmail())) {
       throw new RuntimeException("Email is already in use");
@@ -92,7 +113,7 @@ public class AuthenticationService {
     // Create new user
     User user = new User();
     user.setEmail(registerRequest.getEmail());
-    user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+    user.setPassword(encodedPassword);
     user.setFirstName(registerRequest.getFirstName());
     user.setLastName(registerRequest.getLastName());
     user.setEmployeeId(registerRequest.getEmployeeId());
@@ -105,9 +126,14 @@ public class AuthenticationService {
     user.setHireDate(LocalDateTime.now());
 
     User savedUser = userRepository.save(user);
+    userDetailsService.evictUser(savedUser.getEmail());
+    orgHierarchyService.updateAfterCommit(savedUser);
+    userSearchService.updateAfterCommit(savedUser);
+    eventBus.publishAfterCommit(() -> new DomainEvent.UserRegistered(savedUser.getId(), savedUser.getEmail(),
+        savedUser.getDepartment(), Instant.now()));
     log.info("User registered successfully: {}", savedUser.getEmail());
 
-    return mapToUserInfo(savedUser);
+    return UserInfo.from(savedUser);
   }
 
   /**
@@ -117,25 +143,13 @@ public class AuthenticationService {
     try {
       String refreshToken = refreshTokenRequest.getRefreshToken();
 
-      if (!jwtUtil.validateToken(refreshToken) || !jwtUtil.isRefreshToken(refreshToken)) {
+      VerifiedToken verified = jwtUtil.verifyTokenOrNull(refreshToken);
+      if (verified == null || !verified.isRefreshToken() || tokenRevocationService.isRevoked(verified)) {
         throw new RuntimeException("Invalid refresh token");
       }
 
-      String username = jwtUtil.extractUsername(refreshToken);
-      UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-      User user = userDetailsService.getUserByEmail(username);
-
-      // Generate new access token
-      String newAccessToken = jwtUtil.generateToken(userDetails);
-      String newRefreshToken = jwtUtil.generateRefreshToken(userDetails);
-
-      log.info("Token refreshed successfully for user: {}", username);
-
-      return new JwtResponse(
-          newAccessToken,
-          newRefreshToken,
-          jwtUtil.getExpirationTime(),
-          mapToUserInfo(user));
+      // Single-use rotation; concurrent refreshes with the same token share one result
+      return refreshTokenService.rotate(verified, UserInfo::from);
 
     } catch (Exception e) {
       log.error("Token refresh failed: {}", e.getMessage());
@@ -144,58 +158,151 @@ public class AuthenticationService {
   }
 
   /**
-   * Change user password
+   * Change user password. The current password is checked and the new one
+   * hashed outside the transaction; the update then only applies if the
+   * stored hash is still the one that was checked.
    */
-  @Transactional
   public void changePassword(String userEmail, ChangePasswordRequest changePasswordRequest) {
-    User user = userRepository.findByEmail(userEmail)
+    String currentHash = userRepository.findByEmail(userEmail)
+        .map(User::getPassword)
         .orElseThrow(() -> new RuntimeException("User not found"));
 
     // Verify current password
-    if (!passwordEncoder.matches(changePasswordRequest.getCurrentPassword(), user.getPassword())) {
+    if (!passwordEncoder.matches(changePasswordRequest.getCurrentPassword(), currentHash)) {
+      throw new RuntimeException("Current password is incorrect");
+    }
+
+    String encodedPassword = passwordEncoder.encode(changePasswordRequest.getNewPassword());
+    transactionTemplate.executeWithoutResult(status -> updatePassword(userEmail, currentHash, encodedPassword));
+
+    log.info("Password changed successfully for user: {}", userEmail);
+  }
+
+  private void updatePassword(String userEmail, String verifiedHash, String encodedPassword) {
+    User user = userRepository.findByEmail(userEmail)
+        .orElseThrow(() -> new RuntimeException("User not found"));
+
+    // The password changed while the new one was being hashed
+    if (!verifiedHash.equals(user.getPassword())) {
       throw new RuntimeException("Current password is incorrect");
     }
 
     // Update password
-    user.setPassword(passwordEncoder.encode(changePasswordRequest.getNewPassword()));
+    user.setPassword(encodedPassword);
+    user.bumpTokenVersion();
     userRepository.save(user);
+    userDetailsService.evictUser(user.getEmail());
+    tokenVersionService.recordAfterCommit(user);
+    tokenRevocationService.revokeSubjectAfterCommit(user.getEmail());
+    refreshTokenService.revokeAllForUser(user.getId());
+    eventBus.publishAfterCommit(() -> new DomainEvent.PasswordChanged(user.getId(), user.getEmail(), Instant.now()));
+  }
 
-    log.info("Password changed successfully for user: {}", userEmail);
+  /**
+   * Logout by revoking the presented access token and, if supplied, the
+   * refresh token
+   */
+  public void logout(String accessToken, String refreshToken) {
+    String subject = null;
+    for (String token : new String[] { accessToken, refreshToken }) {
+      if (token == null) {
+        continue;
+      }
+      VerifiedToken verified = jwtUtil.verifyTokenOrNull(token);
+      if (verified != null) {
+        tokenRevocationService.revoke(verified);
+        if (verified.isRefreshToken() && verified.getId() != null) {
+          refreshTokenService.revoke(verified.getId());
+        }
+        subject = verified.getSubject();
+      }
+    }
+    if (subject != null) {
+      eventBus.publish(new DomainEvent.UserLogout(subject, Instant.now()));
+    }
   }
 
   /**
-   * Get current user information
+   * Revoke every outstanding token for a user (Admin only functionality)
    */
-  public UserInfo getCurrentUser(String userEmail) {
-    User user = userRepository.findByEmail(userEmail)
+  @Transactional
+  public void revokeAllSessions(Long userId) {
+    User user = userRepository.findById(userId)
+        .orElseThrow(() -> new RuntimeException("User not found"));
+
+    // Version bump survives restarts; the cutoff takes effect immediately
+    // for both stateless and lookup-based authentication
+    user.bumpTokenVersion();
+    userRepository.save(user);
+    tokenVersionService.recordAfterCommit(user);
+    tokenRevocationService.revokeSubjectAfterCommit(user.getEmail());
+    refreshTokenService.revokeAllForUser(user.getId());
+
+    log.info("All sessions revoked for user: {}", user.getEmail());
+  }
+
+  /**
+   * Deactivate user account (Admin only functionality)
+   */
+  @Transactional
+  public UserInfo deactivateUser(Long userId) {
+    User user = userRepository.findById(userId)
         .orElseThrow(() -> new RuntimeException("User not found"));
 
-    return mapToUserInfo(user);
+    user.setIsActive(false);
+    user.bumpTokenVersion();
+    User savedUser = userRepository.save(user);
+    userDetailsService.evictUser(savedUser.getEmail());
+    tokenVersionService.recordAfterCommit(savedUser);
+    orgHierarchyService.updateAfterCommit(savedUser);
+    userSearchService.updateAfterCommit(savedUser);
+
+    log.info("User deactivated: {}", savedUser.getEmail());
+    return UserInfo.from(savedUser);
   }
 
   /**
-   * Map User entity to UserInfo DTO
+   * Change or clear a user's manager (Admin only functionality)
    */
-  private UserInfo mapToUserInfo(User user) {
-    return new UserInfo(
-        user.getId(),
-        user.getEmail(),
-        user.getFirstName(),
-        user.getLastName(),
-        user.getEmployeeId(),
-        user.getJobTitle(),
-        user.getDepartment(),
-        user.getRole().name(),
-        user.getManagerId(),
-        user.getIsActive());
+  @Transactional
+  public UserInfo assignManager(Long userId, Long managerId) {
+    User user = userRepository.findById(userId)
+        .orElseThrow(() -> new RuntimeException("User not found"));
+
+    if (managerId != null) {
+      User manager = userRepository.findById(managerId)
+          .orElseThrow(() -> new RuntimeException("Manager not found"));
+
+      if (!manager.getIsActive()) {
+        throw new RuntimeException("Manager account is inactive");
+      }
+
+      if (orgHierarchyService.wouldCreateCycle(userId, managerId)) {
+        throw new RuntimeException("Manager assignment would create a reporting cycle");
+      }
+    }
+
+    user.setManagerId(managerId);
+    User savedUser = userRepository.save(user);
+    orgHierarchyService.updateAfterCommit(savedUser);
+    userSearchService.updateAfterCommit(savedUser);
+
+    log.info("Manager of user {} set to {}", savedUser.getEmail(), managerId);
+    return UserInfo.from(savedUser);
+  }
+
+  /**
+   * Get current user information
+   */
+  public UserInfo getCurrentUser(String userEmail) {
+    return userRepository.findUserInfoByEmail(userEmail)
+        .orElseThrow(() -> new RuntimeException("User not found"));
   }
 
   /**
    * Validate user exists and is active
    */
   public boolean validateUser(String email) {
-    return userRepository.findByEmail(email)
-        .map(User::getIsActive)
-        .orElse(false);
+    return userRepository.existsByEmailAndIsActiveTrue(email);
   }
 }
\ No newline at end of file
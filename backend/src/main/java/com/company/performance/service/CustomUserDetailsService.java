@@ -2,29 +2,55 @@ package com.company.performance.service;
 
 import com.company.performance.entity.User;
 import com.company.performance.repository.UserRepository;
+import com.company.performance.util.AppConstants;
+import com.company.performance.util.ReadReplicaDataSource;
+import com.company.performance.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Locale;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
   private final UserRepository userRepository;
+  private final CacheManager cacheManager;
+  private final ReadReplicaDataSource readReplicaDataSource;
+  private final TaskScheduler taskScheduler;
 
+  /**
+   * Load user principal, served from the user cache when possible. Not
+   * transactional on purpose: a cache hit must not open a transaction or
+   * borrow a connection, and the repository call runs in its own read-only
+   * transaction on a miss.
+   */
   @Override
-  @Transactional(readOnly = true)
   public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+    Cache cache = getUserCache();
+    String cacheKey = cacheKey(email);
+    UserDetails cached = cache.get(cacheKey, UserDetails.class);
+    if (cached != null) {
+      log.debug("User details served from cache: {}", email);
+      return copyOf(cached);
+    }
+
     log.debug("Loading user details for email: {}", email);
 
     User user = userRepository.findByEmail(email)
@@ -39,7 +65,48 @@ public class CustomUserDetailsService implements UserDetailsService {
     }
 
     log.debug("User loaded successfully: {}", email);
-    return createUserPrincipal(user);
+    UserDetails principal = createUserPrincipal(user);
+    cache.put(cacheKey, principal);
+    return copyOf(principal);
+  }
+
+  /**
+   * Store a rehashed password after a successful login whose stored hash
+   * used an outdated cost or algorithm. Called by DaoAuthenticationProvider.
+   */
+  @Override
+  @Transactional
+  public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+    User user = userRepository.findByEmail(userDetails.getUsername())
+        .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+
+    user.setPassword(newPassword);
+    userRepository.save(user);
+    evictUser(user.getEmail());
+
+    log.info("Password hash upgraded for user: {}", user.getEmail());
+    return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+        .password(newPassword)
+        .build();
+  }
+
+  /**
+   * Evict cached principal for a user whose credentials, role or status
+   * changed. Evicts immediately and again after the surrounding transaction
+   * commits, so a concurrent load cannot re-cache pre-commit state. With
+   * read replicas a load may still see pre-commit state until the replicas
+   * catch up, so it evicts once more after the maximum replica lag.
+   */
+  public void evictUser(String email) {
+    Cache cache = getUserCache();
+    String cacheKey = cacheKey(email);
+    cache.evict(cacheKey);
+    new TransactionAwareCacheDecorator(cache).evict(cacheKey);
+    if (readReplicaDataSource.hasReplicas()) {
+      TransactionUtils.runAfterCommit(() -> taskScheduler.schedule(() -> cache.evict(cacheKey),
+          Instant.now().plus(readReplicaDataSource.getMaxLag())));
+    }
+    log.debug("Evicted cached user details for: {}", email);
   }
 
   /**
@@ -81,6 +148,27 @@ public class CustomUserDetailsService implements UserDetailsService {
         .build();
   }
 
+  /**
+   * Return a fresh copy of a cached principal. ProviderManager erases the
+   * credentials of authenticated principals, so the cached instance must never
+   * be handed out directly.
+   */
+  private UserDetails copyOf(UserDetails principal) {
+    return org.springframework.security.core.userdetails.User.withUserDetails(principal).build();
+  }
+
+  private Cache getUserCache() {
+    Cache cache = cacheManager.getCache(AppConstants.CacheKeys.USER_CACHE);
+    if (cache == null) {
+      throw new IllegalStateException("Cache not configured: " + AppConstants.CacheKeys.USER_CACHE);
+    }
+    return cache;
+  }
+
+  private static String cacheKey(String email) {
+    return email.trim().toLowerCase(Locale.ROOT);
+  }
+
   /**
    * Get User entity from email (useful for additional user information)
    */
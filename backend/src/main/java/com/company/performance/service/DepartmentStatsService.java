@@ -0,0 +1,289 @@
+package com.company.performance.service;
+
+import com.company.performance.dto.review.DepartmentStats;
+import com.company.performance.entity.RatingAggregate;
+import com.company.performance.event.BackpressurePolicy;
+import com.company.performance.event.DomainEvent;
+import com.company.performance.event.DomainEventBus;
+import com.company.performance.repository.GoalRepository;
+import com.company.performance.repository.GoalStatusCount;
+import com.company.performance.repository.RatingAggregateRepository;
+import com.company.performance.repository.RatingDelta;
+import com.company.performance.util.AppConstants;
+import com.company.performance.util.DepartmentStatsSnapshot;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Materialized department dashboard stats (the
+ * {@value AppConstants.CacheKeys#PERFORMANCE_STATS} store): one immutable,
+ * versioned snapshot per department, held in memory and replaced
+ * copy-on-write by event subscribers as approvals and goal changes are
+ * published, so reads are a lock-free map lookup and never aggregate rows.
+ *
+ * Snapshots are rebuilt from the rating aggregate rows (one row per
+ * department) and goal counts from the (department, status) index, on the
+ * rebuild schedule and on read once older than max-staleness. An approval
+ * is applied only if its department sequence is past the review count the
+ * rebuild read, so one that commits while the rebuild reads is counted
+ * once whichever way the race goes. Approvals applied past that count are
+ * kept until a rebuild reads them and are re-applied to the snapshot that
+ * replaces the one they went into, and a snapshot is never replaced by one
+ * read from an older row. Goal moves published before a rebuild started are
+ * skipped as already counted. The rebuild interval bounds how long changes
+ * made by other instances, dropped events, or a goal move racing a rebuild
+ * (missed or counted twice) can be off.
+ */
+@Slf4j
+@Service
+public class DepartmentStatsService {
+
+  private final RatingAggregateRepository ratingAggregateRepository;
+  private final GoalRepository goalRepository;
+  private final DomainEventBus eventBus;
+  private final Duration maxStaleness;
+  private final int maxBatchSize;
+
+  private final Map<String, DepartmentStatsSnapshot> snapshots = new ConcurrentHashMap<>();
+  // Ratings by department sequence of approvals past the count the current
+  // snapshot was rebuilt from; only touched inside compute() on the same key
+  private final Map<String, NavigableMap<Long, Integer>> appliedApprovals = new ConcurrentHashMap<>();
+  private final AtomicLong versions = new AtomicLong();
+  private final LongAdder incrementalUpdates = new LongAdder();
+  private final LongAdder rebuilds = new LongAdder();
+  private final LongAdder staleRebuilds = new LongAdder();
+
+  // Versions come from one counter so they keep increasing across rebuilds
+  private interface SnapshotChange {
+    DepartmentStatsSnapshot apply(DepartmentStatsSnapshot current, long newVersion);
+  }
+
+  public DepartmentStatsService(RatingAggregateRepository ratingAggregateRepository,
+      GoalRepository goalRepository,
+      DomainEventBus eventBus,
+      @Value("${app.stats.department.max-staleness:PT5M}") Duration maxStaleness,
+      @Value("${app.stats.department.event-batch-size:500}") int maxBatchSize) {
+    this.ratingAggregateRepository = ratingAggregateRepository;
+    this.goalRepository = goalRepository;
+    this.eventBus = eventBus;
+    this.maxStaleness = maxStaleness;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  @PostConstruct
+  void init() {
+    rebuildAll();
+    // Stats must not silently lose updates, so publishers wait briefly for room
+    eventBus.subscribe("department-ratings", DomainEvent.ReviewApproved.class, BackpressurePolicy.BLOCK,
+        maxBatchSize, this::applyApprovals);
+    eventBus.subscribe("department-goals", DomainEvent.GoalOverdue.class, BackpressurePolicy.BLOCK,
+        maxBatchSize, this::applyOverdueGoals);
+  }
+
+  /**
+   * Current stats of a department, rebuilt first if the snapshot is older
+   * than max-staleness
+   */
+  public DepartmentStats getStats(String department) {
+    DepartmentStatsSnapshot snapshot = snapshots.get(department);
+    if (snapshot == null || isStale(snapshot, Instant.now())) {
+      if (snapshot != null) {
+        staleRebuilds.increment();
+      }
+      snapshot = rebuild(department);
+    }
+    return toStats(snapshot);
+  }
+
+  /**
+   * Current stats of every department with approved reviews or goals
+   */
+  public List<DepartmentStats> getAllStats() {
+    return snapshots.keySet().stream().sorted().map(this::getStats).toList();
+  }
+
+  /**
+   * Add approved ratings to their departments' snapshots. Approvals up to
+   * the count a snapshot was rebuilt from are already in it and are skipped.
+   */
+  void applyApprovals(List<DomainEvent.ReviewApproved> events) {
+    Map<String, List<DomainEvent.ReviewApproved>> byDepartment = new HashMap<>();
+    for (DomainEvent.ReviewApproved event : events) {
+      if (event.department() != null) {
+        byDepartment.computeIfAbsent(event.department(), d -> new ArrayList<>()).add(event);
+      }
+    }
+    Instant now = Instant.now();
+    byDepartment.forEach((department, approvals) -> update(department, (snapshot, version) -> {
+      RatingDelta delta = new RatingDelta(RatingAggregate.DEPARTMENT, department);
+      for (DomainEvent.ReviewApproved approval : approvals) {
+        if (approval.departmentSequence() > snapshot.getRatedThrough()) {
+          delta.add(approval.rating());
+          appliedApprovals.computeIfAbsent(department, d -> new TreeMap<>())
+              .put(approval.departmentSequence(), approval.rating());
+        }
+      }
+      return delta.getCount() == 0 ? snapshot : snapshot.withRatings(delta, version, now);
+    }));
+  }
+
+  /**
+   * Move overdue goals between status counts in their departments' snapshots
+   */
+  void applyOverdueGoals(List<DomainEvent.GoalOverdue> events) {
+    Map<String, List<DomainEvent.GoalOverdue>> byDepartment = new HashMap<>();
+    for (DomainEvent.GoalOverdue event : events) {
+      if (event.department() != null) {
+        byDepartment.computeIfAbsent(event.department(), d -> new ArrayList<>()).add(event);
+      }
+    }
+    Instant now = Instant.now();
+    byDepartment.forEach((department, goals) -> update(department, (snapshot, version) -> {
+      Map<String, Long> changes = new HashMap<>();
+      for (DomainEvent.GoalOverdue goal : goals) {
+        if (!goal.occurredAt().isBefore(snapshot.getRebuiltAt())) {
+          changes.merge(goal.fromStatus(), -1L, Long::sum);
+          changes.merge(AppConstants.GoalStatus.OVERDUE, 1L, Long::sum);
+        }
+      }
+      return changes.isEmpty() ? snapshot : snapshot.withGoalTransitions(changes, version, now);
+    }));
+  }
+
+  /**
+   * Rebuild one department's snapshot from the database
+   */
+  public DepartmentStats forceRebuild(String department) {
+    return toStats(rebuild(department));
+  }
+
+  /**
+   * Rebuild every department's snapshot from the database
+   */
+  @Scheduled(fixedDelayString = "${app.stats.department.rebuild-ms:300000}",
+      initialDelayString = "${app.stats.department.rebuild-ms:300000}")
+  public void rebuildAll() {
+    // Taken before reading: goal moves published after it may be missing from the rows
+    Instant now = Instant.now();
+    List<RatingAggregate> aggregates = ratingAggregateRepository.findByScope(RatingAggregate.DEPARTMENT);
+    Map<String, Map<String, Long>> goalCounts = loadGoalCounts();
+
+    Map<String, DepartmentStatsSnapshot> rebuilt = new HashMap<>();
+    for (RatingAggregate aggregate : aggregates) {
+      rebuilt.put(aggregate.getScopeKey(), DepartmentStatsSnapshot.rebuilt(aggregate.getScopeKey(),
+          versions.incrementAndGet(), aggregate, goalCounts.getOrDefault(aggregate.getScopeKey(), Map.of()), now));
+    }
+    goalCounts.forEach((department, counts) -> rebuilt.computeIfAbsent(department,
+        d -> DepartmentStatsSnapshot.rebuilt(d, versions.incrementAndGet(), null, counts, now)));
+
+    rebuilt.values().forEach(this::install);
+    snapshots.keySet().retainAll(rebuilt.keySet());
+    appliedApprovals.keySet().retainAll(rebuilt.keySet());
+    rebuilds.increment();
+    log.debug("Department stats rebuilt: {} departments", rebuilt.size());
+  }
+
+  /**
+   * Snapshot counts and refresh counters for monitoring
+   */
+  public Map<String, Object> getStats() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("store", AppConstants.CacheKeys.PERFORMANCE_STATS);
+    result.put("departments", snapshots.size());
+    result.put("maxStalenessSeconds", maxStaleness.toSeconds());
+    result.put("incrementalUpdates", incrementalUpdates.sum());
+    result.put("fullRebuilds", rebuilds.sum());
+    result.put("staleRebuilds", staleRebuilds.sum());
+    return result;
+  }
+
+  private DepartmentStatsSnapshot rebuild(String department) {
+    Instant now = Instant.now();
+    RatingAggregate aggregate = ratingAggregateRepository
+        .findById(new RatingAggregate.Key(RatingAggregate.DEPARTMENT, department))
+        .orElse(null);
+    Map<String, Long> goalCounts = loadGoalCounts(department);
+    return install(DepartmentStatsSnapshot.rebuilt(department, versions.incrementAndGet(), aggregate,
+        goalCounts, now));
+  }
+
+  /**
+   * Replace a department's snapshot with a rebuilt one, re-applying the
+   * approvals the rebuild's row does not include yet. A snapshot rebuilt
+   * from a later read of the row is kept instead.
+   */
+  private DepartmentStatsSnapshot install(DepartmentStatsSnapshot rebuilt) {
+    return snapshots.compute(rebuilt.getDepartment(), (department, current) -> {
+      if (current != null && current.getRatedThrough() > rebuilt.getRatedThrough()) {
+        return current;
+      }
+      NavigableMap<Long, Integer> applied = appliedApprovals.get(department);
+      if (applied == null) {
+        return rebuilt;
+      }
+      applied.headMap(rebuilt.getRatedThrough(), true).clear();
+      if (applied.isEmpty()) {
+        appliedApprovals.remove(department);
+        return rebuilt;
+      }
+      RatingDelta delta = new RatingDelta(RatingAggregate.DEPARTMENT, department);
+      applied.values().forEach(delta::add);
+      return rebuilt.withRatings(delta, versions.incrementAndGet(), rebuilt.getUpdatedAt());
+    });
+  }
+
+  private void update(String department, SnapshotChange change) {
+    // compute() swaps in the new snapshot atomically; readers use get() and
+    // never block. Departments without a snapshot are built from the
+    // database, changes included, on their first read.
+    snapshots.computeIfPresent(department, (key, current) -> change.apply(current, versions.incrementAndGet()));
+    incrementalUpdates.increment();
+  }
+
+  private boolean isStale(DepartmentStatsSnapshot snapshot, Instant now) {
+    return snapshot.getRebuiltAt().plus(maxStaleness).isBefore(now);
+  }
+
+  // Goal counts per department and status
+  private Map<String, Map<String, Long>> loadGoalCounts() {
+    Map<String, Map<String, Long>> counts = new HashMap<>();
+    for (GoalStatusCount row : goalRepository.countByDepartmentAndStatus()) {
+      counts.computeIfAbsent(row.getDepartment(), d -> new HashMap<>()).put(row.getStatus(), row.getCount());
+    }
+    return counts;
+  }
+
+  private Map<String, Long> loadGoalCounts(String department) {
+    Map<String, Long> counts = new HashMap<>();
+    for (GoalStatusCount row : goalRepository.countByStatus(department)) {
+      counts.put(row.getStatus(), row.getCount());
+    }
+    return counts;
+  }
+
+  private static DepartmentStats toStats(DepartmentStatsSnapshot snapshot) {
+    Map<String, Long> bands = new LinkedHashMap<>();
+    for (RatingAggregate.Band band : RatingAggregate.Band.values()) {
+      bands.put(band.name(), snapshot.getBandCount(band));
+    }
+    return new DepartmentStats(snapshot.getDepartment(), snapshot.getVersion(), snapshot.getReviewCount(),
+        snapshot.getAverageRating(), snapshot.getRatingStandardDeviation(), bands, snapshot.getGoalCounts(),
+        snapshot.getGoalCompletionRate(), snapshot.getRebuiltAt(), snapshot.getUpdatedAt());
+  }
+}
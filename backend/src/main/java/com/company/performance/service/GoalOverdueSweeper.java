@@ -0,0 +1,160 @@
+package com.company.performance.service;
+
+import com.company.performance.entity.Goal;
+import com.company.performance.event.DomainEvent;
+import com.company.performance.event.DomainEventBus;
+import com.company.performance.repository.GoalEventRepository;
+import com.company.performance.repository.GoalRepository;
+import com.company.performance.util.AppConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Marks open goals past their due date OVERDUE. Each status is walked in
+ * (dueDate, id) keyset pages over the (status, due_date) index; a page is
+ * locked, updated with one set-based UPDATE and its transition events
+ * appended, all in its own short transaction; goal.overdue events are
+ * published once it commits. Memory and lock time are bounded by the batch
+ * size however many goals are due.
+ */
+@Slf4j
+@Service
+public class GoalOverdueSweeper {
+
+  // Statuses a goal can go overdue from
+  private static final List<String> OPEN_STATUSES =
+      List.of(AppConstants.GoalStatus.NOT_STARTED, AppConstants.GoalStatus.IN_PROGRESS);
+
+  // Keyset start: earliest DATE value MySQL supports
+  private static final LocalDate FIRST_DUE_DATE = LocalDate.of(1000, 1, 1);
+
+  private final GoalRepository goalRepository;
+  private final GoalEventRepository goalEventRepository;
+  private final DomainEventBus eventBus;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+
+  private final AtomicLong totalMarked = new AtomicLong();
+  private final AtomicLong totalBatches = new AtomicLong();
+  private final AtomicReference<Map<String, Object>> lastRun = new AtomicReference<>(Map.of());
+
+  public GoalOverdueSweeper(GoalRepository goalRepository,
+      GoalEventRepository goalEventRepository,
+      DomainEventBus eventBus,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.goals.overdue.batch-size:500}") int batchSize) {
+    this.goalRepository = goalRepository;
+    this.goalEventRepository = goalEventRepository;
+    this.eventBus = eventBus;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+  }
+
+  @Scheduled(fixedDelayString = "${app.goals.overdue.sweep-ms:600000}",
+      initialDelayString = "${app.goals.overdue.sweep-ms:600000}")
+  public void sweep() {
+    sweep(LocalDate.now());
+  }
+
+  /**
+   * Mark goals due before today OVERDUE and return how many were marked
+   */
+  public int sweep(LocalDate today) {
+    long start = System.nanoTime();
+    int marked = 0;
+    int batches = 0;
+
+    for (String status : OPEN_STATUSES) {
+      LocalDate afterDueDate = FIRST_DUE_DATE;
+      long afterId = 0;
+      while (true) {
+        Batch batch = sweepBatch(status, today, afterDueDate, afterId);
+        if (batch == null) {
+          break;
+        }
+        marked += batch.marked();
+        batches++;
+        if (batch.size() < batchSize) {
+          break;
+        }
+        afterDueDate = batch.lastDueDate();
+        afterId = batch.lastId();
+      }
+    }
+
+    totalMarked.addAndGet(marked);
+    totalBatches.addAndGet(batches);
+    long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+    Map<String, Object> run = new LinkedHashMap<>();
+    run.put("at", Instant.now());
+    run.put("marked", marked);
+    run.put("batches", batches);
+    run.put("elapsedMs", elapsedMs);
+    lastRun.set(run);
+    if (marked > 0) {
+      log.info("Marked {} goals overdue in {} batches ({} ms)", marked, batches, elapsedMs);
+    }
+    return marked;
+  }
+
+  /**
+   * Sweep totals and the last run, for monitoring
+   */
+  public Map<String, Object> getStats() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("batchSize", batchSize);
+    result.put("totalMarked", totalMarked.get());
+    result.put("totalBatches", totalBatches.get());
+    result.put("lastRun", lastRun.get());
+    return result;
+  }
+
+  /**
+   * Lock and mark the next page of due goals; null when none are left
+   */
+  private Batch sweepBatch(String status, LocalDate today, LocalDate afterDueDate, long afterId) {
+    return transactionTemplate.execute(tx -> {
+      List<Goal> due = goalRepository.findDueForUpdate(status, today, afterDueDate, afterId, Limit.of(batchSize));
+      if (due.isEmpty()) {
+        return null;
+      }
+
+      List<Long> ids = due.stream().map(Goal::getId).toList();
+      LocalDateTime now = LocalDateTime.now();
+      int updated = goalRepository.updateStatus(ids, status, AppConstants.GoalStatus.OVERDUE, now);
+      if (updated != ids.size()) {
+        // Rows are locked, so this only happens if something bypasses the lock
+        log.warn("Overdue sweep updated {} of {} locked {} goals", updated, ids.size(), status);
+      }
+      goalEventRepository.recordTransitions(ids, AppConstants.Events.GOAL_OVERDUE, status,
+          AppConstants.GoalStatus.OVERDUE, now);
+
+      eventBus.publishAllAfterCommit(() -> {
+        Instant committedAt = Instant.now();
+        return due.stream()
+            .map(goal -> new DomainEvent.GoalOverdue(goal.getId(), goal.getDepartment(), status, committedAt))
+            .toList();
+      });
+
+      Goal last = due.get(due.size() - 1);
+      return new Batch(due.size(), updated, last.getDueDate(), last.getId());
+    });
+  }
+
+  private record Batch(int size, int marked, LocalDate lastDueDate, long lastId) {
+  }
+}
@@ -0,0 +1,71 @@
+package com.company.performance.service;
+
+import com.company.performance.util.AppConstants;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hit ratios of the Hibernate second-level cache regions, from Hibernate's
+ * statistics (hibernate.generate_statistics)
+ */
+@Service
+public class HibernateCacheStatsService {
+
+  private static final List<String> DOMAIN_REGIONS = List.of(
+      AppConstants.CacheRegions.USERS, AppConstants.CacheRegions.USER_NATURAL_IDS);
+  private static final List<String> QUERY_REGIONS = List.of(
+      AppConstants.CacheRegions.ACTIVE_MANAGERS, AppConstants.CacheRegions.USERS_BY_EMPLOYEE_ID);
+
+  private final Statistics statistics;
+
+  public HibernateCacheStatsService(EntityManagerFactory entityManagerFactory) {
+    this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  /**
+   * Totals per cache kind and hit/miss/put counts per region
+   */
+  public Map<String, Object> getStats() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+    result.put("secondLevelCache", counts(statistics.getSecondLevelCacheHitCount(),
+        statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+    result.put("naturalIdCache", counts(statistics.getNaturalIdCacheHitCount(),
+        statistics.getNaturalIdCacheMissCount(), statistics.getNaturalIdCachePutCount()));
+    result.put("queryCache", counts(statistics.getQueryCacheHitCount(),
+        statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+
+    Map<String, Object> regions = new LinkedHashMap<>();
+    for (String region : DOMAIN_REGIONS) {
+      regions.put(region, counts(statistics.getDomainDataRegionStatistics(region)));
+    }
+    for (String region : QUERY_REGIONS) {
+      regions.put(region, counts(statistics.getQueryRegionStatistics(region)));
+    }
+    result.put("regions", regions);
+    return result;
+  }
+
+  private static Map<String, Object> counts(CacheRegionStatistics region) {
+    return region == null
+        ? counts(0, 0, 0)
+        : counts(region.getHitCount(), region.getMissCount(), region.getPutCount());
+  }
+
+  private static Map<String, Object> counts(long hits, long misses, long puts) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("hits", hits);
+    result.put("misses", misses);
+    result.put("puts", puts);
+    long lookups = hits + misses;
+    result.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+    return result;
+  }
+}
@@ -0,0 +1,396 @@
+package com.company.performance.service;
+
+import com.company.performance.dto.auth.UserInfo;
+import com.company.performance.entity.User;
+import com.company.performance.repository.UserHierarchyRow;
+import com.company.performance.repository.UserRepository;
+import com.company.performance.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory index of the reporting hierarchy. Manager/report links are kept
+ * as adjacency maps that are updated incrementally on registration,
+ * deactivation and manager changes. Reads use an Euler-tour numbering of the
+ * tree (preorder position plus subtree end), rebuilt lazily on the first read
+ * after a change, so "is X in Y's org" is O(1), listing an org is O(size) and
+ * a reporting chain is O(depth).
+ *
+ * A reload reads the rows without holding the lock, so updates applied
+ * while it reads are recorded and re-applied on top of the rebuilt maps;
+ * otherwise the reload would roll them back until the next refresh.
+ */
+@Slf4j
+@Service
+public class OrgHierarchyService {
+
+  private static final int FETCH_CHUNK_SIZE = 1000;
+
+  private final UserRepository userRepository;
+
+  // Guards the adjacency maps; readers only touch the immutable tour
+  private final Object lock = new Object();
+  private final Map<Long, Long> managers = new HashMap<>();
+  private final Map<Long, Set<Long>> reports = new HashMap<>();
+  private final Set<Long> inactive = new HashSet<>();
+  // Updates applied since the running reload started reading; null when idle
+  private Map<Long, Link> appliedDuringReload;
+  // One reload at a time, so each has its own record of updates
+  private final Object reloadLock = new Object();
+
+  // Null when the adjacency maps changed since the last numbering
+  private volatile EulerTour tour;
+
+  public OrgHierarchyService(UserRepository userRepository) {
+    this.userRepository = userRepository;
+  }
+
+  @PostConstruct
+  void init() {
+    reload();
+  }
+
+  /**
+   * Periodically rebuild from the database so changes made by other
+   * instances are picked up within the refresh interval
+   */
+  @Scheduled(fixedDelayString = "${app.org.reload-ms:300000}",
+      initialDelayString = "${app.org.reload-ms:300000}")
+  public void reload() {
+    synchronized (reloadLock) {
+      synchronized (lock) {
+        appliedDuringReload = new LinkedHashMap<>();
+      }
+      List<UserHierarchyRow> rows;
+      try {
+        rows = userRepository.findHierarchyRows();
+      } catch (RuntimeException e) {
+        synchronized (lock) {
+          appliedDuringReload = null;
+        }
+        throw e;
+      }
+
+      int replayed;
+      synchronized (lock) {
+        managers.clear();
+        reports.clear();
+        inactive.clear();
+        for (UserHierarchyRow row : rows) {
+          link(row.getId(), row.getManagerId(), !Boolean.FALSE.equals(row.getIsActive()));
+        }
+        // The rows may predate these updates; keep the newer state
+        appliedDuringReload.forEach((userId, applied) -> {
+          unlink(userId);
+          link(userId, applied.managerId(), applied.active());
+        });
+        replayed = appliedDuringReload.size();
+        appliedDuringReload = null;
+        tour = null;
+      }
+      log.debug("Org hierarchy loaded: {} users, {} concurrent updates re-applied", rows.size(), replayed);
+    }
+  }
+
+  /**
+   * Apply a user's manager and active flag once the surrounding transaction
+   * commits (immediately when no transaction is active)
+   */
+  public void updateAfterCommit(User user) {
+    Long userId = user.getId();
+    Long managerId = user.getManagerId();
+    boolean active = !Boolean.FALSE.equals(user.getIsActive());
+
+    TransactionUtils.runAfterCommit(() -> update(userId, managerId, active));
+  }
+
+  /**
+   * Check if userId reports to managerId, directly or transitively
+   */
+  public boolean isInOrg(Long managerId, Long userId) {
+    EulerTour current = currentTour();
+    Integer manager = current.positions.get(managerId);
+    Integer user = current.positions.get(userId);
+    return manager != null && user != null && current.contains(manager, user);
+  }
+
+  /**
+   * Check if making managerId the manager of userId would close a cycle
+   */
+  public boolean wouldCreateCycle(Long userId, Long managerId) {
+    return userId.equals(managerId) || isInOrg(userId, managerId);
+  }
+
+  /**
+   * Check if a viewer may see a user's place in the org: themselves or
+   * anyone in their org
+   */
+  public boolean canView(String viewerEmail, Long userId) {
+    return userRepository.findIdByEmail(viewerEmail)
+        .map(viewerId -> viewerId.equals(userId) || isInOrg(viewerId, userId))
+        .orElse(false);
+  }
+
+  /**
+   * Active users reporting to a manager, in org-chart (preorder) order
+   */
+  public List<UserInfo> getReports(Long managerId, boolean directOnly) {
+    EulerTour current = currentTour();
+    int position = current.positionOf(managerId);
+
+    List<Long> ids = new ArrayList<>();
+    if (directOnly) {
+      // Skipping each report's subtree visits only the direct reports
+      for (int p = position + 1; p < current.end[position]; p = current.end[p]) {
+        if (current.active[p]) {
+          ids.add(current.ids[p]);
+        }
+      }
+    } else {
+      for (int p = position + 1; p < current.end[position]; p++) {
+        if (current.active[p]) {
+          ids.add(current.ids[p]);
+        }
+      }
+    }
+    return fetchInOrder(ids);
+  }
+
+  /**
+   * Managers above a user, from the direct manager up to the top of the org
+   */
+  public List<UserInfo> getReportingChain(Long userId) {
+    EulerTour current = currentTour();
+    List<Long> ids = new ArrayList<>();
+    for (int p = current.parent[current.positionOf(userId)]; p >= 0; p = current.parent[p]) {
+      ids.add(current.ids[p]);
+    }
+    return fetchInOrder(ids);
+  }
+
+  /**
+   * Direct and transitive active report counts and depth of a user
+   */
+  public Map<String, Object> getSpanOfControl(Long userId) {
+    EulerTour current = currentTour();
+    int position = current.positionOf(userId);
+
+    int direct = 0;
+    for (int p = position + 1; p < current.end[position]; p = current.end[p]) {
+      if (current.active[p]) {
+        direct++;
+      }
+    }
+
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("userId", userId);
+    result.put("directReports", direct);
+    result.put("totalReports", current.activeBefore[current.end[position]] - current.activeBefore[position + 1]);
+    result.put("depth", current.depth[position]);
+    return result;
+  }
+
+  /**
+   * Index size and shape for monitoring
+   */
+  public Map<String, Object> getStats() {
+    EulerTour current = currentTour();
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("users", current.ids.length);
+    result.put("roots", current.roots);
+    result.put("maxDepth", current.maxDepth);
+    result.put("buildMs", current.buildNanos / 1_000_000.0);
+    return result;
+  }
+
+  private void update(Long userId, Long managerId, boolean active) {
+    synchronized (lock) {
+      unlink(userId);
+      link(userId, managerId, active);
+      if (appliedDuringReload != null) {
+        appliedDuringReload.put(userId, new Link(managerId, active));
+      }
+      tour = null;
+    }
+  }
+
+  private void link(Long userId, Long managerId, boolean active) {
+    managers.put(userId, managerId);
+    if (managerId != null) {
+      reports.computeIfAbsent(managerId, id -> new HashSet<>()).add(userId);
+    }
+    if (!active) {
+      inactive.add(userId);
+    }
+  }
+
+  private void unlink(Long userId) {
+    Long previousManager = managers.remove(userId);
+    if (previousManager != null) {
+      Set<Long> siblings = reports.get(previousManager);
+      if (siblings != null) {
+        siblings.remove(userId);
+        if (siblings.isEmpty()) {
+          reports.remove(previousManager);
+        }
+      }
+    }
+    inactive.remove(userId);
+  }
+
+  private EulerTour currentTour() {
+    EulerTour current = tour;
+    if (current != null) {
+      return current;
+    }
+    synchronized (lock) {
+      if (tour == null) {
+        tour = new EulerTour(managers, reports, inactive);
+        log.debug("Org hierarchy renumbered: {} users in {} ms",
+            tour.ids.length, tour.buildNanos / 1_000_000);
+      }
+      return tour;
+    }
+  }
+
+  private List<UserInfo> fetchInOrder(List<Long> ids) {
+    Map<Long, UserInfo> users = new HashMap<>(ids.size() * 2);
+    for (int from = 0; from < ids.size(); from += FETCH_CHUNK_SIZE) {
+      List<Long> chunk = ids.subList(from, Math.min(from + FETCH_CHUNK_SIZE, ids.size()));
+      for (UserInfo user : userRepository.findUserInfoByIdIn(chunk)) {
+        users.put(user.getId(), user);
+      }
+    }
+
+    List<UserInfo> result = new ArrayList<>(ids.size());
+    for (Long id : ids) {
+      UserInfo user = users.get(id);
+      if (user != null) {
+        result.add(user);
+      }
+    }
+    return result;
+  }
+
+  private record Link(Long managerId, boolean active) {
+  }
+
+  /**
+   * Immutable preorder numbering of the forest. The subtree of the user at
+   * position p occupies positions [p, end[p]).
+   */
+  private static final class EulerTour {
+
+    private final Map<Long, Integer> positions;
+    private final long[] ids;
+    private final int[] end;
+    private final int[] parent;
+    private final int[] depth;
+    private final boolean[] active;
+    // Number of active users at positions [0, p)
+    private final int[] activeBefore;
+    private final long buildNanos;
+    private int roots;
+    private int maxDepth;
+    private int next;
+
+    EulerTour(Map<Long, Long> managers, Map<Long, Set<Long>> reports, Set<Long> inactive) {
+      long start = System.nanoTime();
+      int size = managers.size();
+      positions = new HashMap<>(size * 2);
+      ids = new long[size];
+      end = new int[size];
+      parent = new int[size];
+      depth = new int[size];
+      active = new boolean[size];
+      activeBefore = new int[size + 1];
+
+      // Users without a manager, or whose manager is unknown, start a tree
+      List<Long> starts = new ArrayList<>();
+      for (Map.Entry<Long, Long> entry : managers.entrySet()) {
+        if (entry.getValue() == null || !managers.containsKey(entry.getValue())) {
+          starts.add(entry.getKey());
+        }
+      }
+      Collections.sort(starts);
+      for (Long id : starts) {
+        visit(id, reports);
+      }
+
+      // Users caught in a reporting cycle are unreachable from any root;
+      // number them as roots so they stay queryable
+      if (next < size) {
+        for (Long id : managers.keySet()) {
+          if (!positions.containsKey(id)) {
+            log.warn("User {} is part of a reporting cycle", id);
+            visit(id, reports);
+          }
+        }
+      }
+
+      for (int p = 0; p < size; p++) {
+        active[p] = !inactive.contains(ids[p]);
+        activeBefore[p + 1] = activeBefore[p] + (active[p] ? 1 : 0);
+      }
+      buildNanos = System.nanoTime() - start;
+    }
+
+    boolean contains(int manager, int user) {
+      return manager < user && user < end[manager];
+    }
+
+    int positionOf(Long userId) {
+      Integer position = positions.get(userId);
+      if (position == null) {
+        throw new RuntimeException("User not found");
+      }
+      return position;
+    }
+
+    private void visit(Long root, Map<Long, Set<Long>> reports) {
+      roots++;
+      Deque<Frame> stack = new ArrayDeque<>();
+      stack.push(enter(root, -1, reports));
+
+      while (!stack.isEmpty()) {
+        Frame top = stack.peek();
+        if (top.children.hasNext()) {
+          Long child = top.children.next();
+          if (!positions.containsKey(child)) {
+            stack.push(enter(child, top.position, reports));
+          }
+        } else {
+          end[top.position] = next;
+          stack.pop();
+        }
+      }
+    }
+
+    private Frame enter(Long id, int parentPosition, Map<Long, Set<Long>> reports) {
+      int position = next++;
+      positions.put(id, position);
+      ids[position] = id;
+      parent[position] = parentPosition;
+      depth[position] = parentPosition < 0 ? 0 : depth[parentPosition] + 1;
+      maxDepth = Math.max(maxDepth, depth[position]);
+      return new Frame(position, reports.getOrDefault(id, Set.of()).iterator());
+    }
+
+    private record Frame(int position, Iterator<Long> children) {
+    }
+  }
+}
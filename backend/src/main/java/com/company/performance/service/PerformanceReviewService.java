@@ -0,0 +1,296 @@
+package com.company.performance.service;
+
+import com.company.performance.dto.review.BulkTransitionRequest;
+import com.company.performance.dto.review.BulkTransitionResult;
+import com.company.performance.dto.review.CreateReviewRequest;
+import com.company.performance.dto.review.ReviewInfo;
+import com.company.performance.entity.PerformanceReview;
+import com.company.performance.entity.User;
+import com.company.performance.event.DomainEvent;
+import com.company.performance.event.DomainEventBus;
+import com.company.performance.repository.PerformanceReviewRepository;
+import com.company.performance.repository.UserRepository;
+import com.company.performance.util.AppConstants;
+import com.company.performance.util.ReviewWorkflow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PerformanceReviewService {
+
+  private final PerformanceReviewRepository performanceReviewRepository;
+  private final UserRepository userRepository;
+  private final OrgHierarchyService orgHierarchyService;
+  private final RatingAggregateService ratingAggregateService;
+  private final DomainEventBus eventBus;
+
+  /**
+   * Start a draft review of someone in the reviewer's org
+   */
+  @Transactional
+  public ReviewInfo createReview(String reviewerEmail, CreateReviewRequest request) {
+    User reviewer = userRepository.findByEmail(reviewerEmail)
+        .orElseThrow(() -> new RuntimeException(AppConstants.Messages.USER_NOT_FOUND));
+    User employee = userRepository.findById(request.getEmployeeId())
+        .orElseThrow(() -> new RuntimeException("Employee not found"));
+
+    if (!employee.getIsActive()) {
+      throw new RuntimeException("Employee account is inactive");
+    }
+    if (!reviewer.isAdmin() && !orgHierarchyService.isInOrg(reviewer.getId(), employee.getId())) {
+      throw new RuntimeException(AppConstants.Messages.ACCESS_DENIED);
+    }
+    checkRating(request.getOverallRating());
+
+    PerformanceReview review = new PerformanceReview();
+    review.setEmployeeId(employee.getId());
+    review.setReviewerId(reviewer.getId());
+    review.setDepartment(employee.getDepartment());
+    review.setReviewPeriod(request.getReviewPeriod());
+    review.setOverallRating(request.getOverallRating());
+    review.setComments(request.getComments());
+    review.setStatus(AppConstants.ReviewStatus.DRAFT);
+
+    PerformanceReview savedReview = performanceReviewRepository.save(review);
+    log.info("Review {} of employee {} created by {}", savedReview.getId(), employee.getId(), reviewerEmail);
+    return mapToReviewInfo(savedReview);
+  }
+
+  /**
+   * Move a review to another status. Approval adds the rating to the
+   * employee, manager and department aggregates in the same transaction.
+   * With expectedVersion set, the change fails if the review was modified
+   * since that version was read.
+   */
+  @Transactional
+  public ReviewInfo changeStatus(Long reviewId, String status, Long expectedVersion, String actorEmail) {
+    PerformanceReview review = performanceReviewRepository.findById(reviewId)
+        .orElseThrow(() -> new RuntimeException(AppConstants.Messages.REVIEW_NOT_FOUND));
+    User actor = userRepository.findByEmail(actorEmail)
+        .orElseThrow(() -> new RuntimeException(AppConstants.Messages.USER_NOT_FOUND));
+
+    if (!canManage(actor, review)) {
+      throw new RuntimeException(AppConstants.Messages.ACCESS_DENIED);
+    }
+    if (expectedVersion != null && !expectedVersion.equals(review.getVersion())) {
+      throw new ObjectOptimisticLockingFailureException(PerformanceReview.class, reviewId);
+    }
+    ReviewWorkflow.checkTransition(review.getStatus(), status);
+
+    applyStatus(review, status, LocalDateTime.now());
+    PerformanceReview savedReview = performanceReviewRepository.saveAndFlush(review);
+    Map<Long, Long> sequences = savedReview.isApproved()
+        ? ratingAggregateService.recordApprovals(List.of(savedReview))
+        : Map.of();
+    publishAfterCommit(List.of(savedReview), status, sequences);
+
+    log.info("Review {} moved to {} by {}", reviewId, status, actorEmail);
+    return mapToReviewInfo(savedReview);
+  }
+
+  /**
+   * Apply many status changes in one transaction. Each item is checked in
+   * memory (exists, caller may manage it, version matches, move allowed);
+   * the valid ones are locked at their expected version and updated with one
+   * statement per target status, and approvals are added to the rating aggregates in one batch.
+   * Items that fail don't stop the others; every item gets a result.
+   */
+  @Transactional
+  public BulkTransitionResult changeStatuses(List<BulkTransitionRequest.Transition> transitions, String actorEmail) {
+    User actor = userRepository.findByEmail(actorEmail)
+        .orElseThrow(() -> new RuntimeException(AppConstants.Messages.USER_NOT_FOUND));
+    Set<Long> ids = new HashSet<>();
+    transitions.forEach(transition -> ids.add(transition.getReviewId()));
+    Map<Long, PerformanceReview> reviews = new HashMap<>();
+    performanceReviewRepository.findAllById(ids).forEach(review -> reviews.put(review.getId(), review));
+
+    BulkTransitionResult.ItemResult[] results = new BulkTransitionResult.ItemResult[transitions.size()];
+    // target status -> review id -> expected version, plus the request index of each
+    Map<String, Map<Long, Long>> byTarget = new LinkedHashMap<>();
+    Map<Long, Integer> positions = new HashMap<>();
+
+    for (int i = 0; i < transitions.size(); i++) {
+      BulkTransitionRequest.Transition transition = transitions.get(i);
+      Long reviewId = transition.getReviewId();
+      PerformanceReview review = reviews.get(reviewId);
+      if (review == null) {
+        results[i] = failure(transition, BulkTransitionResult.NOT_FOUND, AppConstants.Messages.REVIEW_NOT_FOUND, null);
+      } else if (positions.containsKey(reviewId)) {
+        results[i] = failure(transition, BulkTransitionResult.DUPLICATE,
+            "Review appears more than once in the request", review.getVersion());
+      } else if (!canManage(actor, review)) {
+        results[i] = failure(transition, BulkTransitionResult.ACCESS_DENIED, AppConstants.Messages.ACCESS_DENIED, null);
+      } else if (!transition.getVersion().equals(review.getVersion())) {
+        results[i] = failure(transition, BulkTransitionResult.CONFLICT,
+            "Review was modified by someone else; reload and retry", review.getVersion());
+      } else if (!ReviewWorkflow.isValidStatus(transition.getStatus())
+          || !ReviewWorkflow.canTransition(review.getStatus(), transition.getStatus())) {
+        results[i] = failure(transition, BulkTransitionResult.INVALID_TRANSITION,
+            "Cannot move a review from " + review.getStatus() + " to " + transition.getStatus(), review.getVersion());
+      } else {
+        positions.put(reviewId, i);
+        byTarget.computeIfAbsent(transition.getStatus(), status -> new LinkedHashMap<>())
+            .put(reviewId, review.getVersion());
+      }
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    for (Map.Entry<String, Map<Long, Long>> target : byTarget.entrySet()) {
+      String status = target.getKey();
+      Map<Long, Long> expectedVersions = target.getValue();
+      // Every allowed move into a status starts from the same status
+      String fromStatus = reviews.get(expectedVersions.keySet().iterator().next()).getStatus();
+      Set<Long> moved = performanceReviewRepository.updateStatuses(expectedVersions, fromStatus, status, now);
+
+      List<PerformanceReview> movedReviews = new ArrayList<>(moved.size());
+      for (Map.Entry<Long, Long> entry : expectedVersions.entrySet()) {
+        int position = positions.get(entry.getKey());
+        if (moved.contains(entry.getKey())) {
+          results[position] = new BulkTransitionResult.ItemResult(entry.getKey(), status,
+              BulkTransitionResult.APPLIED, null, entry.getValue() + 1);
+          movedReviews.add(reviews.get(entry.getKey()));
+        } else {
+          results[position] = failure(transitions.get(position), BulkTransitionResult.CONFLICT,
+              "Review was modified by someone else; reload and retry", null);
+        }
+      }
+      // The loaded entities still hold the old status; the aggregates only read the rating and keys
+      Map<Long, Long> sequences = AppConstants.ReviewStatus.APPROVED.equals(status) && !movedReviews.isEmpty()
+          ? ratingAggregateService.recordApprovals(movedReviews)
+          : Map.of();
+      publishAfterCommit(movedReviews, status, sequences);
+    }
+
+    int applied = 0;
+    for (BulkTransitionResult.ItemResult result : results) {
+      if (BulkTransitionResult.APPLIED.equals(result.getOutcome())) {
+        applied++;
+      }
+    }
+    log.info("Bulk review transition by {}: {} of {} applied", actorEmail, applied, transitions.size());
+    return new BulkTransitionResult(applied, transitions.size() - applied, List.of(results));
+  }
+
+  /**
+   * A review, if the viewer wrote it, is its subject or manages its subject
+   */
+  @Transactional(readOnly = true)
+  public ReviewInfo getReview(Long reviewId, String viewerEmail) {
+    PerformanceReview review = performanceReviewRepository.findById(reviewId)
+        .orElseThrow(() -> new RuntimeException(AppConstants.Messages.REVIEW_NOT_FOUND));
+    User viewer = userRepository.findByEmail(viewerEmail)
+        .orElseThrow(() -> new RuntimeException(AppConstants.Messages.USER_NOT_FOUND));
+
+    if (!viewer.getId().equals(review.getEmployeeId()) && !canManage(viewer, review)) {
+      throw new RuntimeException(AppConstants.Messages.ACCESS_DENIED);
+    }
+    return mapToReviewInfo(review);
+  }
+
+  /**
+   * An employee's reviews, newest first
+   */
+  public List<ReviewInfo> getReviewsForEmployee(Long employeeId) {
+    return performanceReviewRepository.findByEmployeeIdOrderByCreatedAtDesc(employeeId).stream()
+        .map(this::mapToReviewInfo)
+        .toList();
+  }
+
+  /**
+   * Admins, the reviewer and anyone the employee reports to may move a review
+   */
+  boolean canManage(User actor, PerformanceReview review) {
+    return actor.isAdmin()
+        || actor.getId().equals(review.getReviewerId())
+        || orgHierarchyService.isInOrg(actor.getId(), review.getEmployeeId());
+  }
+
+  /**
+   * Set the status and the timestamp that goes with it
+   */
+  static void applyStatus(PerformanceReview review, String status, LocalDateTime now) {
+    review.setStatus(status);
+    if (AppConstants.ReviewStatus.SUBMITTED.equals(status)) {
+      review.setSubmittedAt(now);
+    } else if (AppConstants.ReviewStatus.APPROVED.equals(status) || AppConstants.ReviewStatus.REJECTED.equals(status)) {
+      review.setDecidedAt(now);
+    }
+  }
+
+  /**
+   * Publish review.submitted or review.approved for reviews moved to that
+   * status, once the transaction commits. Approvals carry their department
+   * sequence from recordApprovals.
+   */
+  private void publishAfterCommit(List<PerformanceReview> moved, String status, Map<Long, Long> sequences) {
+    if (moved.isEmpty()) {
+      return;
+    }
+    if (AppConstants.ReviewStatus.SUBMITTED.equals(status)) {
+      eventBus.publishAllAfterCommit(() -> {
+        Instant committedAt = Instant.now();
+        return moved.stream()
+            .map(review -> new DomainEvent.ReviewSubmitted(review.getId(), review.getEmployeeId(),
+                review.getReviewerId(), committedAt))
+            .toList();
+      });
+    } else if (AppConstants.ReviewStatus.APPROVED.equals(status)) {
+      eventBus.publishAllAfterCommit(() -> {
+        Instant committedAt = Instant.now();
+        return moved.stream()
+            .map(review -> new DomainEvent.ReviewApproved(review.getId(), review.getEmployeeId(),
+                review.getReviewerId(), review.getDepartment(), review.getOverallRating(),
+                sequences.getOrDefault(review.getId(), 0L), committedAt))
+            .toList();
+      });
+    }
+  }
+
+  private static BulkTransitionResult.ItemResult failure(BulkTransitionRequest.Transition transition,
+      String outcome, String message, Long currentVersion) {
+    return new BulkTransitionResult.ItemResult(transition.getReviewId(), transition.getStatus(), outcome, message,
+        currentVersion);
+  }
+
+  private static void checkRating(Integer rating) {
+    if (rating == null || rating < AppConstants.PerformanceMetrics.MIN_RATING
+        || rating > AppConstants.PerformanceMetrics.MAX_RATING) {
+      throw new IllegalArgumentException("Overall rating must be between " +
+          AppConstants.PerformanceMetrics.MIN_RATING + " and " + AppConstants.PerformanceMetrics.MAX_RATING);
+    }
+  }
+
+  /**
+   * Map PerformanceReview entity to ReviewInfo DTO
+   */
+  ReviewInfo mapToReviewInfo(PerformanceReview review) {
+    return new ReviewInfo(
+        review.getId(),
+        review.getEmployeeId(),
+        review.getReviewerId(),
+        review.getDepartment(),
+        review.getReviewPeriod(),
+        review.getOverallRating(),
+        review.getComments(),
+        review.getStatus(),
+        review.getVersion(),
+        review.getSubmittedAt(),
+        review.getDecidedAt(),
+        review.getCreatedAt());
+  }
+}
@@ -0,0 +1,327 @@
+package com.company.performance.service;
+
+import com.company.performance.util.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Database statement metrics, fed by QueryMetricsDataSource: a latency
+ * histogram and row counts per repository method and SQL shape (the
+ * statement with literals and IN lists collapsed), connection-acquire time
+ * per data source, a slow-query log that prints only the shape, so bind
+ * values never reach the logs, and per-request N+1 detection (the same
+ * SELECT shape repeated within one request).
+ */
+@Slf4j
+@Service
+public class QueryMetricsService {
+
+  // Statements run outside any repository method (JdbcTemplate, lazy loads, flushes)
+  private static final String NO_REPOSITORY_METHOD = "-";
+  private static final String OTHER_SHAPES = "(other)";
+  private static final int MAX_SQL_LENGTH = 1000;
+
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+  private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+  private static final Pattern IN_LIST = Pattern.compile(
+      "(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private final boolean enabled;
+  private final long slowQueryNanos;
+  private final int nPlusOneThreshold;
+  private final int maxShapes;
+
+  private final Map<String, String> shapes = new ConcurrentHashMap<>();
+  private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+  private final Map<String, MethodStats> repositoryMethods = new ConcurrentHashMap<>();
+  private final Map<String, LatencyHistogram> connectionAcquire = new ConcurrentHashMap<>();
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder requestStatements = new LongAdder();
+  private final LongAccumulator maxRequestStatements = new LongAccumulator(Math::max, 0);
+  private final LongAdder slowQueries = new LongAdder();
+  private final LongAdder nPlusOneRequests = new LongAdder();
+
+  private final ThreadLocal<Context> context = ThreadLocal.withInitial(Context::new);
+
+  public QueryMetricsService(
+      @Value("${app.db.metrics.enabled:true}") boolean enabled,
+      @Value("${app.db.metrics.slow-query-threshold:PT0.2S}") Duration slowQueryThreshold,
+      @Value("${app.db.metrics.n-plus-one-threshold:10}") int nPlusOneThreshold,
+      @Value("${app.db.metrics.max-shapes:500}") int maxShapes) {
+    this.enabled = enabled;
+    this.slowQueryNanos = slowQueryThreshold.toNanos();
+    this.nPlusOneThreshold = nPlusOneThreshold;
+    this.maxShapes = maxShapes;
+    log.info("Query metrics {} (slowQueryThreshold={}, nPlusOneThreshold={})",
+        enabled ? "enabled" : "disabled", slowQueryThreshold, nPlusOneThreshold);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Record the time taken to obtain a connection from a data source
+   */
+  public void recordConnectionAcquire(String dataSource, long nanos) {
+    connectionAcquire.computeIfAbsent(dataSource, name -> new LatencyHistogram()).record(nanos);
+  }
+
+  /**
+   * Record one statement execution on the calling thread and return its
+   * stats, so rows read afterwards can be added to them
+   */
+  public StatementStats recordExecution(String sql, long nanos) {
+    Context current = context.get();
+    String shape = shapeOf(sql);
+    String method = current.repositoryMethod != null ? current.repositoryMethod : NO_REPOSITORY_METHOD;
+
+    StatementStats stats = statementStats(method, shape);
+    stats.latency.record(nanos);
+    current.statements++;
+
+    if (nanos >= slowQueryNanos) {
+      stats.slowCount.increment();
+      slowQueries.increment();
+      log.warn("Slow query ({} ms) in {}: {} (bind values redacted)", nanos / 1_000_000, method, shape);
+    }
+    if (current.requestShapes != null && shape.regionMatches(true, 0, "select", 0, 6)) {
+      current.requestShapes.merge(shape, 1, Integer::sum);
+    }
+    return stats;
+  }
+
+  /**
+   * Mark the calling thread as running a repository method; returns the
+   * enclosing method (if any) to pass back to {@link #exitRepositoryMethod}
+   */
+  public String enterRepositoryMethod(String method) {
+    Context current = context.get();
+    String enclosing = current.repositoryMethod;
+    current.repositoryMethod = method;
+    return enclosing;
+  }
+
+  public void exitRepositoryMethod(String method, String enclosing, long nanos, long statementCount) {
+    context.get().repositoryMethod = enclosing;
+    MethodStats stats = repositoryMethods.computeIfAbsent(method, name -> new MethodStats());
+    stats.latency.record(nanos);
+    stats.statements.add(statementCount);
+  }
+
+  /**
+   * Statements executed on the calling thread so far (for per-call deltas)
+   */
+  public long currentStatementCount() {
+    return context.get().statements;
+  }
+
+  /**
+   * Start tracking the SELECT shapes a request executes
+   */
+  public void beginRequest() {
+    Context current = context.get();
+    current.requestShapes = new HashMap<>();
+    current.requestStart = current.statements;
+  }
+
+  /**
+   * Stop tracking the request on the calling thread and report SELECT shapes
+   * it repeated at least n-plus-one-threshold times
+   */
+  public void endRequest(String request) {
+    Context current = context.get();
+    Map<String, Integer> requestShapes = current.requestShapes;
+    current.requestShapes = null;
+    if (requestShapes == null) {
+      return;
+    }
+    long requestCount = current.statements - current.requestStart;
+    requests.increment();
+    requestStatements.add(requestCount);
+    maxRequestStatements.accumulate(requestCount);
+
+    boolean flagged = false;
+    for (Map.Entry<String, Integer> entry : requestShapes.entrySet()) {
+      if (entry.getValue() >= nPlusOneThreshold) {
+        flagged = true;
+        statements.values().stream()
+            .filter(stats -> stats.shape.equals(entry.getKey()))
+            .forEach(stats -> stats.nPlusOneRequests.increment());
+        log.warn("Possible N+1 in {}: {} executions of {}", request, entry.getValue(), entry.getKey());
+      }
+    }
+    if (flagged) {
+      nPlusOneRequests.increment();
+    }
+  }
+
+  /**
+   * Totals, connection-acquire times, the top statements by total time and
+   * per-repository-method latency
+   */
+  public Map<String, Object> getStats(int top) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("enabled", enabled);
+    result.put("slowQueryThresholdMs", slowQueryNanos / 1_000_000.0);
+    result.put("slowQueries", slowQueries.sum());
+    result.put("nPlusOneRequests", nPlusOneRequests.sum());
+    result.put("trackedShapes", statements.size());
+
+    long requestCount = requests.sum();
+    Map<String, Object> perRequest = new LinkedHashMap<>();
+    perRequest.put("requests", requestCount);
+    perRequest.put("mean", requestCount == 0 ? 0.0 : (double) requestStatements.sum() / requestCount);
+    perRequest.put("max", maxRequestStatements.get());
+    result.put("statementsPerRequest", perRequest);
+
+    Map<String, Object> acquire = new LinkedHashMap<>();
+    connectionAcquire.forEach((name, histogram) -> acquire.put(name, histogram.summary()));
+    result.put("connectionAcquire", acquire);
+
+    List<Map<String, Object>> statementStats = new ArrayList<>();
+    statements.values().stream()
+        .sorted(Comparator.comparingLong(StatementStats::totalMicros).reversed())
+        .limit(top)
+        .forEach(stats -> statementStats.add(stats.toMap()));
+    result.put("statements", statementStats);
+
+    Map<String, Object> methods = new LinkedHashMap<>();
+    repositoryMethods.entrySet().stream()
+        .sorted(Map.Entry.comparingByKey())
+        .forEach(entry -> {
+          Map<String, Object> stats = entry.getValue().latency.summary();
+          long calls = entry.getValue().latency.getCount();
+          stats.put("statementsPerCall", calls == 0 ? 0.0 : (double) entry.getValue().statements.sum() / calls);
+          methods.put(entry.getKey(), stats);
+        });
+    result.put("repositoryMethods", methods);
+    return result;
+  }
+
+  /**
+   * Drop everything recorded so far
+   */
+  public void reset() {
+    statements.clear();
+    repositoryMethods.clear();
+    connectionAcquire.clear();
+    slowQueries.reset();
+    nPlusOneRequests.reset();
+    requests.reset();
+    requestStatements.reset();
+    maxRequestStatements.reset();
+  }
+
+  /**
+   * Collapse a statement to its shape: literals become ?, IN lists become
+   * "in (?...)" and whitespace is normalized
+   */
+  static String normalize(String sql) {
+    if (sql == null) {
+      return "(unknown)";
+    }
+    String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+    shape = NUMERIC_LITERAL.matcher(shape).replaceAll("?");
+    shape = IN_LIST.matcher(shape).replaceAll("in (?...)");
+    shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    return shape.length() > MAX_SQL_LENGTH ? shape.substring(0, MAX_SQL_LENGTH) + "..." : shape;
+  }
+
+  private String shapeOf(String sql) {
+    if (sql == null) {
+      return normalize(null);
+    }
+    String shape = shapes.get(sql);
+    if (shape == null) {
+      shape = normalize(sql);
+      // Hibernate reuses the same SQL strings; unparameterized SQL is not cached
+      if (shapes.size() < maxShapes * 4) {
+        shapes.put(sql, shape);
+      }
+    }
+    return shape;
+  }
+
+  private StatementStats statementStats(String method, String shape) {
+    String key = method + '\n' + shape;
+    StatementStats stats = statements.get(key);
+    if (stats != null) {
+      return stats;
+    }
+    // Bounded: once full, new shapes share one entry per method
+    if (statements.size() >= maxShapes) {
+      return statements.computeIfAbsent(method + '\n' + OTHER_SHAPES,
+          k -> new StatementStats(method, OTHER_SHAPES));
+    }
+    return statements.computeIfAbsent(key, k -> new StatementStats(method, shape));
+  }
+
+  /**
+   * Latency and row counts of one SQL shape issued by one repository method
+   */
+  public static final class StatementStats {
+    private final String method;
+    private final String shape;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder rows = new LongAdder();
+    private final LongAccumulator maxRows = new LongAccumulator(Math::max, 0);
+    private final LongAdder slowCount = new LongAdder();
+    private final LongAdder nPlusOneRequests = new LongAdder();
+
+    StatementStats(String method, String shape) {
+      this.method = method;
+      this.shape = shape;
+    }
+
+    /**
+     * Rows read or affected by one execution
+     */
+    public void addRows(long count) {
+      rows.add(count);
+      maxRows.accumulate(count);
+    }
+
+    long totalMicros() {
+      return latency.getTotalMicros();
+    }
+
+    Map<String, Object> toMap() {
+      Map<String, Object> result = new LinkedHashMap<>();
+      result.put("repositoryMethod", method);
+      result.put("sql", shape);
+      result.put("latency", latency.summary());
+      result.put("rows", rows.sum());
+      result.put("maxRows", maxRows.get());
+      result.put("slowCount", slowCount.sum());
+      result.put("nPlusOneRequests", nPlusOneRequests.sum());
+      return result;
+    }
+  }
+
+  private static final class MethodStats {
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder statements = new LongAdder();
+  }
+
+  private static final class Context {
+    private String repositoryMethod;
+    private long statements;
+    private Map<String, Integer> requestShapes;
+    private long requestStart;
+  }
+}
@@ -0,0 +1,108 @@
+package com.company.performance.service;
+
+import com.company.performance.dto.review.RatingStats;
+import com.company.performance.entity.PerformanceReview;
+import com.company.performance.entity.RatingAggregate;
+import com.company.performance.repository.RatingAggregateCount;
+import com.company.performance.repository.RatingAggregateRepository;
+import com.company.performance.repository.RatingDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rating statistics per employee, reviewing manager and department,
+ * maintained incrementally: each approval adds its rating to three
+ * aggregate rows in the approving transaction, and a stats read is one
+ * primary-key lookup however many reviews there are.
+ */
+@Service
+@RequiredArgsConstructor
+public class RatingAggregateService {
+
+  private final RatingAggregateRepository ratingAggregateRepository;
+
+  /**
+   * Add approved reviews to their aggregates; must run in the transaction
+   * that approves them, so the totals commit or roll back with the reviews.
+   *
+   * Returns each department review's sequence: its position in the
+   * department row's review count. Upserts to a row serialize on its lock
+   * and the count only grows, so a reader that sees count N has seen exactly
+   * the approvals numbered 1..N (see DepartmentStatsService).
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public Map<Long, Long> recordApprovals(Collection<PerformanceReview> reviews) {
+    Map<RatingAggregate.Key, RatingDelta> deltas = new LinkedHashMap<>();
+    Map<String, List<Long>> byDepartment = new LinkedHashMap<>();
+    for (PerformanceReview review : reviews) {
+      int rating = review.getOverallRating();
+      delta(deltas, RatingAggregate.EMPLOYEE, String.valueOf(review.getEmployeeId())).add(rating);
+      delta(deltas, RatingAggregate.MANAGER, String.valueOf(review.getReviewerId())).add(rating);
+      if (review.getDepartment() != null) {
+        delta(deltas, RatingAggregate.DEPARTMENT, review.getDepartment()).add(rating);
+        byDepartment.computeIfAbsent(review.getDepartment(), d -> new ArrayList<>()).add(review.getId());
+      }
+    }
+    ratingAggregateRepository.applyDeltas(deltas.values());
+    if (byDepartment.isEmpty()) {
+      return Map.of();
+    }
+
+    // The rows are locked by the upserts, so these counts end with this batch
+    Map<Long, Long> sequences = new HashMap<>();
+    for (RatingAggregateCount count : ratingAggregateRepository.findReviewCounts(RatingAggregate.DEPARTMENT,
+        byDepartment.keySet())) {
+      List<Long> reviewIds = byDepartment.get(count.getScopeKey());
+      long sequence = count.getReviewCount() - reviewIds.size();
+      for (Long reviewId : reviewIds) {
+        sequences.put(reviewId, ++sequence);
+      }
+    }
+    return sequences;
+  }
+
+  public RatingStats getEmployeeStats(Long employeeId) {
+    return getStats(RatingAggregate.EMPLOYEE, String.valueOf(employeeId));
+  }
+
+  public RatingStats getManagerStats(Long managerId) {
+    return getStats(RatingAggregate.MANAGER, String.valueOf(managerId));
+  }
+
+  public RatingStats getDepartmentStats(String department) {
+    return getStats(RatingAggregate.DEPARTMENT, department);
+  }
+
+  /**
+   * Raw aggregate row, or null when nothing has been approved for the key
+   */
+  public RatingAggregate getAggregate(String scope, String key) {
+    return ratingAggregateRepository.findById(new RatingAggregate.Key(scope, key)).orElse(null);
+  }
+
+  private RatingStats getStats(String scope, String key) {
+    RatingAggregate aggregate = getAggregate(scope, key);
+    Map<String, Long> bands = new LinkedHashMap<>();
+    for (RatingAggregate.Band band : RatingAggregate.Band.values()) {
+      bands.put(band.name(), aggregate == null ? 0L : aggregate.getBandCount(band));
+    }
+    if (aggregate == null) {
+      return new RatingStats(scope, key, 0, 0.0, 0.0, null, null, bands);
+    }
+    return new RatingStats(scope, key, aggregate.getReviewCount(), aggregate.getAverage(),
+        aggregate.getStandardDeviation(), aggregate.getMinRating(), aggregate.getMaxRating(), bands);
+  }
+
+  private static RatingDelta delta(Map<RatingAggregate.Key, RatingDelta> deltas, String scope, String key) {
+    return deltas.computeIfAbsent(new RatingAggregate.Key(scope, key), k -> new RatingDelta(scope, key));
+  }
+}
@@ -0,0 +1,240 @@
+package com.company.performance.service;
+
+import com.company.performance.dto.auth.JwtResponse;
+import com.company.performance.dto.auth.UserInfo;
+import com.company.performance.entity.RefreshToken;
+import com.company.performance.entity.User;
+import com.company.performance.exception.RefreshTokenReuseException;
+import com.company.performance.repository.RefreshTokenRepository;
+import com.company.performance.repository.UserRepository;
+import com.company.performance.util.JwtUtil;
+import com.company.performance.util.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Single-use refresh tokens with rotation. Concurrent refreshes presenting
+ * the same token are coalesced: the first caller rotates, and every caller
+ * within the grace window receives that same new token pair. Presenting an
+ * already-rotated token after the grace window is treated as theft and
+ * revokes the whole token family.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final UserRepository userRepository;
+  private final JwtUtil jwtUtil;
+  private final TokenRevocationService tokenRevocationService;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration gracePeriod;
+
+  // jti of presented token -> rotation result, kept for the grace window
+  private final Cache<String, CompletableFuture<JwtResponse>> rotations;
+
+  public RefreshTokenService(
+      RefreshTokenRepository refreshTokenRepository,
+      UserRepository userRepository,
+      JwtUtil jwtUtil,
+      TokenRevocationService tokenRevocationService,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.jwt.refresh-grace:PT10S}") Duration gracePeriod) {
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.userRepository = userRepository;
+    this.jwtUtil = jwtUtil;
+    this.tokenRevocationService = tokenRevocationService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.gracePeriod = gracePeriod;
+    this.rotations = Caffeine.newBuilder()
+        .expireAfterWrite(gracePeriod)
+        .build();
+  }
+
+  /**
+   * Issue refresh token starting a new family (on login)
+   */
+  @Transactional
+  public String issue(User user) {
+    return issue(user, UUID.randomUUID().toString());
+  }
+
+  /**
+   * Rotate a verified refresh token, coalescing concurrent calls for the same
+   * token into one database and signing round
+   */
+  public JwtResponse rotate(VerifiedToken presented, Function<User, UserInfo> userInfoMapper) {
+    if (presented.getId() == null) {
+      throw new RuntimeException("Invalid refresh token");
+    }
+
+    CompletableFuture<JwtResponse> created = new CompletableFuture<>();
+    CompletableFuture<JwtResponse> existing = rotations.asMap().putIfAbsent(presented.getId(), created);
+
+    if (existing != null) {
+      log.debug("Coalescing concurrent refresh for token: {}", presented.getId());
+      return await(existing);
+    }
+
+    try {
+      JwtResponse response = transactionTemplate.execute(status -> doRotate(presented, userInfoMapper));
+      created.complete(response);
+      return response;
+    } catch (RefreshTokenReuseException e) {
+      rotations.invalidate(presented.getId());
+      created.completeExceptionally(e);
+      revokeFamily(e);
+      throw e;
+    } catch (RuntimeException e) {
+      rotations.invalidate(presented.getId());
+      created.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  /**
+   * Revoke a single refresh token (on logout)
+   */
+  @Transactional
+  public void revoke(String tokenId) {
+    refreshTokenRepository.findById(tokenId).ifPresent(token -> token.setRevoked(true));
+  }
+
+  /**
+   * Revoke all refresh tokens of a user (password change, revoke-all)
+   */
+  @Transactional
+  public void revokeAllForUser(Long userId) {
+    int revoked = refreshTokenRepository.revokeAllForUser(userId);
+    log.debug("Revoked {} refresh tokens for user ID: {}", revoked, userId);
+  }
+
+  /**
+   * Purge refresh tokens that have expired
+   */
+  @Scheduled(fixedDelayString = "${app.jwt.refresh-cleanup-ms:3600000}")
+  @Transactional
+  public void deleteExpired() {
+    int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    if (deleted > 0) {
+      log.debug("Deleted {} expired refresh tokens", deleted);
+    }
+  }
+
+  private JwtResponse doRotate(VerifiedToken presented, Function<User, UserInfo> userInfoMapper) {
+    User user = userRepository.findByEmail(presented.getSubject())
+        .orElseThrow(() -> new RuntimeException("User not found"));
+
+    if (!user.getIsActive()) {
+      throw new RuntimeException("User account is inactive");
+    }
+
+    // Reject refresh tokens issued before a password change or deactivation
+    if (presented.getTokenVersion() != null &&
+        presented.getTokenVersion() < user.currentTokenVersion()) {
+      throw new RuntimeException("Refresh token has been revoked");
+    }
+
+    RefreshToken record = refreshTokenRepository.findByIdForUpdate(presented.getId()).orElse(null);
+    String familyId;
+    if (record == null) {
+      // Token issued before rotation tracking existed; start a new family and
+      // record it as used so it cannot be replayed
+      familyId = UUID.randomUUID().toString();
+      record = new RefreshToken();
+      record.setId(presented.getId());
+      record.setUserId(user.getId());
+      record.setFamilyId(familyId);
+      record.setExpiresAt(LocalDateTime.ofInstant(presented.getExpiration(), ZoneId.systemDefault()));
+      record.setRevoked(false);
+      record = refreshTokenRepository.save(record);
+    } else if (record.getRevoked()) {
+      throw new RuntimeException("Refresh token has been revoked");
+    } else if (record.isUsed()) {
+      if (record.getUsedAt().plus(gracePeriod).isAfter(LocalDateTime.now())) {
+        // Rotated moments ago by another instance; the client should use
+        // the pair returned to its first request
+        throw new RuntimeException("Refresh token already rotated");
+      }
+      throw new RefreshTokenReuseException(record.getFamilyId(), user.getId(), user.getEmail());
+    } else {
+      familyId = record.getFamilyId();
+    }
+
+    String newTokenId = UUID.randomUUID().toString();
+    record.setUsedAt(LocalDateTime.now());
+    record.setReplacedBy(newTokenId);
+
+    String newRefreshToken = issue(user, familyId, newTokenId);
+    String newAccessToken = jwtUtil.generateToken(user);
+
+    log.info("Token refreshed successfully for user: {}", user.getEmail());
+
+    return new JwtResponse(
+        newAccessToken,
+        newRefreshToken,
+        jwtUtil.getExpirationTime(),
+        userInfoMapper.apply(user));
+  }
+
+  private String issue(User user, String familyId) {
+    return issue(user, familyId, UUID.randomUUID().toString());
+  }
+
+  private String issue(User user, String familyId, String tokenId) {
+    String token = jwtUtil.generateRefreshToken(user, tokenId);
+
+    RefreshToken record = new RefreshToken();
+    record.setId(tokenId);
+    record.setUserId(user.getId());
+    record.setFamilyId(familyId);
+    record.setExpiresAt(LocalDateTime.ofInstant(
+        Instant.now().plusMillis(jwtUtil.getRefreshExpirationTime()), ZoneId.systemDefault()));
+    record.setRevoked(false);
+    refreshTokenRepository.save(record);
+
+    return token;
+  }
+
+  private void revokeFamily(RefreshTokenReuseException e) {
+    log.warn("Refresh token reuse detected for user {}, revoking token family {}", e.getEmail(), e.getFamilyId());
+    transactionTemplate.executeWithoutResult(status -> refreshTokenRepository.revokeFamily(e.getFamilyId()));
+    // Access tokens minted from the stolen chain are cut off as well
+    tokenRevocationService.revokeSubject(e.getEmail(), Instant.now());
+  }
+
+  private JwtResponse await(CompletableFuture<JwtResponse> future) {
+    try {
+      return future.get(gracePeriod.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Token refresh interrupted");
+    } catch (TimeoutException e) {
+      throw new RuntimeException("Token refresh timed out");
+    } catch (ExecutionException | CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new RuntimeException("Token refresh failed");
+    }
+  }
+}
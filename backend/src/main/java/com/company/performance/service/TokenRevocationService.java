@@ -0,0 +1,180 @@
+package com.company.performance.service;
+
+import com.company.performance.util.TransactionUtils;
+import com.company.performance.util.VerifiedToken;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory token denylist checked by the request filter in O(1) without a
+ * database hit. Holds revoked token ids (jti) and per-user cutoff times.
+ * Entries are filed into a bucketed timing wheel by the instant the token
+ * would have expired anyway, so the sweeper only touches expired buckets
+ * and never scans the live set.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+  private final long tickSeconds;
+  private final int maxEntries;
+  private final long maxTokenLifetimeMs;
+
+  // jti -> token expiry (epoch seconds)
+  private final ConcurrentHashMap<String, Long> revokedIds = new ConcurrentHashMap<>();
+  // subject -> tokens issued before this instant (whole seconds, as JWT iat)
+  // are revoked
+  private final ConcurrentHashMap<String, Instant> subjectCutoffs = new ConcurrentHashMap<>();
+  // wheel tick -> entries expiring during that tick, ordered so the sweeper
+  // can poll due buckets from the head
+  private final ConcurrentSkipListMap<Long, Queue<WheelEntry>> wheel = new ConcurrentSkipListMap<>();
+
+  private final AtomicLong overflowCount = new AtomicLong();
+
+  public TokenRevocationService(
+      @Value("${app.jwt.revocation.tick-seconds:60}") long tickSeconds,
+      @Value("${app.jwt.revocation.max-entries:100000}") int maxEntries,
+      @Value("${app.jwt.refresh-expiration}") long maxTokenLifetimeMs) {
+    this.tickSeconds = tickSeconds;
+    this.maxEntries = maxEntries;
+    this.maxTokenLifetimeMs = maxTokenLifetimeMs;
+  }
+
+  /**
+   * Revoke a single token until it expires. When the denylist is full the
+   * revocation degrades to a cutoff for the token's subject, which keeps
+   * memory bounded at the cost of also ending that user's other sessions.
+   */
+  public void revoke(VerifiedToken token) {
+    if (token.getId() == null || revokedIds.size() >= maxEntries) {
+      if (token.getId() != null) {
+        overflowCount.incrementAndGet();
+        log.warn("Revocation store full ({} entries), revoking all sessions for: {}",
+            maxEntries, token.getSubject());
+      }
+      // The cutoff must also cover the token itself when it was issued this second
+      Instant now = Instant.now();
+      Instant issuedAt = token.getIssuedAt();
+      revokeSubject(token.getSubject(),
+          issuedAt != null && !issuedAt.plusSeconds(1).isBefore(now) ? issuedAt.plusSeconds(1) : now);
+      return;
+    }
+
+    long expiry = token.getExpiration().getEpochSecond();
+    if (revokedIds.put(token.getId(), expiry) == null) {
+      schedule(new WheelEntry(token.getId(), false), token.getExpiration());
+    }
+    log.debug("Revoked token {} for user: {}", token.getId(), token.getSubject());
+  }
+
+  /**
+   * Revoke every token for a user issued before the given instant, rounded
+   * down to the second. JWT iat has second precision, so tokens issued in
+   * the cutoff's own second stay valid: a login right after the revocation
+   * must not be rejected. Revocations that must also catch tokens issued
+   * earlier in that second bump the user's token version as well.
+   */
+  public void revokeSubject(String subject, Instant cutoff) {
+    Instant truncated = cutoff.truncatedTo(ChronoUnit.SECONDS);
+    Instant effective = subjectCutoffs.merge(subject, truncated,
+        (existing, requested) -> existing.isAfter(requested) ? existing : requested);
+    if (effective.equals(truncated)) {
+      // Any token the cutoff applies to is gone by cutoff + max lifetime
+      schedule(new WheelEntry(subject, true), truncated.plusMillis(maxTokenLifetimeMs));
+    }
+    log.info("Revoked all sessions issued before {} for user: {}", truncated, subject);
+  }
+
+  /**
+   * Revoke every token for a user issued before the surrounding transaction
+   * commits (immediately when no transaction is active), so a rolled-back
+   * change never ends the user's sessions
+   */
+  public void revokeSubjectAfterCommit(String subject) {
+    TransactionUtils.runAfterCommit(() -> revokeSubject(subject, Instant.now()));
+  }
+
+  /**
+   * Check if a verified token has been revoked
+   */
+  public boolean isRevoked(VerifiedToken token) {
+    if (token.getId() != null && revokedIds.containsKey(token.getId())) {
+      return true;
+    }
+
+    Instant cutoff = subjectCutoffs.get(token.getSubject());
+    return cutoff != null && (token.getIssuedAt() == null || token.getIssuedAt().isBefore(cutoff));
+  }
+
+  /**
+   * Drop entries whose tokens have expired by polling due wheel buckets
+   */
+  @Scheduled(fixedDelayString = "${app.jwt.revocation.sweep-ms:60000}")
+  public void sweep() {
+    long currentTick = tickOf(Instant.now());
+    long nowSeconds = Instant.now().getEpochSecond();
+    int removed = 0;
+
+    Map.Entry<Long, Queue<WheelEntry>> due;
+    while ((due = wheel.firstEntry()) != null && due.getKey() < currentTick) {
+      if (!wheel.remove(due.getKey(), due.getValue())) {
+        continue;
+      }
+      for (WheelEntry entry : due.getValue()) {
+        if (entry.subject()) {
+          if (subjectCutoffs.computeIfPresent(entry.key(),
+              (key, cutoff) -> cutoff.plusMillis(maxTokenLifetimeMs).getEpochSecond() < nowSeconds
+                  ? null
+                  : cutoff) == null) {
+            removed++;
+          }
+        } else if (revokedIds.remove(entry.key()) != null) {
+          removed++;
+        }
+      }
+    }
+
+    if (removed > 0) {
+      log.debug("Revocation sweep removed {} expired entries", removed);
+    }
+  }
+
+  /**
+   * Denylist size and overflow counters for monitoring
+   */
+  public Map<String, Object> getStats() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("revokedTokens", revokedIds.size());
+    result.put("revokedSubjects", subjectCutoffs.size());
+    result.put("wheelBuckets", wheel.size());
+    result.put("maxEntries", maxEntries);
+    result.put("overflowCount", overflowCount.get());
+    return result;
+  }
+
+  private void schedule(WheelEntry entry, Instant expiresAt) {
+    // Bucket after the one containing the expiry, so entries are never
+    // dropped before the token itself has expired
+    long tick = tickOf(expiresAt) + 1;
+    wheel.computeIfAbsent(tick, t -> new ConcurrentLinkedQueue<>()).add(entry);
+  }
+
+  private long tickOf(Instant instant) {
+    return instant.getEpochSecond() / tickSeconds;
+  }
+
+  private record WheelEntry(String key, boolean subject) {
+  }
+}
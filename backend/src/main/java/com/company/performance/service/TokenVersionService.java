@@ -0,0 +1,106 @@
+package com.company.performance.service;
+
+import com.company.performance.entity.User;
+import com.company.performance.repository.UserRepository;
+import com.company.performance.repository.UserTokenState;
+import com.company.performance.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory map of per-user token versions used to validate stateless access
+ * tokens without a database round trip. Only users that deviate from the
+ * default (version 0, active) are stored, so the map stays small even for
+ * large user tables.
+ */
+@Slf4j
+@Service
+public class TokenVersionService {
+
+  // Marker for deactivated accounts: no token version is ever current
+  private static final long DISABLED = Long.MAX_VALUE;
+
+  private final UserRepository userRepository;
+  private final boolean statelessTokens;
+  private final ConcurrentHashMap<Long, Long> versions = new ConcurrentHashMap<>();
+
+  public TokenVersionService(
+      UserRepository userRepository,
+      @Value("${app.jwt.stateless:false}") boolean statelessTokens) {
+    this.userRepository = userRepository;
+    this.statelessTokens = statelessTokens;
+  }
+
+  @PostConstruct
+  void init() {
+    if (statelessTokens) {
+      reload();
+    }
+  }
+
+  /**
+   * Periodically merge database state so changes made by other instances are
+   * picked up within the refresh interval
+   */
+  @Scheduled(fixedDelayString = "${app.jwt.token-version-refresh-ms:30000}",
+      initialDelayString = "${app.jwt.token-version-refresh-ms:30000}")
+  public void reload() {
+    if (!statelessTokens) {
+      return;
+    }
+
+    int count = 0;
+    for (UserTokenState state : userRepository.findNonDefaultTokenStates()) {
+      // Never lower a version already recorded locally
+      versions.merge(state.getId(), toVersion(state), Math::max);
+      count++;
+    }
+    log.debug("Token version map refreshed: {} non-default users", count);
+  }
+
+  /**
+   * Check if a token version is still current for the given user
+   */
+  public boolean isCurrent(Long userId, Long tokenVersion) {
+    long current = versions.getOrDefault(userId, 0L);
+    return current != DISABLED && tokenVersion >= current;
+  }
+
+  /**
+   * Record a user's new token version once the surrounding transaction
+   * commits (immediately when no transaction is active)
+   */
+  public void recordAfterCommit(User user) {
+    Long userId = user.getId();
+    long version = Boolean.FALSE.equals(user.getIsActive()) ? DISABLED : user.currentTokenVersion();
+
+    TransactionUtils.runAfterCommit(() -> record(userId, version));
+  }
+
+  /**
+   * Number of users currently tracked
+   */
+  public int size() {
+    return versions.size();
+  }
+
+  private void record(Long userId, long version) {
+    if (version == 0L) {
+      versions.remove(userId);
+    } else {
+      versions.put(userId, version);
+    }
+  }
+
+  private static long toVersion(UserTokenState state) {
+    if (Boolean.FALSE.equals(state.getIsActive())) {
+      return DISABLED;
+    }
+    return state.getTokenVersion() != null ? state.getTokenVersion() : 0L;
+  }
+}
@@ -0,0 +1,182 @@
+package com.company.performance.service;
+
+import com.company.performance.dto.auth.UserInfo;
+import com.company.performance.dto.user.UserPageResponse;
+import com.company.performance.entity.User;
+import com.company.performance.repository.UserRepository;
+import com.company.performance.util.AppConstants;
+import com.company.performance.util.PageCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Paged user listings using keyset (cursor) pagination: each page continues
+ * from the sort key and id of the previous page's last row, so deep pages
+ * cost the same as the first one
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class UserDirectoryService {
+
+  private final UserRepository userRepository;
+
+  /**
+   * Active users
+   */
+  public UserPageResponse listActive(String sort, String direction, int size, String cursor) {
+    return scroll("active", sort, direction, size, cursor,
+        userRepository::findByIsActiveTrue);
+  }
+
+  /**
+   * Users with a role
+   */
+  public UserPageResponse listByRole(String role, String sort, String direction, int size, String cursor) {
+    User.Role parsedRole = parseRole(role);
+    return scroll("role:" + parsedRole, sort, direction, size, cursor,
+        (position, order, limit) -> userRepository.findByRole(parsedRole, position, order, limit));
+  }
+
+  /**
+   * Users in a department
+   */
+  public UserPageResponse listByDepartment(String department, String sort, String direction, int size,
+      String cursor) {
+    return scroll("department:" + department, sort, direction, size, cursor,
+        (position, order, limit) -> userRepository.findByDepartment(department, position, order, limit));
+  }
+
+  /**
+   * Direct reports of a manager
+   */
+  public UserPageResponse listByManager(Long managerId, String sort, String direction, int size,
+      String cursor) {
+    return scroll("manager:" + managerId, sort, direction, size, cursor,
+        (position, order, limit) -> userRepository.findByManagerId(managerId, position, order, limit));
+  }
+
+  /**
+   * Active managers
+   */
+  public UserPageResponse listActiveManagers(String sort, String direction, int size, String cursor) {
+    return scroll("managers", sort, direction, size, cursor,
+        (position, order, limit) -> userRepository.findByRoleAndIsActiveTrue(
+            User.Role.MANAGER, position, order, limit));
+  }
+
+  /**
+   * Fetch one page. A cursor carries its own sort field and direction, so
+   * those request parameters only apply to the first page.
+   */
+  private UserPageResponse scroll(String scope, String sort, String direction, int size, String cursor,
+      Finder finder) {
+    int pageSize = Math.max(1, Math.min(size, AppConstants.Pagination.MAX_PAGE_SIZE));
+
+    SortField field;
+    Sort.Direction order;
+    ScrollPosition position;
+    if (cursor == null || cursor.isBlank()) {
+      field = SortField.parse(sort);
+      order = parseDirection(direction);
+      position = ScrollPosition.keyset();
+    } else {
+      PageCursor decoded = PageCursor.decode(cursor, scope);
+      field = SortField.parse(decoded.sortField());
+      order = parseDirection(decoded.direction());
+      position = ScrollPosition.forward(Map.of(
+          field.property, field.parseCursorValue(decoded.sortValue()),
+          "id", decoded.id()));
+    }
+
+    // id breaks ties so the position is unique
+    Sort sortOrder = Sort.by(order, field.property).and(Sort.by(order, "id"));
+    Window<User> window = finder.find(position, sortOrder, Limit.of(pageSize));
+
+    String nextCursor = null;
+    if (window.hasNext() && !window.isEmpty()) {
+      User last = window.getContent().get(window.size() - 1);
+      nextCursor = new PageCursor(scope, field.name(), order.name(),
+          field.value.apply(last).toString(), last.getId()).encode();
+    }
+
+    return new UserPageResponse(
+        window.getContent().stream().map(UserInfo::from).toList(),
+        pageSize,
+        nextCursor != null,
+        nextCursor);
+  }
+
+  private static User.Role parseRole(String role) {
+    try {
+      return User.Role.valueOf(role.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid role: " + role);
+    }
+  }
+
+  private static Sort.Direction parseDirection(String direction) {
+    if (direction == null || direction.isBlank()) {
+      return Sort.Direction.fromString(AppConstants.Pagination.DEFAULT_SORT_DIRECTION);
+    }
+    return Sort.Direction.fromString(direction);
+  }
+
+  @FunctionalInterface
+  private interface Finder {
+    Window<User> find(ScrollPosition position, Sort sort, Limit limit);
+  }
+
+  /**
+   * Supported sort keys (all non-null columns), with how to read and parse
+   * the value stored in a cursor
+   */
+  private enum SortField {
+    CREATED_AT("createdAt", User::getCreatedAt, LocalDateTime::parse),
+    LAST_NAME("lastName", User::getLastName, value -> value),
+    EMAIL("email", User::getEmail, value -> value);
+
+    private final String property;
+    private final Function<User, Object> value;
+    private final Function<String, Object> parseValue;
+
+    SortField(String property, Function<User, Object> value, Function<String, Object> parseValue) {
+      this.property = property;
+      this.value = value;
+      this.parseValue = parseValue;
+    }
+
+    /**
+     * Parse the sort value stored in a cursor; a tampered or corrupted value
+     * is an invalid cursor, not a server error
+     */
+    Object parseCursorValue(String value) {
+      try {
+        return parseValue.apply(value);
+      } catch (DateTimeParseException e) {
+        throw new IllegalArgumentException("Invalid cursor", e);
+      }
+    }
+
+    static SortField parse(String sort) {
+      String requested = sort == null || sort.isBlank() ? AppConstants.Pagination.DEFAULT_SORT_FIELD : sort;
+      return Arrays.stream(values())
+          .filter(field -> field.property.equals(requested) || field.name().equals(requested))
+          .findFirst()
+          .orElseThrow(() -> new IllegalArgumentException("Unsupported sort field: " + requested));
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package com.company.performance.service;
+
+import com.company.performance.dto.auth.UserInfo;
+import com.company.performance.exception.TooManyRequestsException;
+import com.company.performance.repository.UserRepository;
+import com.company.performance.util.StreamingDataSource;
+import com.company.performance.util.UserExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * User directory export. Rows are streamed from a database cursor as
+ * UserInfo projections (never managed entities, so the persistence context
+ * stays empty) and written straight to the response, optionally gzipped;
+ * heap use does not depend on the number of users. Each export holds a
+ * connection from the export pool while it runs, so only a few may run at
+ * once.
+ */
+@Slf4j
+@Service
+public class UserExportService {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final UserRepository userRepository;
+  private final ObjectMapper objectMapper;
+  private final StreamingDataSource dataSource;
+  private final TransactionTemplate transactionTemplate;
+  private final Semaphore permits;
+
+  public UserExportService(UserRepository userRepository,
+      ObjectMapper objectMapper,
+      StreamingDataSource dataSource,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.export.max-concurrent:2}") int maxConcurrent) {
+    this.userRepository = userRepository;
+    this.objectMapper = objectMapper;
+    this.dataSource = dataSource;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.permits = new Semaphore(maxConcurrent);
+  }
+
+  /**
+   * Reserve a slot for an export. The caller releases it with
+   * {@link #release()} once the export has ended, whether or not it ran.
+   */
+  public void acquire() {
+    if (!permits.tryAcquire()) {
+      throw new TooManyRequestsException("Too many exports in progress, please retry later", 30);
+    }
+  }
+
+  /**
+   * Return a slot taken by {@link #acquire()}
+   */
+  public void release() {
+    permits.release();
+  }
+
+  /**
+   * Write the user directory to the stream. The stream is flushed but not
+   * closed.
+   *
+   * @return number of users written
+   */
+  public long export(UserExportWriter.Format format, boolean includeInactive, boolean gzip, OutputStream out)
+      throws IOException {
+    long start = System.nanoTime();
+    GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+    BufferedWriter buffered = new BufferedWriter(
+        new OutputStreamWriter(compressed != null ? compressed : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    UserExportWriter writer = UserExportWriter.open(format, buffered, objectMapper);
+
+    long rows = writeUsers(writer, includeInactive);
+    writer.finish();
+    if (compressed != null) {
+      compressed.finish();
+    }
+    out.flush();
+
+    log.info("Exported {} users as {}{} in {} ms", rows, format, gzip ? " (gzip)" : "",
+        (System.nanoTime() - start) / 1_000_000);
+    return rows;
+  }
+
+  private long writeUsers(UserExportWriter writer, boolean includeInactive) throws IOException {
+    try {
+      // The transaction, and so the cursor, runs on the export pool
+      return dataSource.stream(() -> transactionTemplate.execute(status -> {
+        long rows = 0;
+        try (Stream<UserInfo> users = includeInactive
+            ? userRepository.streamAllUserInfo()
+            : userRepository.streamActiveUserInfo()) {
+          for (UserInfo user : (Iterable<UserInfo>) users::iterator) {
+            writer.write(user);
+            rows++;
+          }
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        return rows;
+      }));
+    } catch (UncheckedIOException e) {
+      // Usually the client went away; the read-only transaction just ends
+      throw e.getCause();
+    }
+  }
+}
@@ -0,0 +1,481 @@
+package com.company.performance.service;
+
+import com.company.performance.dto.user.UserImportRow;
+import com.company.performance.dto.user.UserImportStatus;
+import com.company.performance.entity.User;
+import com.company.performance.exception.TooManyRequestsException;
+import com.company.performance.repository.UserRepository;
+import com.company.performance.util.BulkheadPasswordEncoder;
+import com.company.performance.util.UserImportReader;
+import com.company.performance.util.ValidationUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk user import. The upload is spooled to a temp file and imported in the
+ * background, one batch of rows at a time: rows are validated, checked for
+ * duplicate emails / employee IDs and unknown managers with one set-based
+ * query each, passwords are hashed in parallel on a dedicated executor
+ * (overlapping the insert of the previous batch), and the batch is inserted
+ * in a single transaction as JDBC batches (user ids come from a pooled
+ * sequence, so inserts need no round trip each). Rows that fail are
+ * reported with their row number instead of failing the job.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+  private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}$");
+
+  private final UserRepository userRepository;
+  private final OrgHierarchyService orgHierarchyService;
+  private final UserSearchService userSearchService;
+  private final PasswordEncoder passwordEncoder;
+  private final ThreadPoolTaskExecutor hashExecutor;
+  private final Executor jobExecutor;
+  private final TransactionTemplate transactionTemplate;
+  private final EntityManager entityManager;
+  private final Validator validator;
+  private final ObjectMapper objectMapper;
+  private final int batchSize;
+  private final long maxBytes;
+  private final int maxErrors;
+  private final int minHashStrength;
+  private final Cache<String, ImportJob> jobs;
+
+  public UserImportService(UserRepository userRepository,
+      OrgHierarchyService orgHierarchyService,
+      UserSearchService userSearchService,
+      BulkheadPasswordEncoder passwordEncoder,
+      @Qualifier("importHashExecutor") ThreadPoolTaskExecutor hashExecutor,
+      @Qualifier("taskExecutor") Executor jobExecutor,
+      PlatformTransactionManager transactionManager,
+      EntityManager entityManager,
+      Validator validator,
+      ObjectMapper objectMapper,
+      @Value("${app.import.batch-size:1000}") int batchSize,
+      @Value("${app.import.max-bytes:209715200}") long maxBytes,
+      @Value("${app.import.max-errors:1000}") int maxErrors,
+      @Value("${app.import.retention:PT24H}") Duration retention,
+      @Value("${app.security.password-hash.min-strength:10}") int minHashStrength) {
+    this.userRepository = userRepository;
+    this.orgHierarchyService = orgHierarchyService;
+    this.userSearchService = userSearchService;
+    // Hash with the wrapped encoder: the login bulkhead's queue is sized for
+    // logins, and an import would fill it
+    this.passwordEncoder = passwordEncoder.getDelegate();
+    this.hashExecutor = hashExecutor;
+    this.jobExecutor = jobExecutor;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.entityManager = entityManager;
+    this.validator = validator;
+    this.objectMapper = objectMapper;
+    this.batchSize = batchSize;
+    this.maxBytes = maxBytes;
+    this.maxErrors = maxErrors;
+    this.minHashStrength = minHashStrength;
+    this.jobs = Caffeine.newBuilder()
+        .expireAfterWrite(retention)
+        .maximumSize(1000)
+        .build();
+  }
+
+  /**
+   * Spool an upload and queue it for import. Returns the queued job; poll
+   * {@link #getStatus(String)} for progress.
+   */
+  public UserImportStatus startImport(InputStream body, String contentType) throws IOException {
+    UserImportReader.Format format = UserImportReader.Format.fromContentType(contentType);
+    Path file = spool(body);
+
+    ImportJob job = new ImportJob(UUID.randomUUID().toString(), format, maxErrors);
+    jobs.put(job.id, job);
+    try {
+      jobExecutor.execute(() -> run(job, file));
+    } catch (TaskRejectedException e) {
+      jobs.invalidate(job.id);
+      Files.deleteIfExists(file);
+      throw new TooManyRequestsException("Too many imports in progress, please retry later", 60);
+    }
+    log.info("User import {} queued ({}, {} bytes)", job.id, format, Files.size(file));
+    return job.snapshot();
+  }
+
+  /**
+   * Progress and row errors of an import
+   */
+  public Optional<UserImportStatus> getStatus(String jobId) {
+    return Optional.ofNullable(jobs.getIfPresent(jobId)).map(ImportJob::snapshot);
+  }
+
+  private Path spool(InputStream body) throws IOException {
+    Path file = Files.createTempFile("user-import-", ".upload");
+    try (InputStream in = body; OutputStream out = Files.newOutputStream(file)) {
+      byte[] buffer = new byte[64 * 1024];
+      long total = 0;
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        total += read;
+        if (total > maxBytes) {
+          throw new IllegalArgumentException("Import file exceeds " + maxBytes + " bytes");
+        }
+        out.write(buffer, 0, read);
+      }
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(file);
+      throw e;
+    }
+    return file;
+  }
+
+  private void run(ImportJob job, Path file) {
+    job.start();
+    try (UserImportReader reader = UserImportReader.open(job.format,
+        Files.newBufferedReader(file, StandardCharsets.UTF_8), objectMapper)) {
+      // Keys already taken earlier in this file (lowercase, as MySQL compares them)
+      Set<String> seenEmails = new HashSet<>();
+      Set<String> seenEmployeeIds = new HashSet<>();
+
+      // Pipelined: while one batch is hashed on the import executor, the
+      // previous one is inserted on this thread
+      PendingBatch pending = null;
+      List<UserImportReader.Row> batch = new ArrayList<>(batchSize);
+      UserImportReader.Row row;
+      while ((row = reader.next()) != null) {
+        batch.add(row);
+        if (batch.size() == batchSize) {
+          PendingBatch next = prepare(job, batch, seenEmails, seenEmployeeIds);
+          insert(job, pending);
+          pending = next;
+          batch.clear();
+        }
+      }
+      if (!batch.isEmpty()) {
+        PendingBatch next = prepare(job, batch, seenEmails, seenEmployeeIds);
+        insert(job, pending);
+        pending = next;
+      }
+      insert(job, pending);
+
+      reloadIndexes(job);
+      job.finish("COMPLETED", null);
+      log.info("User import {} completed: {} imported, {} failed, {} rows/s",
+          job.id, job.imported.get(), job.failed.get(), String.format("%.0f", job.rowsPerSecond()));
+    } catch (Exception e) {
+      log.error("User import {} failed after {} rows: {}", job.id, job.rowsRead.get(), e.getMessage());
+      reloadIndexes(job);
+      job.finish("FAILED", e.getMessage());
+    } finally {
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        log.warn("Could not delete import file {}: {}", file, e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * One rebuild instead of an index update per imported user, before the
+   * job reports completion so imported users are searchable by then
+   */
+  private void reloadIndexes(ImportJob job) {
+    if (job.imported.get() > 0) {
+      orgHierarchyService.reload();
+      userSearchService.reload();
+    }
+  }
+
+  /**
+   * Validate a batch, run the set-based duplicate and manager checks, and
+   * start hashing the passwords of the rows that pass
+   */
+  private PendingBatch prepare(ImportJob job, List<UserImportReader.Row> batch,
+      Set<String> seenEmails, Set<String> seenEmployeeIds) {
+    job.rowsRead.addAndGet(batch.size());
+
+    // Validate rows and reject duplicates within the file
+    List<Candidate> candidates = new ArrayList<>(batch.size());
+    for (UserImportReader.Row row : batch) {
+      UserImportRow data = row.data();
+      String error = row.error() != null ? row.error() : validate(data);
+      if (error == null) {
+        String emailKey = key(data.getEmail());
+        String employeeIdKey = key(data.getEmployeeId());
+        if (seenEmails.contains(emailKey)) {
+          error = "Duplicate email in file";
+        } else if (employeeIdKey != null && seenEmployeeIds.contains(employeeIdKey)) {
+          error = "Duplicate employee ID in file";
+        } else {
+          seenEmails.add(emailKey);
+          if (employeeIdKey != null) {
+            seenEmployeeIds.add(employeeIdKey);
+          }
+        }
+      }
+      if (error != null) {
+        job.reject(row.number(), data != null ? data.getEmail() : null, error);
+      } else {
+        candidates.add(new Candidate(row.number(), data));
+      }
+    }
+    if (candidates.isEmpty()) {
+      return null;
+    }
+
+    // Set-based checks against existing users
+    Set<String> takenEmails = keys(userRepository.findExistingEmails(
+        candidates.stream().map(c -> c.data().getEmail()).toList()));
+    List<String> employeeIds = candidates.stream()
+        .map(c -> c.data().getEmployeeId()).filter(id -> id != null).toList();
+    Set<String> takenEmployeeIds = employeeIds.isEmpty()
+        ? Set.of() : keys(userRepository.findExistingEmployeeIds(employeeIds));
+    Set<Long> managerIds = candidates.stream()
+        .map(c -> c.data().getManagerId()).filter(id -> id != null).collect(Collectors.toSet());
+    Set<Long> activeManagers = managerIds.isEmpty()
+        ? Set.of() : new HashSet<>(userRepository.findActiveIds(managerIds));
+
+    List<Candidate> accepted = new ArrayList<>(candidates.size());
+    List<Future<String>> hashes = new ArrayList<>(candidates.size());
+    for (Candidate candidate : candidates) {
+      UserImportRow data = candidate.data();
+      if (takenEmails.contains(key(data.getEmail()))) {
+        job.reject(candidate.row(), data.getEmail(), "Email is already in use");
+      } else if (data.getEmployeeId() != null && takenEmployeeIds.contains(key(data.getEmployeeId()))) {
+        job.reject(candidate.row(), data.getEmail(), "Employee ID is already in use");
+      } else if (data.getManagerId() != null && !activeManagers.contains(data.getManagerId())) {
+        job.reject(candidate.row(), data.getEmail(), "Manager not found or inactive: " + data.getManagerId());
+      } else {
+        accepted.add(candidate);
+        // Imported BCrypt hashes are kept as they are
+        String password = data.getPassword();
+        hashes.add(password == null ? null : hashExecutor.submit(() -> passwordEncoder.encode(password)));
+      }
+    }
+    return new PendingBatch(accepted, hashes);
+  }
+
+  /**
+   * Insert the batch in one transaction. If a concurrent write took one of
+   * the emails or employee IDs since the check, retry row by row to find it.
+   */
+  private void insert(ImportJob job, PendingBatch pending) throws InterruptedException {
+    if (pending == null || pending.candidates().isEmpty()) {
+      return;
+    }
+    List<Prepared> rows = pending.await();
+    try {
+      transactionTemplate.executeWithoutResult(status -> persist(rows));
+      job.imported.addAndGet(rows.size());
+    } catch (DataIntegrityViolationException | PersistenceException e) {
+      log.warn("User import {}: batch insert failed ({}), retrying row by row", job.id, e.getMessage());
+      for (Prepared row : rows) {
+        try {
+          transactionTemplate.executeWithoutResult(status -> persist(List.of(row)));
+          job.imported.incrementAndGet();
+        } catch (DataIntegrityViolationException | PersistenceException rowError) {
+          job.reject(row.row(), row.data().getEmail(), "Email or employee ID is already in use");
+        }
+      }
+    }
+  }
+
+  private void persist(List<Prepared> rows) {
+    Session session = entityManager.unwrap(Session.class);
+    session.setJdbcBatchSize(batchSize);
+    // Don't fill the second-level cache with every imported user
+    session.setCacheMode(CacheMode.IGNORE);
+    LocalDateTime now = LocalDateTime.now();
+    for (Prepared row : rows) {
+      entityManager.persist(toUser(row, now));
+    }
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  /**
+   * First problem with a row, or null when it can be imported
+   */
+  private String validate(UserImportRow data) {
+    Set<ConstraintViolation<UserImportRow>> violations = validator.validate(data);
+    if (!violations.isEmpty()) {
+      return violations.stream()
+          .map(ConstraintViolation::getMessage)
+          .sorted()
+          .collect(Collectors.joining("; "));
+    }
+    if (data.getPassword() == null && data.getPasswordHash() == null) {
+      return "Password or passwordHash is required";
+    }
+    if (data.getPassword() == null) {
+      Matcher matcher = BCRYPT_HASH.matcher(data.getPasswordHash());
+      if (!matcher.matches() || Integer.parseInt(matcher.group(1)) < minHashStrength) {
+        return "passwordHash must be a BCrypt hash with cost " + minHashStrength + " or higher";
+      }
+    }
+    if (data.getRole() != null && !ValidationUtils.isValidRole(data.getRole())) {
+      return "Invalid role: " + data.getRole();
+    }
+    return null;
+  }
+
+  private static User toUser(Prepared row, LocalDateTime now) {
+    UserImportRow data = row.data();
+    User user = new User();
+    user.setEmail(data.getEmail().trim());
+    user.setPassword(row.passwordHash());
+    user.setFirstName(data.getFirstName());
+    user.setLastName(data.getLastName());
+    user.setEmployeeId(data.getEmployeeId());
+    user.setPhoneNumber(data.getPhoneNumber());
+    user.setJobTitle(data.getJobTitle());
+    user.setDepartment(data.getDepartment());
+    user.setManagerId(data.getManagerId());
+    user.setRole(data.getRole() == null
+        ? User.Role.EMPLOYEE
+        : User.Role.valueOf(data.getRole().toUpperCase(Locale.ROOT)));
+    user.setIsActive(true);
+    user.setHireDate(now);
+    return user;
+  }
+
+  private static String key(String value) {
+    return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static Set<String> keys(Collection<String> values) {
+    return values.stream().map(UserImportService::key).collect(Collectors.toSet());
+  }
+
+  private record Candidate(long row, UserImportRow data) {
+  }
+
+  private record Prepared(long row, UserImportRow data, String passwordHash) {
+  }
+
+  /**
+   * Rows of a batch that passed every check, with their password hashes
+   * still being computed
+   */
+  private record PendingBatch(List<Candidate> candidates, List<Future<String>> hashes) {
+
+    List<Prepared> await() throws InterruptedException {
+      List<Prepared> prepared = new ArrayList<>(candidates.size());
+      for (int i = 0; i < candidates.size(); i++) {
+        Candidate candidate = candidates.get(i);
+        try {
+          String hash = hashes.get(i) == null ? candidate.data().getPasswordHash() : hashes.get(i).get();
+          prepared.add(new Prepared(candidate.row(), candidate.data(), hash));
+        } catch (ExecutionException e) {
+          throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+      }
+      return prepared;
+    }
+  }
+
+  /**
+   * Mutable progress of one import; counters are read by status polls while
+   * the import thread updates them
+   */
+  private static final class ImportJob {
+    private final String id;
+    private final UserImportReader.Format format;
+    private final int maxErrors;
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<UserImportStatus.RowError> errors = new ArrayList<>();
+    private volatile String status = "QUEUED";
+    private volatile String message;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    ImportJob(String id, UserImportReader.Format format, int maxErrors) {
+      this.id = id;
+      this.format = format;
+      this.maxErrors = maxErrors;
+    }
+
+    void start() {
+      startedAt = LocalDateTime.now();
+      startNanos = System.nanoTime();
+      status = "RUNNING";
+    }
+
+    void finish(String finalStatus, String failureMessage) {
+      endNanos = System.nanoTime();
+      finishedAt = LocalDateTime.now();
+      message = failureMessage;
+      status = finalStatus;
+    }
+
+    void reject(long row, String email, String error) {
+      failed.incrementAndGet();
+      synchronized (errors) {
+        if (errors.size() < maxErrors) {
+          errors.add(new UserImportStatus.RowError(row, email, error));
+        }
+      }
+    }
+
+    double rowsPerSecond() {
+      if (startNanos == 0) {
+        return 0.0;
+      }
+      long elapsed = (endNanos != 0 ? endNanos : System.nanoTime()) - startNanos;
+      return elapsed == 0 ? 0.0 : rowsRead.get() * 1_000_000_000.0 / elapsed;
+    }
+
+    UserImportStatus snapshot() {
+      List<UserImportStatus.RowError> errorsCopy;
+      synchronized (errors) {
+        errorsCopy = List.copyOf(errors);
+      }
+      return new UserImportStatus(id, status, format.name(), rowsRead.get(), imported.get(), failed.get(),
+          rowsPerSecond(), startedAt, finishedAt, message, errorsCopy, failed.get() > errorsCopy.size());
+    }
+  }
+}
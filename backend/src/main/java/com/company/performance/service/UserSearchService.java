@@ -0,0 +1,136 @@
+package com.company.performance.service;
+
+import com.company.performance.dto.auth.UserInfo;
+import com.company.performance.dto.user.UserSearchResponse;
+import com.company.performance.entity.User;
+import com.company.performance.repository.UserRepository;
+import com.company.performance.util.AppConstants;
+import com.company.performance.util.TransactionUtils;
+import com.company.performance.util.UserSearchIndex;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * People search backed by an in-memory {@link UserSearchIndex} of active
+ * users, kept current from user writes after they commit.
+ *
+ * A reload reads the users without holding the lock (possibly from a
+ * lagging replica), so updates applied while it reads are recorded and
+ * re-applied on top of the reloaded index; otherwise the reload would roll
+ * them back until the next refresh.
+ */
+@Slf4j
+@Service
+public class UserSearchService {
+
+  private final UserRepository userRepository;
+  private final UserSearchIndex index = new UserSearchIndex();
+
+  // Orders index updates against the end of a reload; searches don't take it
+  private final Object lock = new Object();
+  // Updates applied since the running reload started reading (null value:
+  // removed); null when idle
+  private Map<Long, UserInfo> appliedDuringReload;
+  // One reload at a time, so each has its own record of updates
+  private final Object reloadLock = new Object();
+
+  public UserSearchService(UserRepository userRepository) {
+    this.userRepository = userRepository;
+  }
+
+  @PostConstruct
+  void init() {
+    reload();
+  }
+
+  /**
+   * Periodically rebuild from the database so changes made by other
+   * instances are picked up within the refresh interval
+   */
+  @Scheduled(fixedDelayString = "${app.search.reload-ms:600000}",
+      initialDelayString = "${app.search.reload-ms:600000}")
+  public void reload() {
+    synchronized (reloadLock) {
+      long start = System.nanoTime();
+      synchronized (lock) {
+        appliedDuringReload = new LinkedHashMap<>();
+      }
+      List<UserInfo> users;
+      try {
+        users = userRepository.findActiveUserInfo();
+      } catch (RuntimeException e) {
+        synchronized (lock) {
+          appliedDuringReload = null;
+        }
+        throw e;
+      }
+
+      int replayed;
+      synchronized (lock) {
+        index.replaceAll(users);
+        // The rows may predate these updates; keep the newer state
+        appliedDuringReload.forEach(this::applyToIndex);
+        replayed = appliedDuringReload.size();
+        appliedDuringReload = null;
+      }
+      log.debug("User search index loaded: {} users in {} ms, {} concurrent updates re-applied",
+          users.size(), (System.nanoTime() - start) / 1_000_000, replayed);
+    }
+  }
+
+  /**
+   * Index or drop a user once the surrounding transaction commits
+   */
+  public void updateAfterCommit(User user) {
+    Long userId = user.getId();
+    UserInfo userInfo = Boolean.FALSE.equals(user.getIsActive()) ? null : UserInfo.from(user);
+    TransactionUtils.runAfterCommit(() -> update(userId, userInfo));
+  }
+
+  /**
+   * One page of active users matching every word of the query, best first
+   */
+  public UserSearchResponse search(String query, int page, int size) {
+    int pageSize = Math.max(1, Math.min(size, AppConstants.Pagination.MAX_PAGE_SIZE));
+    int pageNumber = Math.max(0, page);
+
+    // In long, so a huge page number cannot wrap to a negative offset
+    long offset = (long) pageNumber * pageSize;
+    if (offset >= index.size()) {
+      return new UserSearchResponse(query, pageNumber, pageSize, false, List.of());
+    }
+    UserSearchIndex.SearchPage result = index.search(query, (int) offset, pageSize);
+    return new UserSearchResponse(query, pageNumber, pageSize, result.hasMore(), result.results());
+  }
+
+  /**
+   * Index size counters for monitoring
+   */
+  public Map<String, Object> getStats() {
+    return index.getStats();
+  }
+
+  // userInfo null: no longer active
+  private void update(Long userId, UserInfo userInfo) {
+    synchronized (lock) {
+      applyToIndex(userId, userInfo);
+      if (appliedDuringReload != null) {
+        appliedDuringReload.put(userId, userInfo);
+      }
+    }
+  }
+
+  private void applyToIndex(Long userId, UserInfo userInfo) {
+    if (userInfo == null) {
+      index.remove(userId);
+    } else {
+      index.put(userInfo);
+    }
+  }
+}
@@ -160,6 +160,7 @@ public final class AppConstants {
     public static final String REVIEW_APPROVED = "review.approved";
     public static final String GOAL_CREATED = "goal.created";
     public static final String GOAL_COMPLETED = "goal.completed";
+    public static final String GOAL_OVERDUE = "goal.overdue";
   }
 
   // Cache Keys
@@ -169,4 +170,12 @@ public final class AppConstants {
     public static final String DEPARTMENT_CACHE = "departments";
     public static final String PERFORMANCE_STATS = "performance-stats";
   }
+
+  // Hibernate second-level cache regions (sized in CacheConfig)
+  public static final class CacheRegions {
+    public static final String USERS = "user-entities";
+    public static final String USER_NATURAL_IDS = "user-natural-ids";
+    public static final String ACTIVE_MANAGERS = "active-managers-query";
+    public static final String USERS_BY_EMPLOYEE_ID = "users-by-employee-id-query";
+  }
 }
\ No newline at end of file
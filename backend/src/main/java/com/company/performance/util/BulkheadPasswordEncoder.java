@@ -0,0 +1,129 @@
+package com.company.performance.util;
+
+import com.company.performance.exception.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Password encoder that runs the (CPU-heavy) delegate on a dedicated,
+ * core-count-sized executor with a bounded queue. Request threads wait for
+ * the result but never hash themselves, so a login burst cannot take more
+ * than the executor's cores. When the queue is full the call fails fast
+ * with {@link TooManyRequestsException}.
+ */
+@Slf4j
+public class BulkheadPasswordEncoder implements PasswordEncoder {
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolTaskExecutor executor;
+  private final long maxWaitMs;
+  private final long retryAfterSeconds;
+
+  private final LongAdder hashCount = new LongAdder();
+  private final LongAdder hashTimeNanos = new LongAdder();
+  private final AtomicLong maxHashTimeNanos = new AtomicLong();
+  private final LongAdder queueWaitNanos = new LongAdder();
+  private final LongAdder rejectedCount = new LongAdder();
+
+  public BulkheadPasswordEncoder(PasswordEncoder delegate, ThreadPoolTaskExecutor executor,
+      Duration maxWait, Duration retryAfter) {
+    this.delegate = delegate;
+    this.executor = executor;
+    this.maxWaitMs = maxWait.toMillis();
+    this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return submit(() -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return submit(() -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  /**
+   * The wrapped encoder, for batch work that brings its own executor (bulk
+   * imports must not queue behind, or crowd out, logins)
+   */
+  public PasswordEncoder getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * Queue depth, rejection and hash latency counters for monitoring
+   */
+  public Map<String, Object> getStats() {
+    long count = hashCount.sum();
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("poolSize", executor.getPoolSize());
+    result.put("activeCount", executor.getActiveCount());
+    result.put("queueDepth", executor.getQueueSize());
+    result.put("queueCapacity", executor.getQueueCapacity());
+    result.put("hashCount", count);
+    result.put("rejectedCount", rejectedCount.sum());
+    result.put("avgHashMs", count == 0 ? 0.0 : hashTimeNanos.sum() / 1_000_000.0 / count);
+    result.put("maxHashMs", maxHashTimeNanos.get() / 1_000_000.0);
+    result.put("avgQueueWaitMs", count == 0 ? 0.0 : queueWaitNanos.sum() / 1_000_000.0 / count);
+    return result;
+  }
+
+  private <T> T submit(Callable<T> task) {
+    long enqueuedAt = System.nanoTime();
+    Future<T> future;
+    try {
+      future = executor.submit(() -> {
+        long startedAt = System.nanoTime();
+        try {
+          return task.call();
+        } finally {
+          long elapsed = System.nanoTime() - startedAt;
+          hashCount.increment();
+          hashTimeNanos.add(elapsed);
+          queueWaitNanos.add(startedAt - enqueuedAt);
+          maxHashTimeNanos.accumulateAndGet(elapsed, Math::max);
+        }
+      });
+    } catch (TaskRejectedException e) {
+      rejectedCount.increment();
+      log.warn("Password hashing queue full ({} queued), rejecting request", executor.getQueueSize());
+      throw new TooManyRequestsException("Too many login attempts, please retry shortly", retryAfterSeconds);
+    }
+
+    try {
+      return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      rejectedCount.increment();
+      throw new TooManyRequestsException("Password hashing timed out, please retry shortly", retryAfterSeconds);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.cancel(true);
+      throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Password hashing failed", e.getCause());
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package com.company.performance.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder whose cost is chosen by measuring hash time on the current
+ * host, so login latency tracks a configured budget instead of a hardcoded
+ * cost. Stored hashes in a non-BCrypt format, or with a cost below the
+ * upgrade strength, are reported by {@link #upgradeEncoding(String)} and
+ * rehashed on the next successful login.
+ *
+ * Upgrades only ever raise the cost. Calibrated hosts can pick different
+ * costs, and hashes written by a faster host are kept as they are, so users
+ * are not rehashed back and forth between hosts and a slow or loaded host
+ * never lowers existing hashes.
+ */
+@Slf4j
+public class CalibratedBCryptPasswordEncoder implements PasswordEncoder {
+
+  private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}$");
+  private static final String CALIBRATION_PASSWORD = "calibration-Password-123";
+  private static final int CALIBRATION_ROUNDS = 3;
+
+  private final int strength;
+  // Stored hashes below this cost are rehashed; never above this host's strength
+  private final int upgradeStrength;
+  private final BCryptPasswordEncoder delegate;
+
+  public CalibratedBCryptPasswordEncoder(int strength) {
+    this(strength, 0);
+  }
+
+  /**
+   * @param upgradeStrength cost below which stored hashes are rehashed on
+   *     login; 0 or anything above strength means strength
+   */
+  public CalibratedBCryptPasswordEncoder(int strength, int upgradeStrength) {
+    this.strength = strength;
+    this.upgradeStrength = upgradeStrength > 0 ? Math.min(upgradeStrength, strength) : strength;
+    this.delegate = new BCryptPasswordEncoder(strength);
+  }
+
+  /**
+   * Pick the highest cost in [minStrength, maxStrength] whose measured hash
+   * time stays within targetMs. minStrength is used even if it is over
+   * budget, so a slow host never weakens hashes below the floor.
+   */
+  public static CalibratedBCryptPasswordEncoder calibrate(long targetMs, int minStrength, int maxStrength,
+      int upgradeStrength) {
+    int chosen = minStrength;
+    for (int cost = minStrength; cost <= maxStrength; cost++) {
+      long elapsedMs = measure(cost);
+      log.debug("BCrypt cost {} takes {} ms on this host", cost, elapsedMs);
+      if (elapsedMs > targetMs) {
+        break;
+      }
+      chosen = cost;
+      // Each extra cost doubles the time; stop before a sample that would
+      // take far longer than the budget itself
+      if (elapsedMs * 2 > targetMs) {
+        break;
+      }
+    }
+    log.info("BCrypt cost calibrated to {} (target {} ms)", chosen, targetMs);
+    return new CalibratedBCryptPasswordEncoder(chosen, upgradeStrength);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return delegate.encode(rawPassword);
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return delegate.matches(rawPassword, encodedPassword);
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    if (encodedPassword == null || encodedPassword.isEmpty()) {
+      return false;
+    }
+    Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+    if (!matcher.matches()) {
+      return true;
+    }
+    return Integer.parseInt(matcher.group(1)) < upgradeStrength;
+  }
+
+  public int getStrength() {
+    return strength;
+  }
+
+  public int getUpgradeStrength() {
+    return upgradeStrength;
+  }
+
+  private static long measure(int cost) {
+    BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+    // Warm-up round so JIT compilation is not counted
+    String hash = encoder.encode(CALIBRATION_PASSWORD);
+    long start = System.nanoTime();
+    for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+      encoder.matches(CALIBRATION_PASSWORD, hash);
+    }
+    return (System.nanoTime() - start) / CALIBRATION_ROUNDS / 1_000_000;
+  }
+}
@@ -0,0 +1,113 @@
+package com.company.performance.util;
+
+import com.company.performance.entity.RatingAggregate;
+import com.company.performance.repository.RatingDelta;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable rollup of one department's approved review ratings and goal
+ * statuses. Every change produces a new snapshot with a higher version, so
+ * readers always see a consistent set of numbers without locking.
+ */
+@Value
+public class DepartmentStatsSnapshot {
+
+  String department;
+  // Increases with every change to this department's numbers
+  long version;
+  // When the numbers were last rebuilt from the database
+  Instant rebuiltAt;
+  Instant updatedAt;
+  // Review count of the aggregate row the rebuild read: approvals with a
+  // department sequence up to this are already in the numbers
+  long ratedThrough;
+
+  long reviewCount;
+  long ratingSum;
+  long ratingSumSquares;
+  // Indexed by RatingAggregate.Band ordinal
+  long[] bandCounts;
+
+  // Goals per AppConstants.GoalStatus
+  Map<String, Long> goalCounts;
+
+  /**
+   * Snapshot rebuilt from the department's rating aggregate row (null when
+   * nothing was approved yet) and goal counts
+   */
+  public static DepartmentStatsSnapshot rebuilt(String department, long version, RatingAggregate aggregate,
+      Map<String, Long> goalCounts, Instant now) {
+    long[] bands = new long[RatingAggregate.Band.values().length];
+    if (aggregate == null) {
+      return new DepartmentStatsSnapshot(department, version, now, now, 0, 0, 0, 0, bands,
+          Collections.unmodifiableMap(new HashMap<>(goalCounts)));
+    }
+    for (RatingAggregate.Band band : RatingAggregate.Band.values()) {
+      bands[band.ordinal()] = aggregate.getBandCount(band);
+    }
+    return new DepartmentStatsSnapshot(department, version, now, now, aggregate.getReviewCount(),
+        aggregate.getReviewCount(), aggregate.getRatingSum(), aggregate.getRatingSumSquares(), bands,
+        Collections.unmodifiableMap(new HashMap<>(goalCounts)));
+  }
+
+  /**
+   * Copy with newly approved ratings added
+   */
+  public DepartmentStatsSnapshot withRatings(RatingDelta delta, long newVersion, Instant now) {
+    long[] bands = Arrays.copyOf(bandCounts, bandCounts.length);
+    for (RatingAggregate.Band band : RatingAggregate.Band.values()) {
+      bands[band.ordinal()] += delta.getBandCount(band);
+    }
+    return new DepartmentStatsSnapshot(department, newVersion, rebuiltAt, now, ratedThrough,
+        reviewCount + delta.getCount(), ratingSum + delta.getSum(), ratingSumSquares + delta.getSumSquares(),
+        bands, goalCounts);
+  }
+
+  /**
+   * Copy with goal counts adjusted by status (e.g. -1 IN_PROGRESS and
+   * +1 COMPLETED for a completed goal)
+   */
+  public DepartmentStatsSnapshot withGoalTransitions(Map<String, Long> changes, long newVersion, Instant now) {
+    Map<String, Long> counts = new HashMap<>(goalCounts);
+    changes.forEach((status, change) -> counts.merge(status, change, Long::sum));
+    counts.values().removeIf(count -> count <= 0);
+    return new DepartmentStatsSnapshot(department, newVersion, rebuiltAt, now, ratedThrough, reviewCount,
+        ratingSum, ratingSumSquares, bandCounts, Collections.unmodifiableMap(counts));
+  }
+
+  public long getBandCount(RatingAggregate.Band band) {
+    return bandCounts[band.ordinal()];
+  }
+
+  public double getAverageRating() {
+    return reviewCount == 0 ? 0.0 : (double) ratingSum / reviewCount;
+  }
+
+  public double getRatingStandardDeviation() {
+    if (reviewCount == 0) {
+      return 0.0;
+    }
+    double mean = getAverageRating();
+    return Math.sqrt(Math.max(0.0, (double) ratingSumSquares / reviewCount - mean * mean));
+  }
+
+  /**
+   * Completed goals as a share of all goals that were not cancelled
+   */
+  public double getGoalCompletionRate() {
+    long total = 0;
+    for (Map.Entry<String, Long> entry : goalCounts.entrySet()) {
+      if (!AppConstants.GoalStatus.CANCELLED.equals(entry.getKey())) {
+        total += entry.getValue();
+      }
+    }
+    long completed = goalCounts.getOrDefault(AppConstants.GoalStatus.COMPLETED, 0L);
+    return total == 0 ? 0.0 : (double) completed / total;
+  }
+}
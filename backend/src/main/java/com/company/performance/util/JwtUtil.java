@@ -1,5 +1,6 @@
 package com.company.performance.util;
 
+import com.company.performance.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -16,6 +17,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Slf4j
@@ -33,6 +35,15 @@ public class JwtUtil {
 
   private static final String AUTHORIZATION_HEADER = "Authorization";
   private static final String BEARER_PREFIX = "Bearer ";
+  private static final String TYPE_CLAIM = "type";
+  private static final String USER_ID_CLAIM = "uid";
+  private static final String ROLE_CLAIM = "role";
+  private static final String TOKEN_VERSION_CLAIM = "ver";
+
+  // Signing key and parser are immutable and thread-safe, so they are built
+  // once on first use instead of on every sign/parse call
+  private volatile SecretKey signingKey;
+  private volatile JwtParser jwtParser;
 
   /**
    * Generate JWT token for user authentication
@@ -47,19 +58,58 @@ public class JwtUtil {
    */
   public String generateRefreshToken(UserDetails userDetails) {
     Map<String, Object> claims = new HashMap<>();
-    claims.put("type", "refresh");
+    claims.put(TYPE_CLAIM, VerifiedToken.TYPE_REFRESH);
     return createToken(claims, userDetails.getUsername(), refreshExpirationMs);
   }
 
+  /**
+   * Generate JWT access token carrying user id, role and token version, so
+   * the request filter can authenticate without loading the user
+   */
+  public String generateToken(User user) {
+    Map<String, Object> claims = userClaims(user);
+    return createToken(claims, user.getEmail(), jwtExpirationMs);
+  }
+
+  /**
+   * Generate refresh token carrying user id, role and token version
+   */
+  public String generateRefreshToken(User user) {
+    return generateRefreshToken(user, UUID.randomUUID().toString());
+  }
+
+  /**
+   * Generate refresh token with a caller-assigned id (jti), so it can be
+   * tracked for single-use rotation
+   */
+  public String generateRefreshToken(User user, String tokenId) {
+    Map<String, Object> claims = userClaims(user);
+    claims.put(TYPE_CLAIM, VerifiedToken.TYPE_REFRESH);
+    return createToken(claims, user.getEmail(), refreshExpirationMs, tokenId);
+  }
+
+  private Map<String, Object> userClaims(User user) {
+    Map<String, Object> claims = new HashMap<>();
+    claims.put(USER_ID_CLAIM, user.getId());
+    claims.put(ROLE_CLAIM, user.getRole().name());
+    claims.put(TOKEN_VERSION_CLAIM, user.currentTokenVersion());
+    return claims;
+  }
+
   /**
    * Create JWT token with claims and expiration
    */
   private String createToken(Map<String, Object> claims, String subject, long expiration) {
+    return createToken(claims, subject, expiration, UUID.randomUUID().toString());
+  }
+
+  private String createToken(Map<String, Object> claims, String subject, long expiration, String tokenId) {
     Instant now = Instant.now();
     Instant expiryDate = now.plus(expiration, ChronoUnit.MILLIS);
 
     return Jwts.builder()
         .claims(claims)
+        .id(tokenId)
         .subject(subject)
         .issuedAt(Date.from(now))
         .expiration(Date.from(expiryDate))
@@ -67,6 +117,37 @@ public class JwtUtil {
         .compact();
   }
 
+  /**
+   * Parse and verify JWT token once, returning its verified claims.
+   * Throws {@link JwtException} if the signature is invalid or the token has
+   * expired.
+   */
+  public VerifiedToken verifyToken(String token) {
+    Claims claims = extractAllClaims(token);
+    String type = claims.get(TYPE_CLAIM, String.class);
+    return new VerifiedToken(
+        claims.getId(),
+        claims.getSubject(),
+        type != null ? type : VerifiedToken.TYPE_ACCESS,
+        claims.getExpiration().toInstant(),
+        claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+        claims.get(USER_ID_CLAIM, Long.class),
+        claims.get(ROLE_CLAIM, String.class),
+        claims.get(TOKEN_VERSION_CLAIM, Long.class));
+  }
+
+  /**
+   * Verify JWT token, returning null instead of throwing when it is invalid
+   */
+  public VerifiedToken verifyTokenOrNull(String token) {
+    try {
+      return verifyToken(token);
+    } catch (JwtException | IllegalArgumentException e) {
+      log.error("JWT token validation failed: {}", e.getMessage());
+      return null;
+    }
+  }
+
   /**
    * Extract username from JWT token
    */
@@ -94,9 +175,7 @@ public class JwtUtil {
    */
   private Claims extractAllClaims(String token) {
     try {
-      return Jwts.parser()
-          .verifyWith(getSigningKey())
-          .build()
+      return getParser()
           .parseSignedClaims(token)
           .getPayload();
     } catch (JwtException e) {
@@ -109,41 +188,45 @@ public class JwtUtil {
    * Get signing key for JWT token
    */
   private SecretKey getSigningKey() {
-    byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-    return Keys.hmacShaKeyFor(keyBytes);
+    SecretKey key = signingKey;
+    if (key == null) {
+      byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
+      key = Keys.hmacShaKeyFor(keyBytes);
+      signingKey = key;
+    }
+    return key;
   }
 
   /**
-   * Check if JWT token is expired
+   * Get parser bound to the signing key
    */
-  private Boolean isTokenExpired(String token) {
-    return extractExpiration(token).before(new Date());
+  private JwtParser getParser() {
+    JwtParser parser = jwtParser;
+    if (parser == null) {
+      parser = Jwts.parser()
+          .verifyWith(getSigningKey())
+          .build();
+      jwtParser = parser;
+    }
+    return parser;
   }
 
   /**
    * Validate JWT token
    */
   public Boolean validateToken(String token, UserDetails userDetails) {
-    try {
-      final String username = extractUsername(token);
-      return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    } catch (JwtException e) {
-      log.error("JWT token validation failed: {}", e.getMessage());
-      return false;
-    }
+    VerifiedToken verified = verifyTokenOrNull(token);
+    return verified != null &&
+        verified.getSubject().equals(userDetails.getUsername()) &&
+        !verified.isExpired();
   }
 
   /**
    * Validate JWT token without UserDetails
    */
   public Boolean validateToken(String token) {
-    try {
-      extractAllClaims(token);
-      return !isTokenExpired(token);
-    } catch (JwtException e) {
-      log.error("JWT token validation failed: {}", e.getMessage());
-      return false;
-    }
+    VerifiedToken verified = verifyTokenOrNull(token);
+    return verified != null && !verified.isExpired();
   }
 
   /**
@@ -162,8 +245,7 @@ public class JwtUtil {
    */
   public Boolean isRefreshToken(String token) {
     try {
-      Claims claims = extractAllClaims(token);
-      return "refresh".equals(claims.get("type"));
+      return verifyToken(token).isRefreshToken();
     } catch (JwtException e) {
       return false;
     }
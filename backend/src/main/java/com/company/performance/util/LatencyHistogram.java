@@ -0,0 +1,101 @@
+package com.company.performance.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear microsecond buckets: each
+ * power of two is split into four, so a reported percentile is at most
+ * 25% above the true value. Recording is a few atomic increments and the
+ * footprint is fixed (about 2 KB) whatever the range of values.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 2;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder totalMicros = new LongAdder();
+  private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+  public void record(long nanos) {
+    long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+    counts.incrementAndGet(bucketOf(micros));
+    count.increment();
+    totalMicros.add(micros);
+    maxMicros.accumulate(micros);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getTotalMicros() {
+    return totalMicros.sum();
+  }
+
+  /**
+   * Upper bound of the bucket holding the given percentile (0-100), in
+   * microseconds; 0 when nothing was recorded
+   */
+  public long percentileMicros(double percentile) {
+    long total = 0;
+    long[] snapshot = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(upperBoundOf(i), maxMicros.get());
+      }
+    }
+    return maxMicros.get();
+  }
+
+  /**
+   * Count, mean, p50/p95/p99 and max in milliseconds
+   */
+  public Map<String, Object> summary() {
+    long n = count.sum();
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("count", n);
+    result.put("meanMs", n == 0 ? 0.0 : totalMicros.sum() / 1000.0 / n);
+    result.put("p50Ms", percentileMicros(50) / 1000.0);
+    result.put("p95Ms", percentileMicros(95) / 1000.0);
+    result.put("p99Ms", percentileMicros(99) / 1000.0);
+    result.put("maxMs", maxMicros.get() / 1000.0);
+    return result;
+  }
+
+  static int bucketOf(long micros) {
+    if (micros < SUB_BUCKETS) {
+      return (int) micros;
+    }
+    int magnitude = 63 - Long.numberOfLeadingZeros(micros);
+    int sub = (int) (micros >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+  }
+
+  static long upperBoundOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int magnitude = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    int sub = bucket % SUB_BUCKETS;
+    long lower = (long) (SUB_BUCKETS + sub) << (magnitude - SUB_BUCKET_BITS);
+    return lower + (1L << (magnitude - SUB_BUCKET_BITS)) - 1;
+  }
+}
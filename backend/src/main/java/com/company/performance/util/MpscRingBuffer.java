@@ -0,0 +1,115 @@
+package com.company.performance.util;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free multi-producer single-consumer ring buffer. Producers
+ * claim a slot with one CAS on the tail; each slot carries a sequence number
+ * that tells the consumer when the slot's element has been written and the
+ * producers when the consumer has freed it, so neither side takes a lock or
+ * allocates per element.
+ */
+public class MpscRingBuffer<E> {
+
+  // With one slot, "freed for the next lap" and "written" are the same
+  // sequence number, so a producer would overwrite an unconsumed element
+  public static final int MIN_CAPACITY = 2;
+  public static final int MAX_CAPACITY = 1 << 30;
+
+  private final int capacity;
+  private final int mask;
+  private final AtomicReferenceArray<E> elements;
+  // Slot i holds position p when free for the producer of p, p + 1 once written
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail = new AtomicLong();
+  // Written by the consumer only
+  private volatile long head;
+
+  public MpscRingBuffer(int requestedCapacity) {
+    if (requestedCapacity < MIN_CAPACITY || requestedCapacity > MAX_CAPACITY) {
+      throw new IllegalArgumentException("Capacity must be between " + MIN_CAPACITY + " and 2^30: "
+          + requestedCapacity);
+    }
+    // Power of two, so positions map to slots with a mask
+    int size = 1;
+    while (size < requestedCapacity) {
+      size <<= 1;
+    }
+    this.capacity = size;
+    this.mask = capacity - 1;
+    this.elements = new AtomicReferenceArray<>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * Add an element; false when the buffer is full. Safe from any thread.
+   */
+  public boolean offer(E element) {
+    long position = tail.get();
+    while (true) {
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          elements.lazySet(index, element);
+          // Volatile write publishes the element to the consumer
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        // The consumer has not freed this slot from the previous lap
+        return false;
+      } else {
+        // Another producer claimed the position first
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Move up to max published elements into the sink, oldest first, and
+   * return how many were moved. Only one thread may drain.
+   */
+  public int drainTo(List<? super E> sink, int max) {
+    long position = head;
+    int drained = 0;
+    while (drained < max) {
+      int index = (int) (position & mask);
+      if (sequences.get(index) != position + 1) {
+        // Empty, or the producer of this position has not finished writing
+        break;
+      }
+      sink.add(elements.get(index));
+      elements.lazySet(index, null);
+      // Free the slot for the producer one lap ahead
+      sequences.set(index, position + capacity);
+      position++;
+      drained++;
+    }
+    head = position;
+    return drained;
+  }
+
+  /**
+   * Elements claimed but not yet drained (approximate while producers run)
+   */
+  public int size() {
+    long size = tail.get() - head;
+    return (int) Math.max(0, Math.min(size, capacity));
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+}
@@ -0,0 +1,40 @@
+package com.company.performance.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination. It records the listing it
+ * belongs to, the sort field and direction, and the sort value and id of the
+ * last row served, so the next page starts right after that row.
+ */
+public record PageCursor(String scope, String sortField, String direction, String sortValue, long id) {
+
+  private static final String SEPARATOR = "\u001f";
+  private static final String VERSION = "1";
+
+  /**
+   * Encode as a URL-safe token
+   */
+  public String encode() {
+    String raw = String.join(SEPARATOR, VERSION, scope, sortField, direction, sortValue, Long.toString(id));
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decode a token, checking it was issued for the given listing
+   */
+  public static PageCursor decode(String token, String expectedScope) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      String[] parts = raw.split(SEPARATOR, -1);
+      if (parts.length != 6 || !VERSION.equals(parts[0]) || !parts[1].equals(expectedScope)) {
+        throw new IllegalArgumentException("Invalid cursor");
+      }
+      return new PageCursor(parts[1], parts[2], parts[3], parts[4], Long.parseLong(parts[5]));
+    } catch (IllegalArgumentException e) {
+      // Also covers malformed Base64 and a non-numeric id
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+}
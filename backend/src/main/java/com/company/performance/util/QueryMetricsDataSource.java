@@ -0,0 +1,211 @@
+package com.company.performance.util;
+
+import com.company.performance.service.QueryMetricsService;
+import com.company.performance.service.QueryMetricsService.StatementStats;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Data source proxy that times connection acquisition and every statement
+ * execution and counts the rows each one reads or changes, reporting to
+ * {@link QueryMetricsService}. Connections, statements and result sets are
+ * wrapped in JDK proxies; every other call passes straight through.
+ */
+public class QueryMetricsDataSource extends DelegatingDataSource {
+
+  private static final Set<String> EXECUTE_METHODS = Set.of(
+      "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+  private final QueryMetricsService metrics;
+  private final String name;
+
+  /**
+   * @param name  label for this data source's connection-acquire times
+   */
+  public QueryMetricsDataSource(DataSource target, QueryMetricsService metrics, String name) {
+    super(target);
+    this.metrics = metrics;
+    this.name = name;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    long start = System.nanoTime();
+    Connection connection = obtainTargetDataSource().getConnection();
+    metrics.recordConnectionAcquire(name, System.nanoTime() - start);
+    return wrap(connection);
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    long start = System.nanoTime();
+    Connection connection = obtainTargetDataSource().getConnection(username, password);
+    metrics.recordConnectionAcquire(name, System.nanoTime() - start);
+    return wrap(connection);
+  }
+
+  private Connection wrap(Connection connection) {
+    return proxy(Connection.class, new ConnectionHandler(connection));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+    return (T) Proxy.newProxyInstance(QueryMetricsDataSource.class.getClassLoader(), new Class<?>[] { type }, handler);
+  }
+
+  /**
+   * Forward a call to the wrapped object; equals and hashCode keep proxy
+   * identity, so a wrapped connection is only ever equal to itself
+   */
+  private static Object invoke(Object target, Object proxy, Method method, Object[] args) throws Throwable {
+    if (method.getDeclaringClass() == Object.class) {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        default:
+          break;
+      }
+    }
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  private final class ConnectionHandler implements InvocationHandler {
+    private final Connection target;
+
+    ConnectionHandler(Connection target) {
+      this.target = target;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      Object result = QueryMetricsDataSource.invoke(target, proxy, method, args);
+      return switch (method.getName()) {
+        case "createStatement" -> proxy(Statement.class,
+            new StatementHandler((Statement) result, (Connection) proxy, null));
+        case "prepareStatement" -> proxy(PreparedStatement.class,
+            new StatementHandler((Statement) result, (Connection) proxy, (String) args[0]));
+        case "prepareCall" -> proxy(CallableStatement.class,
+            new StatementHandler((Statement) result, (Connection) proxy, (String) args[0]));
+        default -> result;
+      };
+    }
+  }
+
+  private final class StatementHandler implements InvocationHandler {
+    private final Statement target;
+    private final Connection connection;
+    private String sql;
+    private StatementStats lastStats;
+
+    StatementHandler(Statement target, Connection connection, String sql) {
+      this.target = target;
+      this.connection = connection;
+      this.sql = sql;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String methodName = method.getName();
+      if (EXECUTE_METHODS.contains(methodName)) {
+        return execute(proxy, method, args);
+      }
+      // Plain statements batch SQL text; keep the last one as the batch's shape
+      if (methodName.equals("addBatch") && args != null && args.length == 1) {
+        sql = (String) args[0];
+      }
+      Object result = QueryMetricsDataSource.invoke(target, proxy, method, args);
+      return switch (methodName) {
+        case "getResultSet" -> result == null || lastStats == null ? result : countRows((ResultSet) result);
+        case "getConnection" -> connection;
+        default -> result;
+      };
+    }
+
+    private Object execute(Object proxy, Method method, Object[] args) throws Throwable {
+      String statementSql = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+      long start = System.nanoTime();
+      Object result;
+      try {
+        result = QueryMetricsDataSource.invoke(target, proxy, method, args);
+      } finally {
+        lastStats = metrics.recordExecution(statementSql, System.nanoTime() - start);
+      }
+
+      if (result instanceof ResultSet resultSet) {
+        return countRows(resultSet);
+      } else if (result instanceof Integer count) {
+        lastStats.addRows(Math.max(0, count));
+      } else if (result instanceof Long count) {
+        lastStats.addRows(Math.max(0, count));
+      } else if (result instanceof int[] counts) {
+        long total = 0;
+        for (int count : counts) {
+          total += Math.max(0, count);
+        }
+        lastStats.addRows(total);
+      } else if (result instanceof long[] counts) {
+        long total = 0;
+        for (long count : counts) {
+          total += Math.max(0, count);
+        }
+        lastStats.addRows(total);
+      }
+      return result;
+    }
+
+    private ResultSet countRows(ResultSet resultSet) {
+      return proxy(ResultSet.class, new ResultSetHandler(resultSet, lastStats));
+    }
+  }
+
+  private static final class ResultSetHandler implements InvocationHandler {
+    private final ResultSet target;
+    private final StatementStats stats;
+    private long rows;
+    private boolean closed;
+
+    ResultSetHandler(ResultSet target, StatementStats stats) {
+      this.target = target;
+      this.stats = stats;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      Object result = QueryMetricsDataSource.invoke(target, proxy, method, args);
+      switch (method.getName()) {
+        case "next" -> {
+          if (Boolean.TRUE.equals(result)) {
+            rows++;
+          }
+        }
+        case "close" -> {
+          if (!closed) {
+            closed = true;
+            stats.addRows(rows);
+          }
+        }
+        default -> {
+        }
+      }
+      return result;
+    }
+  }
+}
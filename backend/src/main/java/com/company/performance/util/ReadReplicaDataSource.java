@@ -0,0 +1,195 @@
+package com.company.performance.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Data source for read-only transactions: hands out connections from a set
+ * of read replicas in turn, skipping replicas that failed their last health
+ * check, and falls back to the primary when none is usable. A replica is
+ * healthy when a connection validates and, if a lag query is configured,
+ * its reported replication lag is within the limit; a failed connection
+ * attempt takes it out of rotation until the next successful check.
+ */
+@Slf4j
+public class ReadReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private final String lagQuery;
+  private final Duration maxLag;
+  private final int validationTimeoutSeconds;
+  private final AtomicInteger next = new AtomicInteger();
+
+  private final LongAdder replicaConnections = new LongAdder();
+  private final LongAdder primaryFallbacks = new LongAdder();
+
+  /**
+   * @param replicas  replica data sources by name
+   * @param lagQuery  query returning the replication lag in seconds, or null
+   *                  to check liveness only
+   */
+  public ReadReplicaDataSource(DataSource primary, Map<String, DataSource> replicas, String lagQuery,
+      Duration maxLag, Duration validationTimeout) {
+    this.primary = primary;
+    this.replicas = new ArrayList<>();
+    replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+    this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+    this.maxLag = maxLag;
+    this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+    checkHealth();
+  }
+
+  public boolean hasReplicas() {
+    return !replicas.isEmpty();
+  }
+
+  /**
+   * Longest a healthy replica may trail the primary
+   */
+  public Duration getMaxLag() {
+    return maxLag;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    int size = replicas.size();
+    int start = size == 0 ? 0 : Math.floorMod(next.getAndIncrement(), size);
+    for (int i = 0; i < size; i++) {
+      Replica replica = replicas.get((start + i) % size);
+      if (!replica.healthy) {
+        continue;
+      }
+      try {
+        Connection connection = replica.dataSource.getConnection();
+        replicaConnections.increment();
+        return connection;
+      } catch (SQLException e) {
+        replica.markDown("connection failed: " + e.getMessage());
+      }
+    }
+    primaryFallbacks.increment();
+    return primary.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+  }
+
+  /**
+   * Re-check every replica: connection validity and, if configured,
+   * replication lag
+   */
+  @Scheduled(fixedDelayString = "${app.datasource.replica.health-check-ms:5000}",
+      initialDelayString = "${app.datasource.replica.health-check-ms:5000}")
+  public void checkHealth() {
+    for (Replica replica : replicas) {
+      try (Connection connection = replica.dataSource.getConnection()) {
+        if (!connection.isValid(validationTimeoutSeconds)) {
+          replica.markDown("connection is not valid");
+          continue;
+        }
+        if (lagQuery != null) {
+          Long lag = queryLag(connection);
+          replica.lagSeconds = lag;
+          // No value means replication is not running
+          if (lag == null || lag > maxLag.toSeconds()) {
+            replica.markDown(lag == null ? "replication is not running" : "lagging " + lag + "s behind");
+            continue;
+          }
+        }
+        replica.markUp();
+      } catch (SQLException e) {
+        replica.markDown("health check failed: " + e.getMessage());
+      }
+    }
+  }
+
+  private Long queryLag(Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.setQueryTimeout(validationTimeoutSeconds);
+      try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+        if (!resultSet.next()) {
+          return null;
+        }
+        long lag = resultSet.getLong(1);
+        return resultSet.wasNull() ? null : lag;
+      }
+    }
+  }
+
+  /**
+   * Replica health and routing counters for monitoring
+   */
+  public Map<String, Object> getStats() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("replicaConnections", replicaConnections.sum());
+    result.put("primaryFallbacks", primaryFallbacks.sum());
+    result.put("maxLagSeconds", maxLag.toSeconds());
+    List<Map<String, Object>> replicaStats = new ArrayList<>();
+    for (Replica replica : replicas) {
+      Map<String, Object> stats = new LinkedHashMap<>();
+      stats.put("name", replica.name);
+      stats.put("healthy", replica.healthy);
+      stats.put("lagSeconds", replica.lagSeconds);
+      stats.put("lastError", replica.lastError);
+      replicaStats.add(stats);
+    }
+    result.put("replicas", replicaStats);
+    return result;
+  }
+
+  @Override
+  public void close() throws Exception {
+    for (Replica replica : replicas) {
+      if (replica.dataSource instanceof AutoCloseable closeable) {
+        closeable.close();
+      }
+    }
+  }
+
+  private static final class Replica {
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy;
+    private volatile Long lagSeconds;
+    private volatile String lastError;
+
+    Replica(String name, DataSource dataSource) {
+      this.name = name;
+      this.dataSource = dataSource;
+    }
+
+    void markUp() {
+      if (!healthy) {
+        log.info("Read replica {} is healthy", name);
+      }
+      healthy = true;
+      lastError = null;
+    }
+
+    void markDown(String reason) {
+      if (healthy || lastError == null) {
+        log.warn("Read replica {} taken out of rotation: {}", name, reason);
+      }
+      healthy = false;
+      lastError = reason;
+    }
+  }
+}
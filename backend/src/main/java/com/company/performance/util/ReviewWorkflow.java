@@ -0,0 +1,42 @@
+package com.company.performance.util;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Allowed moves between review statuses:
+ * DRAFT -> SUBMITTED -> IN_REVIEW -> APPROVED or REJECTED.
+ * APPROVED and REJECTED are final.
+ */
+public final class ReviewWorkflow {
+
+  private static final Map<String, Set<String>> TRANSITIONS = Map.of(
+      AppConstants.ReviewStatus.DRAFT, Set.of(AppConstants.ReviewStatus.SUBMITTED),
+      AppConstants.ReviewStatus.SUBMITTED, Set.of(AppConstants.ReviewStatus.IN_REVIEW),
+      AppConstants.ReviewStatus.IN_REVIEW, Set.of(AppConstants.ReviewStatus.APPROVED,
+          AppConstants.ReviewStatus.REJECTED));
+
+  private ReviewWorkflow() {
+    // Prevent instantiation
+  }
+
+  public static boolean isValidStatus(String status) {
+    return AppConstants.ReviewStatus.ALL_STATUSES.contains(status);
+  }
+
+  public static boolean canTransition(String from, String to) {
+    return TRANSITIONS.getOrDefault(from, Set.of()).contains(to);
+  }
+
+  /**
+   * Throw unless moving from one status to the other is allowed
+   */
+  public static void checkTransition(String from, String to) {
+    if (!isValidStatus(to)) {
+      throw new IllegalArgumentException("Unknown review status: " + to);
+    }
+    if (!canTransition(from, to)) {
+      throw new IllegalStateException("Cannot move a review from " + from + " to " + to);
+    }
+  }
+}
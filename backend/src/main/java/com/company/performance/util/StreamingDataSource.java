@@ -0,0 +1,52 @@
+package com.company.performance.util;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+/**
+ * Data source that hands connections requested inside {@link #stream} to a
+ * separate streaming pool and every other request to the application data
+ * source. Only the streaming pool enables the driver's cursor fetch (which
+ * on MySQL also switches to server-side prepared statements), so large
+ * exports stream in fetch-size chunks while regular queries keep cheap
+ * client-side statements.
+ */
+public class StreamingDataSource extends DelegatingDataSource {
+
+  private final DataSource streaming;
+  private final ThreadLocal<Boolean> active = ThreadLocal.withInitial(() -> false);
+
+  public StreamingDataSource(DataSource target, DataSource streaming) {
+    super(target);
+    this.streaming = streaming;
+  }
+
+  /**
+   * Run work whose connections (its transaction's included) come from the
+   * streaming pool. The transaction must start inside the work.
+   */
+  public <T> T stream(Supplier<T> work) {
+    active.set(true);
+    try {
+      return work.get();
+    } finally {
+      active.remove();
+    }
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return active.get() ? streaming.getConnection() : obtainTargetDataSource().getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return active.get()
+        ? streaming.getConnection(username, password)
+        : obtainTargetDataSource().getConnection(username, password);
+  }
+}
@@ -0,0 +1,31 @@
+package com.company.performance.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers for keeping in-memory state in step with database transactions
+ */
+public final class TransactionUtils {
+
+  private TransactionUtils() {
+    // Prevent instantiation
+  }
+
+  /**
+   * Run an action once the surrounding transaction commits (immediately when
+   * no transaction is active), so rolled-back writes never reach memory
+   */
+  public static void runAfterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package com.company.performance.util;
+
+import com.company.performance.dto.auth.UserInfo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Streaming writer for user directory exports: CSV with a header row or
+ * NDJSON (one object per line). Rows are written one at a time to a
+ * buffered writer, so memory does not grow with the export. The CSV columns
+ * use the names {@link UserImportReader} reads, so an export can be imported
+ * elsewhere as it is.
+ */
+public abstract class UserExportWriter {
+
+  public enum Format {
+    CSV("text/csv;charset=UTF-8", "csv"),
+    NDJSON("application/x-ndjson;charset=UTF-8", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    Format(String contentType, String extension) {
+      this.contentType = contentType;
+      this.extension = extension;
+    }
+
+    public String getContentType() {
+      return contentType;
+    }
+
+    public String getExtension() {
+      return extension;
+    }
+
+    /**
+     * Format for a request parameter (csv or ndjson)
+     */
+    public static Format fromParam(String format) {
+      try {
+        return Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Unsupported export format: " + format + " (use csv or ndjson)");
+      }
+    }
+  }
+
+  /**
+   * Open a writer for the given format; writes the CSV header right away
+   */
+  public static UserExportWriter open(Format format, Writer writer, ObjectMapper objectMapper) throws IOException {
+    return switch (format) {
+      case CSV -> new Csv(writer);
+      case NDJSON -> new Ndjson(writer, objectMapper);
+    };
+  }
+
+  /**
+   * Write one user
+   */
+  public abstract void write(UserInfo user) throws IOException;
+
+  /**
+   * Flush buffered rows; the underlying stream is left open
+   */
+  public abstract void finish() throws IOException;
+
+  private static final class Csv extends UserExportWriter {
+
+    private static final String HEADER =
+        "id,email,firstName,lastName,employeeId,jobTitle,department,role,managerId,isActive\n";
+
+    private final Writer writer;
+
+    Csv(Writer writer) throws IOException {
+      this.writer = writer;
+      writer.write(HEADER);
+    }
+
+    @Override
+    public void write(UserInfo user) throws IOException {
+      field(user.getId(), ',');
+      field(user.getEmail(), ',');
+      field(user.getFirstName(), ',');
+      field(user.getLastName(), ',');
+      field(user.getEmployeeId(), ',');
+      field(user.getJobTitle(), ',');
+      field(user.getDepartment(), ',');
+      field(user.getRole(), ',');
+      field(user.getManagerId(), ',');
+      field(user.getIsActive(), '\n');
+    }
+
+    /**
+     * Write a field, quoted per RFC 4180 when it contains a delimiter,
+     * quote or line break; null is written as an empty field
+     */
+    private void field(Object value, char terminator) throws IOException {
+      if (value != null) {
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+            || text.indexOf('\r') >= 0) {
+          writer.write('"');
+          writer.write(text.replace("\"", "\"\""));
+          writer.write('"');
+        } else {
+          writer.write(text);
+        }
+      }
+      writer.write(terminator);
+    }
+
+    @Override
+    public void finish() throws IOException {
+      writer.flush();
+    }
+  }
+
+  private static final class Ndjson extends UserExportWriter {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter objectWriter;
+
+    Ndjson(Writer writer, ObjectMapper objectMapper) throws IOException {
+      this.generator = objectMapper.getFactory().createGenerator(writer)
+          .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      // Root values are separated by a space by default
+      generator.setRootValueSeparator(new SerializedString("\n"));
+      // Leave flushing to the buffered writer instead of flushing per row
+      this.objectWriter = objectMapper.writerFor(UserInfo.class)
+          .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void write(UserInfo user) throws IOException {
+      objectWriter.writeValue(generator, user);
+    }
+
+    @Override
+    public void finish() throws IOException {
+      // The separator only goes between rows; end the last line too
+      if (generator.getOutputContext().getEntryCount() > 0) {
+        generator.writeRaw('\n');
+      }
+      generator.flush();
+    }
+  }
+}
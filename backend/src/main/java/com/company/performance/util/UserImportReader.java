@@ -0,0 +1,284 @@
+package com.company.performance.util;
+
+import com.company.performance.dto.user.UserImportRow;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Streaming reader for bulk user import files: CSV with a header row, a
+ * JSON array of objects, or NDJSON (one object per line). Records are read
+ * one at a time, so memory does not grow with the file. A record that
+ * cannot be mapped comes back as a row with an error instead of aborting
+ * the file; only broken syntax that cannot be resynchronized (an
+ * unterminated JSON array) fails the whole read.
+ */
+public abstract class UserImportReader implements Closeable {
+
+  public enum Format {
+    CSV, JSON, NDJSON;
+
+    /**
+     * Format for a request content type
+     */
+    public static Format fromContentType(String contentType) {
+      String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+      if (type.startsWith("text/csv")) {
+        return CSV;
+      }
+      if (type.startsWith("application/x-ndjson")) {
+        return NDJSON;
+      }
+      if (type.startsWith("application/json")) {
+        return JSON;
+      }
+      throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+    }
+  }
+
+  /**
+   * One record: its 1-based number in the file and either the mapped row or
+   * why it could not be mapped
+   */
+  public record Row(long number, UserImportRow data, String error) {
+  }
+
+  protected long count;
+
+  /**
+   * Open a reader for the given format
+   */
+  public static UserImportReader open(Format format, Reader reader, ObjectMapper objectMapper) throws IOException {
+    BufferedReader buffered = reader instanceof BufferedReader b ? b : new BufferedReader(reader);
+    return switch (format) {
+      case CSV -> new Csv(buffered);
+      case JSON -> new JsonArray(buffered, objectMapper);
+      case NDJSON -> new Ndjson(buffered, objectMapper);
+    };
+  }
+
+  /**
+   * Next record, or null at the end of the input
+   */
+  public abstract Row next() throws IOException;
+
+  protected Row row(UserImportRow data) {
+    return new Row(++count, data, null);
+  }
+
+  protected Row error(String message) {
+    return new Row(++count, null, message);
+  }
+
+  private static final class Csv extends UserImportReader {
+
+    private static final Map<String, BiConsumer<UserImportRow, String>> COLUMNS = new HashMap<>();
+
+    static {
+      COLUMNS.put("email", UserImportRow::setEmail);
+      COLUMNS.put("password", UserImportRow::setPassword);
+      COLUMNS.put("passwordhash", UserImportRow::setPasswordHash);
+      COLUMNS.put("firstname", UserImportRow::setFirstName);
+      COLUMNS.put("lastname", UserImportRow::setLastName);
+      COLUMNS.put("employeeid", UserImportRow::setEmployeeId);
+      COLUMNS.put("phonenumber", UserImportRow::setPhoneNumber);
+      COLUMNS.put("jobtitle", UserImportRow::setJobTitle);
+      COLUMNS.put("department", UserImportRow::setDepartment);
+      COLUMNS.put("role", UserImportRow::setRole);
+      COLUMNS.put("managerid", (row, value) -> {
+        try {
+          row.setManagerId(Long.valueOf(value));
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException("Invalid managerId: " + value);
+        }
+      });
+    }
+
+    private final BufferedReader reader;
+    // Setter per column position; null for ignored columns
+    private final List<BiConsumer<UserImportRow, String>> setters = new ArrayList<>();
+
+    Csv(BufferedReader reader) throws IOException {
+      this.reader = reader;
+      List<String> header = readRecord();
+      if (header == null) {
+        throw new IllegalArgumentException("CSV file is empty");
+      }
+      boolean hasEmail = false;
+      for (String name : header) {
+        // firstName, first_name and "First Name" all map to the same field
+        String key = name.replaceAll("[^A-Za-z]", "").toLowerCase(Locale.ROOT);
+        setters.add(COLUMNS.get(key));
+        hasEmail |= key.equals("email");
+      }
+      if (!hasEmail) {
+        throw new IllegalArgumentException("CSV header must include an email column");
+      }
+    }
+
+    @Override
+    public Row next() throws IOException {
+      List<String> fields = readRecord();
+      if (fields == null) {
+        return null;
+      }
+      if (fields.size() > setters.size()) {
+        return error("Row has " + fields.size() + " columns, header has " + setters.size());
+      }
+      UserImportRow data = new UserImportRow();
+      try {
+        for (int i = 0; i < fields.size(); i++) {
+          String value = fields.get(i).trim();
+          if (setters.get(i) != null && !value.isEmpty()) {
+            setters.get(i).accept(data, value);
+          }
+        }
+      } catch (IllegalArgumentException e) {
+        return error(e.getMessage());
+      }
+      return row(data);
+    }
+
+    /**
+     * Read one RFC 4180 record (quoted fields may contain commas, doubled
+     * quotes and line breaks). Blank lines are skipped.
+     */
+    private List<String> readRecord() throws IOException {
+      List<String> fields = new ArrayList<>();
+      StringBuilder field = new StringBuilder();
+      boolean quoted = false;
+      boolean any = false;
+      int c;
+      while ((c = reader.read()) != -1) {
+        any = true;
+        if (quoted) {
+          if (c == '"') {
+            reader.mark(1);
+            if (reader.read() == '"') {
+              field.append('"');
+            } else {
+              reader.reset();
+              quoted = false;
+            }
+          } else {
+            field.append((char) c);
+          }
+        } else if (c == '"') {
+          quoted = true;
+        } else if (c == ',') {
+          fields.add(field.toString());
+          field.setLength(0);
+        } else if (c == '\n' || c == '\r') {
+          if (c == '\r') {
+            reader.mark(1);
+            if (reader.read() != '\n') {
+              reader.reset();
+            }
+          }
+          if (fields.isEmpty() && field.isEmpty()) {
+            any = false;
+            continue;
+          }
+          fields.add(field.toString());
+          return fields;
+        } else {
+          field.append((char) c);
+        }
+      }
+      if (!any) {
+        return null;
+      }
+      fields.add(field.toString());
+      return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+      reader.close();
+    }
+  }
+
+  private static final class JsonArray extends UserImportReader {
+
+    private final JsonParser parser;
+    private final ObjectMapper objectMapper;
+
+    JsonArray(BufferedReader reader, ObjectMapper objectMapper) throws IOException {
+      this.objectMapper = objectMapper;
+      this.parser = objectMapper.getFactory().createParser(reader);
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new IllegalArgumentException("JSON import must be an array of user objects");
+      }
+    }
+
+    @Override
+    public Row next() throws IOException {
+      JsonToken token = parser.nextToken();
+      if (token == null || token == JsonToken.END_ARRAY) {
+        return null;
+      }
+      if (token != JsonToken.START_OBJECT) {
+        parser.skipChildren();
+        return error("Expected a JSON object");
+      }
+      // Read the whole object first so a mapping error leaves the parser at
+      // the next element
+      JsonNode node = parser.readValueAsTree();
+      try {
+        return row(objectMapper.treeToValue(node, UserImportRow.class));
+      } catch (JsonProcessingException e) {
+        return error(e.getOriginalMessage());
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      parser.close();
+    }
+  }
+
+  private static final class Ndjson extends UserImportReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+
+    Ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+      this.reader = reader;
+      this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Row next() throws IOException {
+      String line;
+      do {
+        line = reader.readLine();
+        if (line == null) {
+          return null;
+        }
+      } while (line.isBlank());
+      try {
+        return row(objectMapper.readValue(line, UserImportRow.class));
+      } catch (JsonProcessingException e) {
+        return error(e.getOriginalMessage());
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      reader.close();
+    }
+  }
+}
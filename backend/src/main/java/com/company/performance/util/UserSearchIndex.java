@@ -0,0 +1,479 @@
+package com.company.performance.util;
+
+import com.company.performance.dto.auth.UserInfo;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory people search over name, email, employee ID, job title and
+ * department.
+ * <p>
+ * Matches are ranked by tier, then by last name, first name and ID:
+ * exact name word, name word prefix, exact email/employee ID word,
+ * email/employee ID prefix, job title/department word prefix, and finally a
+ * substring of any word (terms of three or more characters). Every word is
+ * indexed under its exact form, its one- to three-character prefixes per
+ * field group, and its trigrams. All posting lists are kept in ranking
+ * order, so a single-term query walks the tiers in order and stops as soon
+ * as the requested page is full. Multi-term queries (every term must match)
+ * intersect the terms' candidate sets and rank what remains.
+ * <p>
+ * Updating a user leaves a tombstone for the old document, and the index is
+ * compacted once tombstones exceed a quarter of the live documents. Searches
+ * share a read lock; updates take the write lock.
+ */
+public class UserSearchIndex {
+
+  private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+  private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{Alnum}]+");
+
+  // Field groups
+  private static final int NAME = 0;
+  private static final int IDENTIFIER = 1;
+  private static final int ORG = 2;
+  private static final int GROUPS = 3;
+
+  // Match tiers, best first
+  private static final int[] EXACT_TIER = { 0, 2, 4 };
+  private static final int[] PREFIX_TIER = { 1, 3, 4 };
+  private static final int SUBSTRING_TIER = 5;
+  private static final int NO_MATCH = 6;
+
+  private static final int MAX_PREFIX_KEY = 3;
+  private static final int MIN_COMPACT_TOMBSTONES = 1000;
+
+  private static final Comparator<Document> RANK = Comparator
+      .comparing(Document::rankKey)
+      .thenComparing(document -> document.user().getId());
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final List<Document> documents = new ArrayList<>();
+  private final BitSet live = new BitSet();
+  private final Map<Long, Integer> ordinals = new HashMap<>();
+  private final Map<String, IntList> postings = new HashMap<>();
+  private int tombstones;
+
+  /**
+   * Add or replace a user's document
+   */
+  public void put(UserInfo user) {
+    lock.writeLock().lock();
+    try {
+      removeDocument(user.getId());
+      addDocument(new Document(user));
+      compactIfNeeded();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Remove a user from search results
+   */
+  public void remove(Long userId) {
+    lock.writeLock().lock();
+    try {
+      removeDocument(userId);
+      compactIfNeeded();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Replace the whole index contents
+   */
+  public void replaceAll(Collection<UserInfo> users) {
+    List<Document> sorted = new ArrayList<>(users.size());
+    for (UserInfo user : users) {
+      sorted.add(new Document(user));
+    }
+    // Adding in ranking order turns every posting insert into an append
+    sorted.sort(RANK);
+
+    lock.writeLock().lock();
+    try {
+      clear();
+      sorted.forEach(this::addDocument);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Users matching every word of the query, best matches first
+   */
+  public SearchPage search(String query, int offset, int limit) {
+    String[] terms = words(normalize(query));
+    if (terms.length == 0 || limit <= 0) {
+      return new SearchPage(List.of(), false);
+    }
+
+    lock.readLock().lock();
+    try {
+      // One extra hit tells whether another page exists
+      int needed = offset + limit + 1;
+      List<Document> hits = terms.length == 1
+          ? searchTiers(terms[0], needed)
+          : searchAllTerms(terms, needed);
+
+      boolean hasMore = hits.size() == needed;
+      List<UserInfo> results = new ArrayList<>(limit);
+      for (int i = offset; i < Math.min(hits.size(), offset + limit); i++) {
+        results.add(hits.get(i).user());
+      }
+      return new SearchPage(results, hasMore);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Number of searchable users
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return ordinals.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Index size counters for monitoring
+   */
+  public Map<String, Object> getStats() {
+    lock.readLock().lock();
+    try {
+      long postingEntries = 0;
+      for (IntList posting : postings.values()) {
+        postingEntries += posting.size;
+      }
+      Map<String, Object> result = new LinkedHashMap<>();
+      result.put("documents", ordinals.size());
+      result.put("tombstones", tombstones);
+      result.put("keys", postings.size());
+      result.put("postingEntries", postingEntries);
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Walk one posting list per tier, best tier first. A document is taken
+   * only from the list of its own best tier, so it is never returned twice
+   * and every tier is already in ranking order.
+   */
+  private List<Document> searchTiers(String term, int needed) {
+    List<Document> hits = new ArrayList<>(Math.min(needed, 64));
+    for (int tier = 0; tier < NO_MATCH; tier++) {
+      IntList posting = tierPosting(term, tier);
+      if (posting == null) {
+        continue;
+      }
+      for (int i = 0; i < posting.size; i++) {
+        int ordinal = posting.values[i];
+        if (!live.get(ordinal)) {
+          continue;
+        }
+        Document document = documents.get(ordinal);
+        if (tier(document, term) == tier) {
+          hits.add(document);
+          if (hits.size() == needed) {
+            return hits;
+          }
+        }
+      }
+    }
+    return hits;
+  }
+
+  /**
+   * Intersect the candidate sets of all terms, then rank the survivors by
+   * their weakest term
+   */
+  private List<Document> searchAllTerms(String[] terms, int needed) {
+    BitSet candidates = null;
+    for (String term : terms) {
+      BitSet matches = new BitSet(documents.size());
+      for (IntList list : candidatePostings(term)) {
+        for (int i = 0; i < list.size; i++) {
+          matches.set(list.values[i]);
+        }
+      }
+      if (candidates == null) {
+        candidates = matches;
+      } else {
+        candidates.and(matches);
+      }
+      if (candidates.isEmpty()) {
+        return List.of();
+      }
+    }
+    candidates.and(live);
+
+    Comparator<Hit> order = Comparator.comparingInt(Hit::tier)
+        .thenComparing(Hit::document, RANK);
+    // Worst kept hit at the head
+    PriorityQueue<Hit> best = new PriorityQueue<>(order.reversed());
+
+    for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+      Document document = documents.get(ordinal);
+      int worst = 0;
+      for (String term : terms) {
+        worst = Math.max(worst, tier(document, term));
+        if (worst == NO_MATCH) {
+          break;
+        }
+      }
+      if (worst == NO_MATCH) {
+        continue;
+      }
+      best.offer(new Hit(worst, document));
+      if (best.size() > needed) {
+        best.poll();
+      }
+    }
+
+    List<Hit> ranked = new ArrayList<>(best);
+    ranked.sort(order);
+    return ranked.stream().map(Hit::document).toList();
+  }
+
+  /**
+   * Posting list containing every document whose best tier for the term may
+   * be the given tier (possibly more, filtered by the caller)
+   */
+  private IntList tierPosting(String term, int tier) {
+    return switch (tier) {
+      case 0 -> postings.get(exactKey(NAME, term));
+      case 1 -> prefixPosting(NAME, term);
+      case 2 -> postings.get(exactKey(IDENTIFIER, term));
+      case 3 -> prefixPosting(IDENTIFIER, term);
+      case 4 -> prefixPosting(ORG, term);
+      default -> term.length() >= 3 ? rarestTrigram(term) : null;
+    };
+  }
+
+  /**
+   * Prefix keys stop at three characters; for longer terms a trigram of the
+   * term may be far more selective, and every prefix match contains it too
+   */
+  private IntList prefixPosting(int group, String term) {
+    IntList prefix = postings.get(prefixKey(group, term));
+    if (prefix == null || term.length() <= MAX_PREFIX_KEY) {
+      return prefix;
+    }
+    IntList trigram = rarestTrigram(term);
+    return trigram == null || trigram.size < prefix.size ? trigram : prefix;
+  }
+
+  /**
+   * Posting lists that together contain every document matching the term
+   */
+  private List<IntList> candidatePostings(String term) {
+    if (term.length() >= 3) {
+      IntList trigram = rarestTrigram(term);
+      return trigram == null ? List.of() : List.of(trigram);
+    }
+    List<IntList> lists = new ArrayList<>(GROUPS);
+    for (int group = 0; group < GROUPS; group++) {
+      IntList posting = postings.get(prefixKey(group, term));
+      if (posting != null) {
+        lists.add(posting);
+      }
+    }
+    return lists;
+  }
+
+  private IntList rarestTrigram(String term) {
+    IntList rarest = null;
+    for (int i = 0; i + 3 <= term.length(); i++) {
+      IntList posting = postings.get(trigramKey(term.substring(i, i + 3)));
+      if (posting == null) {
+        return null;
+      }
+      if (rarest == null || posting.size < rarest.size) {
+        rarest = posting;
+      }
+    }
+    return rarest;
+  }
+
+  /**
+   * Best tier at which a document matches a term
+   */
+  private static int tier(Document document, String term) {
+    int best = NO_MATCH;
+    for (int group = 0; group < GROUPS; group++) {
+      for (String word : document.words()[group]) {
+        if (word.equals(term)) {
+          best = Math.min(best, EXACT_TIER[group]);
+        } else if (word.startsWith(term)) {
+          best = Math.min(best, PREFIX_TIER[group]);
+        } else if (best > SUBSTRING_TIER && term.length() >= 3 && word.contains(term)) {
+          best = SUBSTRING_TIER;
+        }
+      }
+      if (best <= EXACT_TIER[group]) {
+        break;
+      }
+    }
+    return best;
+  }
+
+  private void addDocument(Document document) {
+    Set<String> keys = new LinkedHashSet<>();
+    for (int group = 0; group < GROUPS; group++) {
+      for (String word : document.words()[group]) {
+        keys.add(exactKey(group, word));
+        for (int length = 1; length <= Math.min(MAX_PREFIX_KEY, word.length()); length++) {
+          keys.add(prefixKey(group, word.substring(0, length)));
+        }
+        for (int i = 0; i + 3 <= word.length(); i++) {
+          keys.add(trigramKey(word.substring(i, i + 3)));
+        }
+      }
+    }
+
+    int ordinal = documents.size();
+    documents.add(document);
+    live.set(ordinal);
+    ordinals.put(document.user().getId(), ordinal);
+    for (String key : keys) {
+      postings.computeIfAbsent(key, k -> new IntList()).insert(ordinal, documents);
+    }
+  }
+
+  private void removeDocument(Long userId) {
+    Integer ordinal = ordinals.remove(userId);
+    if (ordinal != null) {
+      live.clear(ordinal);
+      tombstones++;
+    }
+  }
+
+  private void compactIfNeeded() {
+    if (tombstones < MIN_COMPACT_TOMBSTONES || tombstones * 4 < ordinals.size()) {
+      return;
+    }
+    List<Document> remaining = new ArrayList<>(ordinals.size());
+    for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+      remaining.add(documents.get(ordinal));
+    }
+    remaining.sort(RANK);
+    clear();
+    remaining.forEach(this::addDocument);
+  }
+
+  private void clear() {
+    documents.clear();
+    live.clear();
+    ordinals.clear();
+    postings.clear();
+    tombstones = 0;
+  }
+
+  private static String exactKey(int group, String word) {
+    return "=" + group + word;
+  }
+
+  private static String prefixKey(int group, String term) {
+    return "^" + group + (term.length() > MAX_PREFIX_KEY ? term.substring(0, MAX_PREFIX_KEY) : term);
+  }
+
+  private static String trigramKey(String trigram) {
+    return "~" + trigram;
+  }
+
+  private static String normalize(String value) {
+    if (value == null) {
+      return "";
+    }
+    String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+    return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+  }
+
+  private static String[] words(String normalized) {
+    return Arrays.stream(WORD_SEPARATOR.split(normalized))
+        .filter(word -> !word.isEmpty())
+        .toArray(String[]::new);
+  }
+
+  private static String[] fieldWords(String... values) {
+    return Arrays.stream(values)
+        .flatMap(value -> Arrays.stream(words(normalize(value))))
+        .toArray(String[]::new);
+  }
+
+  public record SearchPage(List<UserInfo> results, boolean hasMore) {
+  }
+
+  private record Document(UserInfo user, String rankKey, String[][] words) {
+
+    Document(UserInfo user) {
+      this(user,
+          normalize(user.getLastName()) + '\u0000' + normalize(user.getFirstName()),
+          new String[][] {
+              fieldWords(user.getFirstName(), user.getLastName()),
+              fieldWords(user.getEmail(), user.getEmployeeId()),
+              fieldWords(user.getJobTitle(), user.getDepartment())
+          });
+    }
+  }
+
+  private record Hit(int tier, Document document) {
+  }
+
+  /**
+   * Growable int array of ordinals kept in ranking order, avoiding boxed
+   * postings
+   */
+  private static final class IntList {
+    private int[] values = new int[4];
+    private int size;
+
+    void insert(int ordinal, List<Document> documents) {
+      Document document = documents.get(ordinal);
+      // Appends are the common case (bulk loads arrive sorted)
+      int position = size;
+      if (size > 0 && RANK.compare(documents.get(values[size - 1]), document) > 0) {
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+          int mid = (low + high) >>> 1;
+          if (RANK.compare(documents.get(values[mid]), document) > 0) {
+            high = mid;
+          } else {
+            low = mid + 1;
+          }
+        }
+        position = low;
+      }
+
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      System.arraycopy(values, position, values, position + 1, size - position);
+      values[position] = ordinal;
+      size++;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.company.performance.util;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of a JWT whose signature and expiry have already been
+ * verified by {@link JwtUtil#verifyToken(String)}
+ */
+@Value
+public class VerifiedToken {
+
+  public static final String TYPE_ACCESS = "access";
+  public static final String TYPE_REFRESH = "refresh";
+
+  String id;
+  String subject;
+  String type;
+  Instant expiration;
+  Instant issuedAt;
+
+  // Claims carried by stateless access tokens; null on older tokens
+  Long userId;
+  String role;
+  Long tokenVersion;
+
+  /**
+   * Check if token is refresh token
+   */
+  public boolean isRefreshToken() {
+    return TYPE_REFRESH.equals(type);
+  }
+
+  /**
+   * Check if token carries the claims needed to authenticate without a
+   * user lookup
+   */
+  public boolean hasUserClaims() {
+    return userId != null && role != null && tokenVersion != null;
+  }
+
+  /**
+   * Check if token has expired relative to the given instant
+   */
+  public boolean isExpired(Instant now) {
+    return expiration.isBefore(now);
+  }
+
+  /**
+   * Check if token has expired
+   */
+  public boolean isExpired() {
+    return isExpired(Instant.now());
+  }
+}
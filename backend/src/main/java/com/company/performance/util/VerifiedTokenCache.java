@@ -0,0 +1,156 @@
+package com.company.performance.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of already-verified JWTs sitting in front of
+ * {@link JwtUtil#verifyToken(String)}. A hit skips signature verification
+ * and claim parsing; entries never outlive the token's own exp claim.
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+  private final JwtUtil jwtUtil;
+  private final boolean enabled;
+  private final Cache<String, VerifiedToken> cache;
+
+  public VerifiedTokenCache(
+      JwtUtil jwtUtil,
+      @Value("${app.jwt.cache.enabled:true}") boolean enabled,
+      @Value("${app.jwt.cache.max-size:10000}") long maxSize,
+      @Value("${app.jwt.cache.max-ttl:PT10M}") Duration maxTtl) {
+    this.jwtUtil = jwtUtil;
+    this.enabled = enabled;
+    // Size-bounded W-TinyLFU eviction; per-entry expiry is the earlier of the
+    // token's exp claim and the configured max TTL
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfter(new TokenExpiry(maxTtl))
+        .recordStats()
+        .build();
+    log.info("Verified token cache {} (maxSize={}, maxTtl={})",
+        enabled ? "enabled" : "disabled", maxSize, maxTtl);
+  }
+
+  /**
+   * Return verified token, serving from cache when possible.
+   * Throws {@link io.jsonwebtoken.JwtException} on cache miss if the token is
+   * invalid or expired.
+   */
+  public VerifiedToken verify(String token) {
+    if (!enabled) {
+      return jwtUtil.verifyToken(token);
+    }
+
+    String key = digest(token);
+    VerifiedToken cached = cache.getIfPresent(key);
+    if (cached != null) {
+      if (!cached.isExpired()) {
+        return cached;
+      }
+      cache.invalidate(key);
+    }
+
+    VerifiedToken verified = jwtUtil.verifyToken(token);
+    cache.put(key, verified);
+    return verified;
+  }
+
+  /**
+   * Drop a single token from the cache (e.g. on revocation)
+   */
+  public void invalidate(String token) {
+    cache.invalidate(digest(token));
+  }
+
+  /**
+   * Drop every cached token for a user (e.g. on password change)
+   */
+  public void invalidateSubject(String subject) {
+    cache.asMap().values().removeIf(token -> subject.equals(token.getSubject()));
+  }
+
+  /**
+   * Drop all cached tokens
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Hit/miss/eviction counters for monitoring
+   */
+  public Map<String, Object> getStats() {
+    CacheStats stats = cache.stats();
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("enabled", enabled);
+    result.put("size", cache.estimatedSize());
+    result.put("hitCount", stats.hitCount());
+    result.put("missCount", stats.missCount());
+    result.put("hitRate", stats.hitRate());
+    result.put("evictionCount", stats.evictionCount());
+    return result;
+  }
+
+  /**
+   * SHA-256 digest of the raw token so full bearer credentials are never held
+   * as map keys
+   */
+  private static String digest(String token) {
+    try {
+      MessageDigest md = MessageDigest.getInstance("SHA-256");
+      byte[] hash = md.digest(token.getBytes(StandardCharsets.US_ASCII));
+      return Base64.getEncoder().withoutPadding().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  /**
+   * Expire each entry no later than the token's own expiration
+   */
+  private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+    private final long maxTtlNanos;
+
+    TokenExpiry(Duration maxTtl) {
+      this.maxTtlNanos = maxTtl.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+      long untilExpiry = Duration.between(Instant.now(), value.getExpiration()).toNanos();
+      return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
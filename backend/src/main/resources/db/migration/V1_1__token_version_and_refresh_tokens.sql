@@ -0,0 +1,16 @@
+-- Token versions (bumped to revoke every token of a user) and single-use
+-- refresh token rotation. Existing users start at version 0, which matches
+-- the tokens they already hold.
+ALTER TABLE users ADD COLUMN token_version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE refresh_tokens (
+  id VARCHAR(36) NOT NULL,
+  user_id BIGINT NOT NULL,
+  family_id VARCHAR(36) NOT NULL,
+  expires_at DATETIME(6) NOT NULL,
+  used_at DATETIME(6),
+  replaced_by VARCHAR(36),
+  revoked BIT NOT NULL,
+  created_at DATETIME(6),
+  PRIMARY KEY (id)
+);
@@ -0,0 +1,24 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update), exactly as
+-- existing databases have it. They are baselined at this version and start
+-- from V1.1, so nothing added since belongs here.
+
+CREATE TABLE users (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  email VARCHAR(255) NOT NULL,
+  password VARCHAR(255) NOT NULL,
+  first_name VARCHAR(255) NOT NULL,
+  last_name VARCHAR(255) NOT NULL,
+  employee_id VARCHAR(255),
+  phone_number VARCHAR(255),
+  job_title VARCHAR(255),
+  department VARCHAR(255),
+  hire_date DATETIME(6),
+  role ENUM('ADMIN', 'MANAGER', 'EMPLOYEE') NOT NULL,
+  is_active BIT,
+  manager_id BIGINT,
+  created_at DATETIME(6),
+  updated_at DATETIME(6),
+  PRIMARY KEY (id),
+  CONSTRAINT uk_users_email UNIQUE (email),
+  CONSTRAINT uk_users_employee_id UNIQUE (employee_id)
+);
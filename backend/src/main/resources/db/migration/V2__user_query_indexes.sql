@@ -0,0 +1,32 @@
+-- Columns used as filter and keyset sort keys must not be NULL: a NULL
+-- sort key drops rows from cursor pages, and "is_active = true" never
+-- matches NULL. Rows written outside the application may have them unset.
+UPDATE users SET is_active = TRUE WHERE is_active IS NULL;
+UPDATE users SET created_at = COALESCE(hire_date, updated_at, CURRENT_TIMESTAMP(6)) WHERE created_at IS NULL;
+
+ALTER TABLE users MODIFY is_active BIT NOT NULL;
+ALTER TABLE users MODIFY created_at DATETIME(6) NOT NULL;
+
+-- Keyset listings read their page straight off an index whose columns are
+-- the filter followed by the sort key and id, so no page sorts the rows it
+-- matched and a deep page costs the same as the first.
+
+-- Reports of a manager (findByManagerId, findEmployeesByManager)
+CREATE INDEX idx_users_manager_created ON users (manager_id, created_at, id);
+
+-- Department listings
+CREATE INDEX idx_users_department_created ON users (department, created_at, id);
+
+-- Role listings, and active managers
+CREATE INDEX idx_users_role_created ON users (role, created_at, id);
+CREATE INDEX idx_users_role_active_created ON users (role, is_active, created_at, id);
+
+-- Active user listings in keyset order (created_at, id) and (last_name, id);
+-- the first also streams the active-user export
+CREATE INDEX idx_users_active_created ON users (is_active, created_at, id);
+CREATE INDEX idx_users_active_last_name ON users (is_active, last_name, id);
+
+-- Refresh token family revocation, revoke-all per user and expiry purge
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_user_revoked ON refresh_tokens (user_id, revoked);
+CREATE INDEX idx_refresh_tokens_expires ON refresh_tokens (expires_at);
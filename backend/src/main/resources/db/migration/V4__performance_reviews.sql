@@ -0,0 +1,43 @@
+-- Performance reviews. department is the employee's department when the
+-- review was created, so rollups don't move when people change teams.
+CREATE TABLE performance_reviews (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  employee_id BIGINT NOT NULL,
+  reviewer_id BIGINT NOT NULL,
+  department VARCHAR(255),
+  review_period VARCHAR(50) NOT NULL,
+  overall_rating INT NOT NULL,
+  comments VARCHAR(1000),
+  status VARCHAR(20) NOT NULL,
+  version BIGINT NOT NULL,
+  submitted_at DATETIME(6),
+  decided_at DATETIME(6),
+  created_at DATETIME(6) NOT NULL,
+  updated_at DATETIME(6),
+  PRIMARY KEY (id)
+);
+
+-- An employee's reviews, newest first
+CREATE INDEX idx_reviews_employee_created ON performance_reviews (employee_id, created_at);
+
+-- A reviewer's queue by status
+CREATE INDEX idx_reviews_reviewer_status ON performance_reviews (reviewer_id, status, created_at);
+
+-- Running rating aggregates of approved reviews, one row per employee,
+-- reviewing manager and department. Updated in the approving transaction
+-- with additive upserts, so stats reads are a primary-key lookup.
+CREATE TABLE rating_aggregates (
+  scope VARCHAR(20) NOT NULL,
+  scope_key VARCHAR(255) NOT NULL,
+  review_count BIGINT NOT NULL,
+  rating_sum BIGINT NOT NULL,
+  rating_sum_squares BIGINT NOT NULL,
+  min_rating INT NOT NULL,
+  max_rating INT NOT NULL,
+  excellent_count BIGINT NOT NULL,
+  good_count BIGINT NOT NULL,
+  satisfactory_count BIGINT NOT NULL,
+  needs_improvement_count BIGINT NOT NULL,
+  updated_at DATETIME(6) NOT NULL,
+  PRIMARY KEY (scope, scope_key)
+);
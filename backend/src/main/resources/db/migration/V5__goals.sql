@@ -0,0 +1,36 @@
+-- Employee goals. department is the employee's department when the goal
+-- was created, like performance_reviews.department.
+CREATE TABLE goals (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  employee_id BIGINT NOT NULL,
+  department VARCHAR(255),
+  title VARCHAR(200) NOT NULL,
+  description VARCHAR(1000),
+  status VARCHAR(20) NOT NULL,
+  due_date DATE NOT NULL,
+  completed_at DATETIME(6),
+  version BIGINT NOT NULL,
+  created_at DATETIME(6) NOT NULL,
+  updated_at DATETIME(6),
+  PRIMARY KEY (id)
+);
+
+-- Overdue sweep: open goals of one status past their due date, read in
+-- (due_date, id) keyset order so each batch is a short index range
+CREATE INDEX idx_goals_status_due ON goals (status, due_date, id);
+
+-- Goal counts per department and status for the department stats rebuild
+CREATE INDEX idx_goals_department_status ON goals (department, status);
+
+-- Status transitions of goals, appended in the transaction that makes them
+CREATE TABLE goal_events (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  goal_id BIGINT NOT NULL,
+  event_type VARCHAR(50) NOT NULL,
+  from_status VARCHAR(20),
+  to_status VARCHAR(20) NOT NULL,
+  occurred_at DATETIME(6) NOT NULL,
+  PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_goal_events_goal ON goal_events (goal_id, occurred_at);
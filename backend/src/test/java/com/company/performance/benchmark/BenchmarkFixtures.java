@@ -0,0 +1,85 @@
+package com.company.performance.benchmark;
+
+import com.company.performance.dto.auth.UserInfo;
+import com.company.performance.entity.User;
+import com.company.performance.util.JwtUtil;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Shared setup for benchmarks that exercise beans outside a Spring context
+ */
+final class BenchmarkFixtures {
+
+  // 512-bit key, as required for HS512
+  static final String JWT_SECRET = Base64.getEncoder().encodeToString(new byte[64]);
+
+  private static final String[] FIRST_NAMES = {
+      "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William", "Elizabeth",
+      "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+      "Jose", "Zoe", "Renee", "Bjorn", "Chloe", "Mateo", "Aisha", "Wei", "Priya", "Olga" };
+  private static final String[] LAST_NAMES = {
+      "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+      "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+      "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+      "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores" };
+  private static final String[] DEPARTMENTS = {
+      "Engineering", "Sales", "Marketing", "Finance", "HR", "IT", "Operations", "Legal", "Support", "Product" };
+  private static final String[] JOB_TITLES = {
+      "Software Engineer", "Senior Software Engineer", "Account Executive", "Marketing Specialist",
+      "Financial Analyst", "HR Generalist", "Systems Administrator", "Operations Manager", "Counsel",
+      "Support Engineer", "Product Manager", "Engineering Manager" };
+
+  private BenchmarkFixtures() {
+    // Prevent instantiation
+  }
+
+  static JwtUtil jwtUtil() {
+    JwtUtil jwtUtil = new JwtUtil();
+    ReflectionTestUtils.setField(jwtUtil, "jwtSecret", JWT_SECRET);
+    ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 86_400_000L);
+    ReflectionTestUtils.setField(jwtUtil, "refreshExpirationMs", 604_800_000L);
+    return jwtUtil;
+  }
+
+  static User user() {
+    User user = new User();
+    user.setId(42L);
+    user.setEmail("john.doe@company.com");
+    user.setPassword("unused");
+    user.setFirstName("John");
+    user.setLastName("Doe");
+    user.setRole(User.Role.EMPLOYEE);
+    user.setIsActive(true);
+    user.setTokenVersion(0L);
+    return user;
+  }
+
+  /**
+   * Deterministic synthetic directory of active users
+   */
+  static List<UserInfo> directory(int size) {
+    Random random = new Random(42);
+    List<UserInfo> users = new ArrayList<>(size);
+    for (int i = 1; i <= size; i++) {
+      String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+      String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+      users.add(new UserInfo(
+          (long) i,
+          firstName.toLowerCase() + "." + lastName.toLowerCase() + i + "@company.com",
+          firstName,
+          lastName,
+          String.format("EMP%06d", i),
+          JOB_TITLES[random.nextInt(JOB_TITLES.length)],
+          DEPARTMENTS[random.nextInt(DEPARTMENTS.length)],
+          "EMPLOYEE",
+          null,
+          true));
+    }
+    return users;
+  }
+}
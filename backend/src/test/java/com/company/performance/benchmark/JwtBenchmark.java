@@ -0,0 +1,72 @@
+package com.company.performance.benchmark;
+
+import com.company.performance.entity.User;
+import com.company.performance.util.JwtUtil;
+import com.company.performance.util.VerifiedToken;
+import com.company.performance.util.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation, verification (single and multi-threaded, with and
+ * without the verified-token cache) and bearer header extraction
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+  private JwtUtil jwtUtil;
+  private VerifiedTokenCache tokenCache;
+  private User user;
+  private String token;
+  private MockHttpServletRequest request;
+
+  @Setup
+  public void setup() {
+    jwtUtil = BenchmarkFixtures.jwtUtil();
+    tokenCache = new VerifiedTokenCache(jwtUtil, true, 10_000, Duration.ofMinutes(10));
+    user = BenchmarkFixtures.user();
+    token = jwtUtil.generateToken(user);
+    request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer " + token);
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return jwtUtil.generateToken(user);
+  }
+
+  @Benchmark
+  public VerifiedToken verifyToken() {
+    return jwtUtil.verifyToken(token);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public VerifiedToken verifyTokenConcurrent() {
+    return jwtUtil.verifyToken(token);
+  }
+
+  @Benchmark
+  public VerifiedToken verifyTokenCached() {
+    return tokenCache.verify(token);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public VerifiedToken verifyTokenCachedConcurrent() {
+    return tokenCache.verify(token);
+  }
+
+  @Benchmark
+  public String getTokenFromRequest() {
+    return jwtUtil.getTokenFromRequest(request);
+  }
+}
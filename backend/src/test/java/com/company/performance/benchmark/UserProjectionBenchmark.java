@@ -0,0 +1,148 @@
+package com.company.performance.benchmark;
+
+import com.company.performance.PerformanceApplication;
+import com.company.performance.dto.auth.UserInfo;
+import com.company.performance.entity.User;
+import com.company.performance.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths that materialize managed User entities and copy them into
+ * UserInfo, against JPQL constructor projections straight into UserInfo, on
+ * an embedded database. Run with -prof gc (the default jmh.args) to compare
+ * allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class UserProjectionBenchmark {
+
+  @Param({ "10000", "100000" })
+  private int rows;
+
+  private ConfigurableApplicationContext context;
+  private UserRepository userRepository;
+  private TransactionTemplate transactionTemplate;
+  private TransactionTemplate readOnlyTransactionTemplate;
+
+  @Setup
+  public void setup() {
+    context = new SpringApplicationBuilder(PerformanceApplication.class)
+        .web(WebApplicationType.NONE)
+        .profiles("loadtest")
+        .properties(
+            "spring.datasource.url=jdbc:h2:mem:projection" + rows + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "logging.level.root=WARN")
+        .run();
+    userRepository = context.getBean(UserRepository.class);
+    PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+    readOnlyTransactionTemplate.setReadOnly(true);
+    seed(context.getBean(JdbcTemplate.class));
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  /**
+   * All users as managed entities in a read-write transaction, then mapped
+   */
+  @Benchmark
+  public List<UserInfo> listEntities() {
+    return transactionTemplate.execute(status -> userRepository.findAll().stream()
+        .map(UserProjectionBenchmark::toUserInfo)
+        .toList());
+  }
+
+  /**
+   * All users as entities in a read-only transaction (no dirty-check
+   * snapshots), then mapped
+   */
+  @Benchmark
+  public List<UserInfo> listEntitiesReadOnly() {
+    return readOnlyTransactionTemplate.execute(status -> userRepository.findAll().stream()
+        .map(UserProjectionBenchmark::toUserInfo)
+        .toList());
+  }
+
+  /**
+   * All users projected straight into UserInfo
+   */
+  @Benchmark
+  public List<UserInfo> listProjection() {
+    return userRepository.findAllUserInfo();
+  }
+
+  /**
+   * Current-user lookup through the entity
+   */
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public UserInfo currentUserEntity() {
+    String email = email(ThreadLocalRandom.current().nextInt(rows));
+    return transactionTemplate.execute(status -> userRepository.findByEmail(email)
+        .map(UserProjectionBenchmark::toUserInfo)
+        .orElseThrow());
+  }
+
+  /**
+   * Current-user lookup through the projection
+   */
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public UserInfo currentUserProjection() {
+    String email = email(ThreadLocalRandom.current().nextInt(rows));
+    return userRepository.findUserInfoByEmail(email).orElseThrow();
+  }
+
+  private void seed(JdbcTemplate jdbcTemplate) {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    List<Object[]> batch = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      batch.add(new Object[] { email(i), "$2a$04$unusedunusedunusedunuseOunusedunusedunusedunusedunused",
+          "First" + i, "Last" + i, "EMP" + i, "Engineer", "IT", "EMPLOYEE", true, 0L, now, now, now });
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO users (email, password, first_name, last_name, employee_id, job_title, department, " +
+            "role, is_active, token_version, hire_date, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+        batch);
+  }
+
+  private static String email(int index) {
+    return "user" + index + "@company.com";
+  }
+
+  private static UserInfo toUserInfo(User user) {
+    return new UserInfo(
+        user.getId(),
+        user.getEmail(),
+        user.getFirstName(),
+        user.getLastName(),
+        user.getEmployeeId(),
+        user.getJobTitle(),
+        user.getDepartment(),
+        user.getRole().name(),
+        user.getManagerId(),
+        user.getIsActive());
+  }
+}
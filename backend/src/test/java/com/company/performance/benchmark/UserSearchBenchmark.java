@@ -0,0 +1,38 @@
+package com.company.performance.benchmark;
+
+import com.company.performance.util.UserSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead queries against the in-memory people search index, from a
+ * single keystroke (largest candidate set) to a selective full name
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserSearchBenchmark {
+
+  @Param({ "10000", "100000" })
+  private int users;
+
+  @Param({ "j", "jo", "smi", "john smith", "engineer", "emp004217" })
+  private String query;
+
+  private UserSearchIndex index;
+
+  @Setup
+  public void setup() {
+    index = new UserSearchIndex();
+    index.replaceAll(BenchmarkFixtures.directory(users));
+  }
+
+  @Benchmark
+  public UserSearchIndex.SearchPage search() {
+    return index.search(query, 0, 10);
+  }
+}
@@ -0,0 +1,149 @@
+package com.company.performance.benchmark;
+
+import com.company.performance.util.ValidationUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every ValidationUtils validator on representative valid input
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationUtilsBenchmark {
+
+  private String email = "john.doe@company.com";
+  private String password = "Secret123!";
+  private String employeeId = "EMP001";
+  private String phoneNumber = "+14155550123";
+  private String name = "Mary-Jane O'Neil";
+  private String text = "  Delivered the quarterly roadmap ahead of schedule  ";
+  private Integer rating = 4;
+  private LocalDate startDate = LocalDate.now().minusDays(30);
+  private LocalDate endDate = LocalDate.now().plusDays(30);
+  private String role = "manager";
+  private String reviewStatus = "submitted";
+  private String goalStatus = "in_progress";
+  private String priority = "high";
+  private String fileName = "review-notes.pdf";
+  private long fileSize = 1024 * 1024;
+  private String unsafeInput = "  <b>Great</b>   \"work\" & more  ";
+  private Double percentage = 75.5;
+  private LocalDateTime dateTime = LocalDateTime.now().plusDays(1);
+
+  @Benchmark
+  public boolean isValidEmail() {
+    return ValidationUtils.isValidEmail(email);
+  }
+
+  @Benchmark
+  public boolean isValidPassword() {
+    return ValidationUtils.isValidPassword(password);
+  }
+
+  @Benchmark
+  public boolean isValidEmployeeId() {
+    return ValidationUtils.isValidEmployeeId(employeeId);
+  }
+
+  @Benchmark
+  public boolean isValidPhoneNumber() {
+    return ValidationUtils.isValidPhoneNumber(phoneNumber);
+  }
+
+  @Benchmark
+  public boolean isValidName() {
+    return ValidationUtils.isValidName(name);
+  }
+
+  @Benchmark
+  public boolean isValidTextLength() {
+    return ValidationUtils.isValidTextLength(text, 10, 500);
+  }
+
+  @Benchmark
+  public boolean isValidRating() {
+    return ValidationUtils.isValidRating(rating);
+  }
+
+  @Benchmark
+  public boolean isValidDateRange() {
+    return ValidationUtils.isValidDateRange(startDate, endDate);
+  }
+
+  @Benchmark
+  public boolean isValidDateRangeWithCurrent() {
+    return ValidationUtils.isValidDateRangeWithCurrent(startDate, endDate);
+  }
+
+  @Benchmark
+  public boolean isValidRole() {
+    return ValidationUtils.isValidRole(role);
+  }
+
+  @Benchmark
+  public boolean isValidReviewStatus() {
+    return ValidationUtils.isValidReviewStatus(reviewStatus);
+  }
+
+  @Benchmark
+  public boolean isValidGoalStatus() {
+    return ValidationUtils.isValidGoalStatus(goalStatus);
+  }
+
+  @Benchmark
+  public boolean isValidPriority() {
+    return ValidationUtils.isValidPriority(priority);
+  }
+
+  @Benchmark
+  public boolean isValidFileExtension() {
+    return ValidationUtils.isValidFileExtension(fileName);
+  }
+
+  @Benchmark
+  public String getFileExtension() {
+    return ValidationUtils.getFileExtension(fileName);
+  }
+
+  @Benchmark
+  public boolean isValidFileSize() {
+    return ValidationUtils.isValidFileSize(fileSize);
+  }
+
+  @Benchmark
+  public String sanitizeInput() {
+    return ValidationUtils.sanitizeInput(unsafeInput);
+  }
+
+  @Benchmark
+  public boolean isValidPercentage() {
+    return ValidationUtils.isValidPercentage(percentage);
+  }
+
+  @Benchmark
+  public boolean isFutureDate() {
+    return ValidationUtils.isFutureDate(endDate);
+  }
+
+  @Benchmark
+  public boolean isFutureDateTime() {
+    return ValidationUtils.isFutureDateTime(dateTime);
+  }
+
+  @Benchmark
+  public boolean isBusinessEmail() {
+    return ValidationUtils.isBusinessEmail(email);
+  }
+
+  @Benchmark
+  public int getPasswordStrength() {
+    return ValidationUtils.getPasswordStrength(password);
+  }
+}
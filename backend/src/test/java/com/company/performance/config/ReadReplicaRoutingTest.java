@@ -0,0 +1,139 @@
+package com.company.performance.config;
+
+import com.company.performance.entity.User;
+import com.company.performance.repository.UserRepository;
+import com.company.performance.service.CustomUserDetailsService;
+import com.company.performance.util.ReadReplicaDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Read/write routing against two embedded databases: a primary and a
+ * "replica" migrated separately, holding the same user under different
+ * names so each read shows which database answered it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "app.datasource.replica.lag-query=SELECT lag_seconds FROM replica_lag",
+    "app.datasource.replica.max-lag=PT5S",
+    // Health is checked explicitly by the tests
+    "app.datasource.replica.health-check-ms=3600000",
+    // The databases disagree on purpose, which a shared entity cache would hide
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReadReplicaRoutingTest {
+
+  private static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+  private static final String EMAIL = "routing.user@company.com";
+
+  private static JdbcTemplate replica;
+
+  @Autowired
+  private CustomUserDetailsService userDetailsService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private ReadReplicaDataSource readReplicaDataSource;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  /**
+   * Migrate the replica before the context starts (the application reads
+   * from it while loading its indexes); IFEXISTS lets the test take it down
+   */
+  @DynamicPropertySource
+  static void replicaProperties(DynamicPropertyRegistry registry) {
+    Flyway.configure()
+        .dataSource(REPLICA_URL, "sa", "")
+        .locations("classpath:db/migration", "classpath:db/vendor/h2")
+        .load()
+        .migrate();
+    replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    replica.execute("CREATE TABLE replica_lag (lag_seconds BIGINT)");
+    replica.update("INSERT INTO replica_lag VALUES (0)");
+    registry.add("app.datasource.replica.urls", () -> REPLICA_URL + ";IFEXISTS=TRUE");
+  }
+
+  @BeforeAll
+  void seed() {
+    insertUser(jdbcTemplate, "Primary");
+    insertUser(replica, "Replica");
+    readReplicaDataSource.checkHealth();
+  }
+
+  @Test
+  @Order(1)
+  void readOnlyTransactionsUseTheReplica() {
+    assertEquals("Replica", userDetailsService.getUserByEmail(EMAIL).getFirstName());
+    // User repository queries outside a transaction run read-only too
+    assertEquals("Replica", userRepository.findByEmail(EMAIL).map(User::getFirstName).orElseThrow());
+  }
+
+  @Test
+  @Order(2)
+  void readWriteTransactionsUseThePrimary() {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    assertEquals("Primary", transaction.execute(status ->
+        userRepository.findByEmail(EMAIL).map(User::getFirstName).orElseThrow()));
+    // Read-only work joining a read-write transaction stays on its connection
+    assertEquals("Primary", transaction.execute(status ->
+        userDetailsService.getUserByEmail(EMAIL).getFirstName()));
+  }
+
+  @Test
+  @Order(3)
+  void laggingReplicaFallsBackToThePrimary() {
+    replica.update("UPDATE replica_lag SET lag_seconds = 60");
+    readReplicaDataSource.checkHealth();
+    assertEquals("Primary", userDetailsService.getUserByEmail(EMAIL).getFirstName());
+
+    replica.update("UPDATE replica_lag SET lag_seconds = 1");
+    readReplicaDataSource.checkHealth();
+    assertEquals("Replica", userDetailsService.getUserByEmail(EMAIL).getFirstName());
+  }
+
+  @Test
+  @Order(4)
+  void unreachableReplicaFallsBackToThePrimary() {
+    replica.execute("SHUTDOWN");
+    readReplicaDataSource.checkHealth();
+    assertEquals("Primary", userDetailsService.getUserByEmail(EMAIL).getFirstName());
+  }
+
+  private static void insertUser(JdbcTemplate jdbc, String firstName) {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    jdbc.update(
+        "INSERT INTO users (id, email, password, first_name, last_name, role, is_active, token_version, " +
+            "hire_date, created_at, updated_at) VALUES (1000000, ?, 'unused', ?, 'Routing', 'EMPLOYEE', TRUE, 0, ?, ?, ?)",
+        EMAIL, firstName, now, now, now);
+  }
+}
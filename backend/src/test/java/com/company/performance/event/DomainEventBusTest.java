@@ -0,0 +1,140 @@
+package com.company.performance.event;
+
+import com.company.performance.util.MpscRingBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Delivery through the per-subscriber ring buffers: every event from many
+ * publishing threads arrives exactly once and in batches, subscribers only
+ * see their event type, and a full buffer is handled by the subscriber's
+ * backpressure policy.
+ */
+class DomainEventBusTest {
+
+  private DomainEventBus bus;
+
+  @AfterEach
+  void shutdown() {
+    if (bus != null) {
+      bus.shutdown();
+    }
+  }
+
+  @Test
+  void deliversEveryEventFromConcurrentPublishersInBatches() throws Exception {
+    bus = new DomainEventBus(1024, Duration.ofSeconds(5));
+    List<Long> received = Collections.synchronizedList(new ArrayList<>());
+    List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    bus.subscribe("logins", DomainEvent.UserLogin.class, BackpressurePolicy.BLOCK, 64, batch -> {
+      batchSizes.add(batch.size());
+      batch.forEach(event -> received.add(event.userId()));
+    });
+    List<String> logouts = Collections.synchronizedList(new ArrayList<>());
+    bus.subscribe("logouts", DomainEvent.UserLogout.class, BackpressurePolicy.DROP, 64,
+        batch -> batch.forEach(event -> logouts.add(event.email())));
+
+    int threads = 8;
+    int perThread = 5000;
+    ExecutorService publishers = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    for (int t = 0; t < threads; t++) {
+      long base = (long) t * perThread;
+      publishers.submit(() -> {
+        start.await();
+        for (int i = 0; i < perThread; i++) {
+          bus.publish(new DomainEvent.UserLogin(base + i, "user@company.com", Instant.now()));
+        }
+        return null;
+      });
+    }
+    start.countDown();
+    publishers.shutdown();
+    assertTrue(publishers.awaitTermination(30, TimeUnit.SECONDS));
+    bus.publish(new DomainEvent.UserLogout("user@company.com", Instant.now()));
+    assertTrue(bus.awaitDrained(Duration.ofSeconds(10)));
+
+    assertEquals(threads * perThread, received.size());
+    Set<Long> distinct = new HashSet<>(received);
+    assertEquals(threads * perThread, distinct.size());
+    assertTrue(batchSizes.stream().allMatch(size -> size <= 64));
+    assertEquals(List.of("user@company.com"), logouts);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void fullBufferFollowsTheSubscribersPolicy() throws Exception {
+    bus = new DomainEventBus(4, Duration.ofMillis(10));
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch blocked = new CountDownLatch(2);
+    // Both consumers stall on their first batch, so their buffers fill up
+    bus.subscribe("dropping", DomainEvent.UserLogin.class, BackpressurePolicy.DROP, 1, batch -> {
+      blocked.countDown();
+      await(release);
+    });
+    List<Long> inline = Collections.synchronizedList(new ArrayList<>());
+    bus.subscribe("inline", DomainEvent.UserLogin.class, BackpressurePolicy.CALLER_RUNS, 1, batch -> {
+      if (Thread.currentThread().getName().startsWith("events-")) {
+        blocked.countDown();
+        await(release);
+      } else {
+        batch.forEach(event -> inline.add(event.userId()));
+      }
+    });
+
+    bus.publish(new DomainEvent.UserLogin(0L, "user@company.com", Instant.now()));
+    assertTrue(blocked.await(5, TimeUnit.SECONDS));
+    for (long i = 1; i <= 10; i++) {
+      bus.publish(new DomainEvent.UserLogin(i, "user@company.com", Instant.now()));
+    }
+    release.countDown();
+    assertTrue(bus.awaitDrained(Duration.ofSeconds(5)));
+
+    Map<String, Object> subscribers = (Map<String, Object>) bus.getStats().get("subscribers");
+    Map<String, Object> dropping = (Map<String, Object>) subscribers.get("dropping");
+    Map<String, Object> caller = (Map<String, Object>) subscribers.get("inline");
+    // One in the handler, four buffered, the rest dropped
+    assertEquals(6L, dropping.get("dropped"));
+    assertEquals(5L, dropping.get("handled"));
+    assertEquals(6L, caller.get("callerRuns"));
+    assertEquals(List.of(5L, 6L, 7L, 8L, 9L, 10L), inline);
+  }
+
+  @Test
+  void singleSlotBuffersAreRefused() {
+    assertThrows(IllegalArgumentException.class, () -> new DomainEventBus(1, Duration.ofMillis(10)));
+    assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<String>(1));
+
+    // The smallest buffer refuses a third element rather than overwrite one
+    MpscRingBuffer<String> buffer = new MpscRingBuffer<>(MpscRingBuffer.MIN_CAPACITY);
+    assertTrue(buffer.offer("first"));
+    assertTrue(buffer.offer("second"));
+    assertFalse(buffer.offer("third"));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
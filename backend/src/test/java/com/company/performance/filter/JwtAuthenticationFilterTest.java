@@ -0,0 +1,87 @@
+package com.company.performance.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Refresh tokens are not bearer credentials: neither a live nor a rotated
+ * refresh token authenticates an API request, only the access token does.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:jwtfilter;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class JwtAuthenticationFilterTest {
+
+  private static final String EMAIL = "filter.user@company.com";
+  private static final String PASSWORD = "password123";
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeAll
+  void seed() {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    jdbcTemplate.update(
+        "INSERT INTO users (email, password, first_name, last_name, employee_id, role, is_active, " +
+            "token_version, hire_date, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+        EMAIL, new BCryptPasswordEncoder(4).encode(PASSWORD), "Filter", "User", "FILTER1", "EMPLOYEE", true, 0L,
+        now, now, now);
+  }
+
+  @Test
+  void rejectsRotatedRefreshTokenAsBearer() throws Exception {
+    JsonNode login = data(mockMvc.perform(post("/api/auth/login")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString());
+    String refreshToken = login.get("refreshToken").asText();
+
+    me(refreshToken).andExpect(status().isUnauthorized());
+
+    JsonNode refreshed = data(mockMvc.perform(post("/api/auth/refresh")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString());
+
+    // The used-up token stays rejected; its replacement is no bearer either
+    me(refreshToken).andExpect(status().isUnauthorized());
+    me(refreshed.get("refreshToken").asText()).andExpect(status().isUnauthorized());
+    me(refreshed.get("accessToken").asText()).andExpect(status().isOk());
+  }
+
+  private ResultActions me(String token) throws Exception {
+    return mockMvc.perform(get("/api/auth/me").header("Authorization", "Bearer " + token));
+  }
+
+  private JsonNode data(String body) throws Exception {
+    return objectMapper.readTree(body).get("data");
+  }
+}
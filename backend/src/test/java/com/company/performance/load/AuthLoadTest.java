@@ -0,0 +1,205 @@
+package com.company.performance.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test of the authentication API through the full filter
+ * chain on an embedded database. Latency percentiles and throughput are
+ * compared against the committed budgets in load-budgets.properties.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AuthLoadTest {
+
+  private static final String PASSWORD = "password123";
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Value("${loadtest.users}")
+  private int userCount;
+
+  @Value("${loadtest.warmup}")
+  private Duration warmup;
+
+  @Value("${loadtest.duration}")
+  private Duration duration;
+
+  @Value("${loadtest.login.rate}")
+  private double loginRate;
+
+  @Value("${loadtest.refresh.rate}")
+  private double refreshRate;
+
+  @Value("${loadtest.me.rate}")
+  private double meRate;
+
+  private HttpClient httpClient;
+  private Properties budgets;
+  private final List<String> accessTokens = new ArrayList<>();
+  private final ConcurrentLinkedQueue<String> refreshTokens = new ConcurrentLinkedQueue<>();
+
+  @BeforeAll
+  void setUp() throws Exception {
+    httpClient = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+    budgets = PropertiesLoaderUtils.loadProperties(new ClassPathResource("load-budgets.properties"));
+    seedUsers();
+
+    // Token pools for the me and refresh scenarios; refresh tokens are single
+    // use, so each refresh returns its replacement to the pool
+    int sessions = (int) Math.ceil(refreshRate * (warmup.toSeconds() + duration.toSeconds()) + refreshRate);
+    for (int i = 0; i < Math.max(sessions, 100); i++) {
+      JsonNode data = login(email(i % userCount));
+      accessTokens.add(data.get("accessToken").asText());
+      refreshTokens.add(data.get("refreshToken").asText());
+    }
+  }
+
+  @Test
+  void authApiMeetsLatencyBudgets() {
+    List<LoadDriver.Result> results = List.of(
+        measure("login", loginRate, this::loginRequest),
+        measure("refresh", refreshRate, this::refreshRequest),
+        measure("me", meRate, this::meRequest));
+
+    results.forEach(result -> log.info("[load] {}", result.summary()));
+    results.forEach(this::assertWithinBudget);
+  }
+
+  private LoadDriver.Result measure(String name, double rate, java.util.concurrent.Callable<Integer> request) {
+    LoadDriver.run(name, rate, warmup, request);
+    return LoadDriver.run(name, rate, duration, request);
+  }
+
+  private void assertWithinBudget(LoadDriver.Result result) {
+    String name = result.name();
+    double threshold = Double.parseDouble(budgets.getProperty("regression-threshold"));
+    double p50Budget = Double.parseDouble(budgets.getProperty(name + ".p50-ms"));
+    double p99Budget = Double.parseDouble(budgets.getProperty(name + ".p99-ms"));
+    double minThroughput = Double.parseDouble(budgets.getProperty(name + ".min-throughput"));
+
+    assertEquals(0, result.errors(), name + ": requests failed");
+    assertTrue(result.percentileMs(50) <= p50Budget * (1 + threshold),
+        String.format("%s: p50 %.2fms exceeds budget %.2fms", name, result.percentileMs(50), p50Budget));
+    assertTrue(result.percentileMs(99) <= p99Budget * (1 + threshold),
+        String.format("%s: p99 %.2fms exceeds budget %.2fms", name, result.percentileMs(99), p99Budget));
+    assertTrue(result.throughput() >= minThroughput * (1 - threshold),
+        String.format("%s: throughput %.1f/s below budget %.1f/s", name, result.throughput(), minThroughput));
+  }
+
+  private int loginRequest() throws IOException, InterruptedException {
+    String email = email(ThreadLocalRandom.current().nextInt(userCount));
+    return post("/api/auth/login", loginBody(email), null).statusCode();
+  }
+
+  private int refreshRequest() throws IOException, InterruptedException {
+    String refreshToken = refreshTokens.poll();
+    if (refreshToken == null) {
+      throw new IllegalStateException("Refresh token pool exhausted");
+    }
+    HttpResponse<String> response = post("/api/auth/refresh",
+        "{\"refreshToken\":\"" + refreshToken + "\"}", null);
+    if (response.statusCode() == 200) {
+      refreshTokens.add(objectMapper.readTree(response.body()).get("data").get("refreshToken").asText());
+    }
+    return response.statusCode();
+  }
+
+  private int meRequest() throws IOException, InterruptedException {
+    String accessToken = accessTokens.get(ThreadLocalRandom.current().nextInt(accessTokens.size()));
+    HttpRequest request = HttpRequest.newBuilder(uri("/api/auth/me"))
+        .header("Authorization", "Bearer " + accessToken)
+        .GET()
+        .build();
+    return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+
+  private JsonNode login(String email) throws IOException, InterruptedException {
+    HttpResponse<String> response = post("/api/auth/login", loginBody(email), null);
+    assertEquals(200, response.statusCode(), "login failed: " + response.body());
+    return objectMapper.readTree(response.body()).get("data");
+  }
+
+  private HttpResponse<String> post(String path, String body, String accessToken)
+      throws IOException, InterruptedException {
+    HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(body));
+    if (accessToken != null) {
+      builder.header("Authorization", "Bearer " + accessToken);
+    }
+    return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + port + path);
+  }
+
+  private static String loginBody(String email) {
+    return "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}";
+  }
+
+  private static String email(int index) {
+    return "load.user" + index + "@company.com";
+  }
+
+  /**
+   * Seed users in one JDBC batch, sharing a single password hash
+   */
+  private void seedUsers() {
+    String hash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    List<Object[]> rows = new ArrayList<>(userCount);
+    for (int i = 0; i < userCount; i++) {
+      rows.add(new Object[] { email(i), hash, "Load", "User", "LOAD" + i, "EMPLOYEE", true, 0L, now, now, now });
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO users (email, password, first_name, last_name, employee_id, role, is_active, " +
+            "token_version, hire_date, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+        rows);
+  }
+}
@@ -0,0 +1,83 @@
+package com.company.performance.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: issues requests at a fixed target rate, one
+ * virtual thread per request, and records latency from each request's
+ * intended start time so a stalled server cannot hide queueing delay
+ * (coordinated omission).
+ */
+final class LoadDriver {
+
+  private static final long MAX_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+  private LoadDriver() {
+    // Prevent instantiation
+  }
+
+  /**
+   * Run request at ratePerSecond for the given duration. The callable
+   * returns the HTTP status code; anything >= 400 counts as an error.
+   */
+  static Result run(String name, double ratePerSecond, Duration duration, Callable<Integer> request) {
+    Histogram histogram = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+    LongAdder errors = new LongAdder();
+    long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+    long total = (long) (ratePerSecond * duration.toMillis() / 1000.0);
+
+    long start = System.nanoTime();
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (long i = 0; i < total; i++) {
+        long intendedStart = start + i * intervalNanos;
+        long wait = intendedStart - System.nanoTime();
+        if (wait > 0) {
+          LockSupport.parkNanos(wait);
+        }
+
+        clients.submit(() -> {
+          try {
+            if (request.call() >= 400) {
+              errors.increment();
+            }
+          } catch (Exception e) {
+            errors.increment();
+          } finally {
+            histogram.recordValue(Math.min(System.nanoTime() - intendedStart, MAX_TRACKABLE_NANOS));
+          }
+        });
+      }
+    }
+    long elapsedNanos = System.nanoTime() - start;
+
+    return new Result(name, histogram, errors.sum(), total * 1e9 / elapsedNanos);
+  }
+
+  record Result(String name, Histogram histogram, long errors, double throughput) {
+
+    double percentileMs(double percentile) {
+      return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    long count() {
+      return histogram.getTotalCount();
+    }
+
+    String summary() {
+      return String.format(
+          "%-8s n=%d errors=%d throughput=%.1f/s p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+          name, count(), errors, throughput,
+          percentileMs(50), percentileMs(90), percentileMs(99), percentileMs(99.9),
+          histogram.getMaxValue() / 1_000_000.0);
+    }
+  }
+}
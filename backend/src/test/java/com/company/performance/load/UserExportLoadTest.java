@@ -0,0 +1,199 @@
+package com.company.performance.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end user directory export through the admin API on an embedded
+ * database: CSV and gzipped NDJSON over a large directory, read back as a
+ * stream and checked row by row and against the rows-per-second budget in
+ * load-budgets.properties.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserExportLoadTest {
+
+  private static final String ADMIN_EMAIL = "export.admin@company.com";
+  private static final String PASSWORD = "password123";
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  @Qualifier("exportDataSource")
+  private HikariDataSource exportDataSource;
+
+  @Value("${loadtest.export.rows}")
+  private int rows;
+
+  private HttpClient httpClient;
+  private Properties budgets;
+  private String adminToken;
+  private int activeUsers;
+
+  @BeforeAll
+  void setUp() throws Exception {
+    httpClient = HttpClient.newHttpClient();
+    budgets = PropertiesLoaderUtils.loadProperties(new ClassPathResource("load-budgets.properties"));
+
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    jdbcTemplate.update(
+        "INSERT INTO users (email, password, first_name, last_name, role, is_active, token_version, " +
+            "hire_date, created_at, updated_at) VALUES (?, ?, 'Export', 'Admin', 'ADMIN', TRUE, 0, ?, ?, ?)",
+        ADMIN_EMAIL, new BCryptPasswordEncoder(4).encode(PASSWORD), now, now, now);
+
+    // Every tenth user is inactive; last names need CSV quoting
+    List<Object[]> users = new ArrayList<>(rows);
+    activeUsers = 1;
+    for (int i = 1; i <= rows; i++) {
+      boolean active = i % 10 != 0;
+      activeUsers += active ? 1 : 0;
+      users.add(new Object[] { "exported" + i + "@company.com", "unused", "Exported",
+          "User, \"" + i + "\"", "EXP" + i, "Dept" + (i % 20), active, now, now, now });
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO users (email, password, first_name, last_name, employee_id, department, role, " +
+            "is_active, token_version, hire_date, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 'EMPLOYEE', ?, 0, ?, ?, ?)",
+        users);
+
+    HttpResponse<String> login = httpClient.send(HttpRequest.newBuilder(uri("/api/auth/login"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(
+            "{\"email\":\"" + ADMIN_EMAIL + "\",\"password\":\"" + PASSWORD + "\"}"))
+        .build(), HttpResponse.BodyHandlers.ofString());
+    assertEquals(200, login.statusCode(), login.body());
+    adminToken = objectMapper.readTree(login.body()).get("data").get("accessToken").asText();
+  }
+
+  @Test
+  void csvExportMeetsThroughputBudget() throws Exception {
+    long start = System.nanoTime();
+    HttpResponse<InputStream> response = export("/api/admin/users/export?format=csv", false);
+    assertEquals(200, response.statusCode());
+    assertEquals("attachment; filename=\"users.csv\"",
+        response.headers().firstValue("Content-Disposition").orElse(null));
+
+    long count = 0;
+    try (BufferedReader reader = reader(response)) {
+      assertEquals("id,email,firstName,lastName,employeeId,jobTitle,department,role,managerId,isActive",
+          reader.readLine());
+      String line;
+      while ((line = reader.readLine()) != null) {
+        count++;
+        if (line.contains("exported1@company.com")) {
+          assertTrue(line.endsWith(",exported1@company.com,Exported,\"User, \"\"1\"\"\",EXP1,,Dept1,EMPLOYEE,,true"),
+              line);
+        }
+        assertTrue(line.endsWith(",true"), "inactive user exported: " + line);
+      }
+    }
+    double rowsPerSecond = count * 1_000_000_000.0 / (System.nanoTime() - start);
+    log.info("[export] csv rows={} rows/s={}", count, Math.round(rowsPerSecond));
+    assertEquals(activeUsers, count);
+    // Streamed on the export pool, not the shared one
+    assertTrue(exportDataSource.getHikariPoolMXBean().getTotalConnections() > 0);
+
+    double threshold = Double.parseDouble(budgets.getProperty("regression-threshold"));
+    double minRowsPerSecond = Double.parseDouble(budgets.getProperty("export.min-rows-per-second"));
+    assertTrue(rowsPerSecond >= minRowsPerSecond * (1 - threshold),
+        String.format("export: %.0f rows/s below budget %.0f rows/s", rowsPerSecond, minRowsPerSecond));
+  }
+
+  @Test
+  void gzipNdjsonExportIncludesInactiveUsers() throws Exception {
+    HttpResponse<InputStream> response =
+        export("/api/admin/users/export?format=ndjson&includeInactive=true", true);
+    assertEquals(200, response.statusCode());
+    assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+
+    long count = 0;
+    long inactive = 0;
+    long previousId = 0;
+    try (BufferedReader reader = reader(response)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        JsonNode user = objectMapper.readTree(line);
+        assertTrue(user.get("id").asLong() > previousId, "not in id order: " + line);
+        previousId = user.get("id").asLong();
+        count++;
+        inactive += user.get("isActive").asBoolean() ? 0 : 1;
+      }
+    }
+    assertEquals(rows + 1, count);
+    assertEquals(rows + 1 - activeUsers, inactive);
+  }
+
+  @Test
+  void rejectsUnknownFormat() throws Exception {
+    HttpResponse<InputStream> response = export("/api/admin/users/export?format=xml", false);
+    assertEquals(400, response.statusCode());
+    response.body().close();
+  }
+
+  private HttpResponse<InputStream> export(String path, boolean gzip) throws IOException, InterruptedException {
+    HttpRequest.Builder request = HttpRequest.newBuilder(uri(path))
+        .header("Authorization", "Bearer " + adminToken)
+        .GET();
+    if (gzip) {
+      request.header("Accept-Encoding", "gzip");
+    }
+    return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+  }
+
+  private static BufferedReader reader(HttpResponse<InputStream> response) throws IOException {
+    InputStream body = response.body();
+    if ("gzip".equals(response.headers().firstValue("Content-Encoding").orElse(null))) {
+      body = new GZIPInputStream(body);
+    }
+    return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + port + path);
+  }
+}
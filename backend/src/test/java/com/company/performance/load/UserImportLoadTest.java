@@ -0,0 +1,211 @@
+package com.company.performance.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end bulk import through the admin API on an embedded database:
+ * a large CSV with a sprinkling of bad rows, checked for per-row errors and
+ * against the rows-per-second budget in load-budgets.properties, and a
+ * small NDJSON file covering the other row kinds.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserImportLoadTest {
+
+  private static final String ADMIN_EMAIL = "import.admin@company.com";
+  private static final String PASSWORD = "password123";
+  private static final Duration IMPORT_TIMEOUT = Duration.ofMinutes(5);
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Value("${loadtest.import.rows}")
+  private int rows;
+
+  private HttpClient httpClient;
+  private Properties budgets;
+  private String adminToken;
+  private long adminId;
+
+  @BeforeAll
+  void setUp() throws Exception {
+    httpClient = HttpClient.newHttpClient();
+    budgets = PropertiesLoaderUtils.loadProperties(new ClassPathResource("load-budgets.properties"));
+
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    jdbcTemplate.update(
+        "INSERT INTO users (email, password, first_name, last_name, role, is_active, token_version, " +
+            "hire_date, created_at, updated_at) VALUES (?, ?, 'Import', 'Admin', 'ADMIN', TRUE, 0, ?, ?, ?)",
+        ADMIN_EMAIL, new BCryptPasswordEncoder(4).encode(PASSWORD), now, now, now);
+    adminId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, ADMIN_EMAIL);
+    adminToken = login(ADMIN_EMAIL, PASSWORD).get("data").get("accessToken").asText();
+  }
+
+  @Test
+  void csvImportMeetsThroughputBudget() throws Exception {
+    StringBuilder csv = new StringBuilder("email,password,first_name,last_name,employee_id,department,manager_id\n");
+    List<Long> badRows = new ArrayList<>();
+    for (int i = 1; i <= rows; i++) {
+      String email = "imported" + i + "@company.com";
+      String managerId = String.valueOf(adminId);
+      if (i % 1000 == 1) {
+        email = "not-an-email";
+        badRows.add((long) i);
+      } else if (i % 1000 == 500) {
+        // Repeats the previous row's email
+        email = "imported" + (i - 1) + "@company.com";
+        badRows.add((long) i);
+      } else if (i % 1000 == 3) {
+        managerId = "999999999";
+        badRows.add((long) i);
+      }
+      csv.append(email).append(',').append(PASSWORD).append(",Imported,\"User, ").append(i).append("\",IMP")
+          .append(i).append(",Dept").append(i % 20).append(',').append(managerId).append('\n');
+    }
+
+    JsonNode status = runImport("text/csv", csv.toString());
+    double rowsPerSecond = status.get("rowsPerSecond").asDouble();
+    log.info("[import] csv rows={} imported={} failed={} rows/s={}",
+        rows, status.get("imported").asLong(), status.get("failed").asLong(), Math.round(rowsPerSecond));
+
+    assertEquals("COMPLETED", status.get("status").asText(), status.toString());
+    assertEquals(rows - badRows.size(), status.get("imported").asLong());
+    assertEquals(badRows.size(), status.get("failed").asLong());
+    List<Long> errorRows = new ArrayList<>();
+    status.get("errors").forEach(error -> errorRows.add(error.get("row").asLong()));
+    // Reported in the order the checks reject them within a batch
+    errorRows.sort(null);
+    assertEquals(badRows, errorRows);
+    assertEquals(rows - badRows.size(), jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM users WHERE email LIKE 'imported%'", Long.class));
+
+    double threshold = Double.parseDouble(budgets.getProperty("regression-threshold"));
+    double minRowsPerSecond = Double.parseDouble(budgets.getProperty("import.min-rows-per-second"));
+    assertTrue(rowsPerSecond >= minRowsPerSecond * (1 - threshold),
+        String.format("import: %.0f rows/s below budget %.0f rows/s", rowsPerSecond, minRowsPerSecond));
+  }
+
+  @Test
+  void ndjsonImportReportsRowErrors() throws Exception {
+    String preHashed = new BCryptPasswordEncoder(10).encode("hashed-Password-1");
+    String ndjson = String.join("\n",
+        "{\"email\":\"nd.plain@company.com\",\"password\":\"plain-Password-1\",\"firstName\":\"Nadia\","
+            + "\"lastName\":\"Ndjsonplain\",\"role\":\"manager\"}",
+        "{\"email\":\"nd.hashed@company.com\",\"passwordHash\":\"" + preHashed + "\",\"firstName\":\"Hal\","
+            + "\"lastName\":\"Ndjsonhashed\"}",
+        "{\"email\":\"nd.broken@company.com\",",
+        "{\"email\":\"nd.noname@company.com\",\"password\":\"plain-Password-1\"}",
+        "{\"email\":\"" + ADMIN_EMAIL + "\",\"password\":\"plain-Password-1\",\"firstName\":\"A\",\"lastName\":\"B\"}",
+        "{\"email\":\"nd.weak@company.com\",\"passwordHash\":\"" + new BCryptPasswordEncoder(4).encode("x")
+            + "\",\"firstName\":\"W\",\"lastName\":\"Weak\"}",
+        "");
+
+    JsonNode status = runImport("application/x-ndjson", ndjson);
+
+    assertEquals("COMPLETED", status.get("status").asText(), status.toString());
+    assertEquals(6, status.get("rowsRead").asLong());
+    assertEquals(2, status.get("imported").asLong());
+    assertEquals(4, status.get("failed").asLong());
+    JsonNode errors = status.get("errors");
+    assertEquals(3, errors.get(0).get("row").asLong());
+    assertEquals(4, errors.get(1).get("row").asLong());
+    // Row checks come before the duplicate check against existing users
+    assertEquals(6, errors.get(2).get("row").asLong());
+    assertTrue(errors.get(2).get("message").asText().startsWith("passwordHash must be a BCrypt hash"));
+    assertEquals(5, errors.get(3).get("row").asLong());
+    assertEquals("Email is already in use", errors.get(3).get("message").asText());
+
+    // Both password kinds can log in, and the search index was rebuilt
+    assertEquals("MANAGER", login("nd.plain@company.com", "plain-Password-1")
+        .get("data").get("user").get("role").asText());
+    login("nd.hashed@company.com", "hashed-Password-1");
+    JsonNode search = get("/api/users/search?q=ndjsonhashed");
+    assertEquals(1, search.get("data").get("results").size());
+  }
+
+  private JsonNode runImport(String contentType, String body) throws Exception {
+    HttpRequest request = HttpRequest.newBuilder(uri("/api/admin/users/import"))
+        .header("Authorization", "Bearer " + adminToken)
+        .header("Content-Type", contentType)
+        .POST(HttpRequest.BodyPublishers.ofString(body))
+        .build();
+    HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    assertEquals(202, response.statusCode(), response.body());
+    String jobId = objectMapper.readTree(response.body()).get("data").get("jobId").asText();
+
+    long deadline = System.nanoTime() + IMPORT_TIMEOUT.toNanos();
+    while (System.nanoTime() < deadline) {
+      JsonNode status = get("/api/admin/users/import/" + jobId).get("data");
+      String state = status.get("status").asText();
+      if (state.equals("COMPLETED") || state.equals("FAILED")) {
+        return status;
+      }
+      Thread.sleep(200);
+    }
+    throw new AssertionError("import " + jobId + " did not finish within " + IMPORT_TIMEOUT);
+  }
+
+  private JsonNode get(String path) throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(uri(path))
+        .header("Authorization", "Bearer " + adminToken)
+        .GET()
+        .build();
+    HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    assertEquals(200, response.statusCode(), response.body());
+    return objectMapper.readTree(response.body());
+  }
+
+  private JsonNode login(String email, String password) throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(uri("/api/auth/login"))
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(
+            "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+        .build();
+    HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    assertEquals(200, response.statusCode(), "login failed: " + response.body());
+    return objectMapper.readTree(response.body());
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + port + path);
+  }
+}
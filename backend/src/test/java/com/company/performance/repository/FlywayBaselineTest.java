@@ -0,0 +1,77 @@
+package com.company.performance.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A database created by ddl-auto=update before the migrations existed is
+ * baselined at V1 (as spring.flyway.baseline-on-migrate does) and must then
+ * migrate to the current schema, keeping its rows.
+ */
+class FlywayBaselineTest {
+
+  // The users table as Hibernate generated it, with its generated constraint names
+  private static final String PRE_MIGRATION_SCHEMA =
+      "CREATE TABLE users (" +
+          "id BIGINT NOT NULL AUTO_INCREMENT, " +
+          "email VARCHAR(255) NOT NULL, " +
+          "password VARCHAR(255) NOT NULL, " +
+          "first_name VARCHAR(255) NOT NULL, " +
+          "last_name VARCHAR(255) NOT NULL, " +
+          "employee_id VARCHAR(255), " +
+          "phone_number VARCHAR(255), " +
+          "job_title VARCHAR(255), " +
+          "department VARCHAR(255), " +
+          "hire_date DATETIME(6), " +
+          "role ENUM('ADMIN', 'MANAGER', 'EMPLOYEE') NOT NULL, " +
+          "is_active BIT, " +
+          "manager_id BIGINT, " +
+          "created_at DATETIME(6), " +
+          "updated_at DATETIME(6), " +
+          "PRIMARY KEY (id), " +
+          "CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email), " +
+          "CONSTRAINT UKlkgyy9w3npbhmk5s6e3jmhxwq UNIQUE (employee_id))";
+
+  @Test
+  void preMigrationDatabaseIsBaselinedAndMigrated() {
+    DriverManagerDataSource dataSource = new DriverManagerDataSource(
+        "jdbc:h2:mem:baseline;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute(PRE_MIGRATION_SCHEMA);
+    jdbcTemplate.update("INSERT INTO users (email, password, first_name, last_name, role, is_active, created_at) " +
+        "VALUES ('old.admin@company.com', 'x', 'Old', 'Admin', 'ADMIN', TRUE, CURRENT_TIMESTAMP(6))");
+    // Rows written outside the application may leave these unset
+    jdbcTemplate.update("INSERT INTO users (email, password, first_name, last_name, role, hire_date) " +
+        "VALUES ('old.user@company.com', 'x', 'Old', 'User', 'EMPLOYEE', CURRENT_TIMESTAMP(6))");
+
+    MigrateResult result = Flyway.configure()
+        .dataSource(dataSource)
+        .locations("classpath:db/migration", "classpath:db/vendor/h2")
+        .baselineOnMigrate(true)
+        .baselineVersion("1")
+        .load()
+        .migrate();
+
+    assertTrue(result.success);
+    assertEquals("1", result.initialSchemaVersion);
+    assertEquals("5", result.targetSchemaVersion);
+    assertEquals("1.1", result.migrations.get(0).version);
+
+    List<Long> tokenVersions = jdbcTemplate.queryForList("SELECT token_version FROM users", Long.class);
+    assertEquals(List.of(0L, 0L), tokenVersions);
+    assertEquals(0, jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM users WHERE is_active IS NULL OR created_at IS NULL", Integer.class));
+    assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM refresh_tokens", Integer.class));
+    // New ids continue above the existing rows
+    long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+    assertTrue(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR users_seq", Long.class) > maxId);
+  }
+}
@@ -0,0 +1,378 @@
+package com.company.performance.repository;
+
+import com.company.performance.entity.RatingAggregate;
+import com.company.performance.entity.User;
+import com.company.performance.util.AppConstants;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every repository query against the migrated schema on the embedded
+ * database, captures the SQL Hibernate actually issues and checks its
+ * EXPLAIN plan uses the expected index, and that an ORDER BY is answered by
+ * reading that index in order rather than by sorting the matched rows.
+ * Queries that read a whole table by design (index reloads, admin
+ * listings) are listed with the access path they get, so a change in it
+ * shows up here too.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:queryplan;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.company.performance.repository.RepositoryQueryPlanTest$CapturingInspector"
+})
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanTest {
+
+  private static final String TABLE_SCAN = "tableScan";
+  private static final Pattern PLAN_INDEX = Pattern.compile("/\\* PUBLIC\\.(\\w+)");
+  private static final Pattern WHERE = Pattern.compile(" where (.*?)(?: order by | group by |$)");
+  private static final Pattern ORDER_BY = Pattern.compile(" order by (.*?)(?: fetch | for update|$)");
+  private static final Pattern NESTED = Pattern.compile("\\([^()]*\\)");
+  private static final int USERS = 5000;
+  private static final int MANAGERS = 100;
+  private static final int DEPARTMENTS = 25;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private RefreshTokenRepository refreshTokenRepository;
+
+  @Autowired
+  private PerformanceReviewRepository performanceReviewRepository;
+
+  @Autowired
+  private RatingAggregateRepository ratingAggregateRepository;
+
+  @Autowired
+  private GoalRepository goalRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @BeforeAll
+  void seed() {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    List<Object[]> users = new ArrayList<>(USERS);
+    for (int i = 0; i < USERS; i++) {
+      String role = i < MANAGERS ? "MANAGER" : i < MANAGERS + 10 ? "ADMIN" : "EMPLOYEE";
+      Long managerId = i < MANAGERS ? null : (long) (i % MANAGERS + 1);
+      Timestamp createdAt = Timestamp.valueOf(now.toLocalDateTime().minusMinutes(i));
+      users.add(new Object[] { "plan.user" + i + "@company.com", "unused", "First" + i, "Last" + i,
+          "PLAN" + i, "Dept" + (i % DEPARTMENTS), role, i % 20 != 0, managerId, 0L, now, createdAt, now });
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO users (email, password, first_name, last_name, employee_id, department, role, " +
+            "is_active, manager_id, token_version, hire_date, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+        users);
+
+    List<Object[]> tokens = new ArrayList<>(USERS);
+    for (int i = 0; i < USERS; i++) {
+      tokens.add(new Object[] { "token-" + i, (long) (i + 1), "family-" + (i / 4),
+          Timestamp.valueOf(now.toLocalDateTime().plusDays(i % 7)), false, now });
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO refresh_tokens (id, user_id, family_id, expires_at, revoked, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)",
+        tokens);
+
+    List<Object[]> reviews = new ArrayList<>(USERS);
+    for (int i = 0; i < USERS; i++) {
+      String status = AppConstants.ReviewStatus.ALL_STATUSES.get(i % AppConstants.ReviewStatus.ALL_STATUSES.size());
+      reviews.add(new Object[] { (long) (i % USERS + 1), (long) (i % MANAGERS + 1), "Dept" + (i % DEPARTMENTS),
+          "2026-H1", i % 5 + 1, status, 0L, now });
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO performance_reviews (employee_id, reviewer_id, department, review_period, " +
+            "overall_rating, status, version, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+        reviews);
+
+    List<Object[]> goals = new ArrayList<>(USERS);
+    for (int i = 0; i < USERS; i++) {
+      String status = AppConstants.GoalStatus.ALL_STATUSES.get(i % AppConstants.GoalStatus.ALL_STATUSES.size());
+      goals.add(new Object[] { (long) (i % USERS + 1), "Dept" + (i % DEPARTMENTS), "Goal " + i, status,
+          Date.valueOf(LocalDate.now().plusDays(i % 90 - 45)), 0L, now });
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO goals (employee_id, department, title, status, due_date, version, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)",
+        goals);
+
+    // Column selectivity drives the embedded database's index choice
+    jdbcTemplate.execute("ANALYZE");
+  }
+
+  Stream<Arguments> queries() {
+    Sort byCreatedAt = Sort.by("createdAt").and(Sort.by("id"));
+    Sort byLastName = Sort.by("lastName").and(Sort.by("id"));
+    ScrollPosition afterCreatedAt = ScrollPosition.forward(Map.of("createdAt", LocalDateTime.now(), "id", 100L));
+    ScrollPosition afterLastName = ScrollPosition.forward(Map.of("lastName", "Last500", "id", 500L));
+    Limit page = Limit.of(20);
+
+    return Stream.of(
+        query("findByEmail", "UK_USERS_EMAIL",
+            () -> userRepository.findByEmail("plan.user42@company.com")),
+        query("existsByEmail", "UK_USERS_EMAIL",
+            () -> userRepository.existsByEmail("plan.user42@company.com")),
+        query("existsByEmailAndIsActiveTrue", "UK_USERS_EMAIL",
+            () -> userRepository.existsByEmailAndIsActiveTrue("plan.user42@company.com")),
+        query("findIdByEmail", "UK_USERS_EMAIL",
+            () -> userRepository.findIdByEmail("plan.user42@company.com")),
+        query("findUserInfoByEmail", "UK_USERS_EMAIL",
+            () -> userRepository.findUserInfoByEmail("plan.user42@company.com")),
+        query("findByEmployeeId", "UK_USERS_EMPLOYEE_ID",
+            () -> userRepository.findByEmployeeId("PLAN42")),
+        query("existsByEmployeeId", "UK_USERS_EMPLOYEE_ID",
+            () -> userRepository.existsByEmployeeId("PLAN42")),
+        query("findExistingEmails", "UK_USERS_EMAIL",
+            () -> userRepository.findExistingEmails(List.of("plan.user1@company.com", "plan.user2@company.com"))),
+        query("findExistingEmployeeIds", "UK_USERS_EMPLOYEE_ID",
+            () -> userRepository.findExistingEmployeeIds(List.of("PLAN1", "PLAN2"))),
+        query("findActiveIds", "PRIMARY_KEY",
+            () -> userRepository.findActiveIds(List.of(1L, 2L, 3L))),
+        query("findUserInfoByIdIn", "PRIMARY_KEY",
+            () -> userRepository.findUserInfoByIdIn(List.of(1L, 2L, 3L))),
+        query("findByRole", "IDX_USERS_ROLE_CREATED",
+            () -> userRepository.findByRole(User.Role.MANAGER)),
+        query("findAllActiveManagers", "IDX_USERS_ROLE_ACTIVE_CREATED",
+            () -> userRepository.findAllActiveManagers()),
+        query("findByDepartment", "IDX_USERS_DEPARTMENT_CREATED",
+            () -> userRepository.findByDepartment("Dept3")),
+        query("findByManagerId", "IDX_USERS_MANAGER_CREATED",
+            () -> userRepository.findByManagerId(7L)),
+        query("findEmployeesByManager", "IDX_USERS_MANAGER_CREATED",
+            () -> userRepository.findEmployeesByManager(7L)),
+        query("findByIsActiveTrue keyset by createdAt", "IDX_USERS_ACTIVE_CREATED",
+            () -> userRepository.findByIsActiveTrue(afterCreatedAt, byCreatedAt, page)),
+        // The embedded database only credits an index for ORDER BY when the sort
+        // columns lead it, so it cannot tell the two is_active indexes apart
+        // here; MySQL takes (is_active, last_name, id) to skip the filesort,
+        // and the order is checked against that index
+        query("findByIsActiveTrue keyset by lastName", "IDX_USERS_ACTIVE_", "IDX_USERS_ACTIVE_LAST_NAME",
+            () -> userRepository.findByIsActiveTrue(afterLastName, byLastName, page)),
+        query("findByRole keyset", "IDX_USERS_ROLE_CREATED",
+            () -> userRepository.findByRole(User.Role.MANAGER, afterCreatedAt, byCreatedAt, page)),
+        query("findByDepartment keyset", "IDX_USERS_DEPARTMENT_CREATED",
+            () -> userRepository.findByDepartment("Dept3", afterCreatedAt, byCreatedAt, page)),
+        query("findByManagerId keyset", "IDX_USERS_MANAGER_CREATED",
+            () -> userRepository.findByManagerId(7L, afterCreatedAt, byCreatedAt, page)),
+        query("findByRoleAndIsActiveTrue keyset", "IDX_USERS_ROLE_ACTIVE_CREATED",
+            () -> userRepository.findByRoleAndIsActiveTrue(User.Role.MANAGER, afterCreatedAt, byCreatedAt, page)),
+        query("findByIdForUpdate", "PRIMARY_KEY",
+            () -> refreshTokenRepository.findByIdForUpdate("token-42")),
+        query("revokeFamily", "IDX_REFRESH_TOKENS_FAMILY",
+            () -> refreshTokenRepository.revokeFamily("family-42")),
+        query("revokeAllForUser", "IDX_REFRESH_TOKENS_USER_REVOKED",
+            () -> refreshTokenRepository.revokeAllForUser(42L)),
+        query("findByEmployeeIdOrderByCreatedAtDesc", "IDX_REVIEWS_EMPLOYEE_CREATED",
+            () -> performanceReviewRepository.findByEmployeeIdOrderByCreatedAtDesc(42L)),
+        query("findByReviewerIdAndStatusOrderByCreatedAtDesc", "IDX_REVIEWS_REVIEWER_STATUS",
+            () -> performanceReviewRepository.findByReviewerIdAndStatusOrderByCreatedAtDesc(7L,
+                AppConstants.ReviewStatus.SUBMITTED)),
+        query("rating aggregate findById", "PRIMARY_KEY",
+            () -> ratingAggregateRepository.findById(new RatingAggregate.Key(RatingAggregate.DEPARTMENT, "Dept3"))),
+        query("rating aggregate findByScope", "PRIMARY_KEY",
+            () -> ratingAggregateRepository.findByScope(RatingAggregate.DEPARTMENT)),
+        query("findDueForUpdate", "IDX_GOALS_STATUS_DUE",
+            () -> goalRepository.findDueForUpdate(AppConstants.GoalStatus.IN_PROGRESS, LocalDate.now(),
+                LocalDate.now().minusDays(30), 100L, page)),
+        query("goal updateStatus", "PRIMARY_KEY",
+            () -> goalRepository.updateStatus(List.of(1L, 2L, 3L), AppConstants.GoalStatus.IN_PROGRESS,
+                AppConstants.GoalStatus.OVERDUE, LocalDateTime.now())),
+        query("goal countByStatus", "IDX_GOALS_DEPARTMENT_STATUS",
+            () -> goalRepository.countByStatus("Dept3")),
+        query("deleteExpired", "IDX_REFRESH_TOKENS_EXPIRES",
+            () -> refreshTokenRepository.deleteExpired(LocalDateTime.now().minusDays(1))),
+
+        // Whole-table reads by design (index reloads, admin listing)
+        query("findAllUserInfo", TABLE_SCAN, () -> userRepository.findAllUserInfo()),
+        query("findActiveUserInfo", "IDX_USERS_ACTIVE_CREATED", () -> userRepository.findActiveUserInfo()),
+        query("findByIsActiveTrue", "IDX_USERS_ACTIVE_CREATED", () -> userRepository.findByIsActiveTrue()),
+        query("findHierarchyRows", TABLE_SCAN, () -> userRepository.findHierarchyRows()),
+        query("findNonDefaultTokenStates", TABLE_SCAN, () -> userRepository.findNonDefaultTokenStates()),
+        // Export streams: the full one reads the primary key in order, the
+        // active one the (is_active, created_at, id) index
+        query("streamAllUserInfo", "PRIMARY_KEY", () -> userRepository.streamAllUserInfo().close()),
+        query("streamActiveUserInfo", "IDX_USERS_ACTIVE_CREATED",
+            () -> userRepository.streamActiveUserInfo().close()));
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("queries")
+  void queryUsesExpectedAccessPath(Runnable query, String expectedAccess, String orderIndex) {
+    List<String> statements = capture(query);
+    assertFalse(statements.isEmpty(), "no SQL was issued");
+
+    for (String sql : statements) {
+      String plan = explain(sql);
+      assertTrue(plan.toUpperCase(Locale.ROOT).contains(expectedAccess.toUpperCase(Locale.ROOT)),
+          "expected " + expectedAccess + " in plan:\n" + plan);
+      assertNoSort(sql, plan, orderIndex);
+    }
+  }
+
+  /**
+   * An ORDER BY must come straight from the index being read: after the
+   * index columns the WHERE clause pins with top-level equalities, its next
+   * columns are the sort columns. Otherwise MySQL reads and sorts every
+   * matching row before returning the first (a filesort), so a page or a
+   * stream costs as much as the whole result.
+   */
+  private void assertNoSort(String sql, String plan, String orderIndex) {
+    String lower = sql.toLowerCase(Locale.ROOT);
+    Matcher orderBy = ORDER_BY.matcher(lower);
+    if (!orderBy.find() || plan.contains("/* index sorted */")) {
+      return;
+    }
+    String index = orderIndex;
+    if (index == null) {
+      Matcher chosen = PLAN_INDEX.matcher(plan);
+      assertTrue(chosen.find(), "no index in plan:\n" + plan);
+      index = chosen.group(1);
+    }
+
+    List<String> sortColumns = new ArrayList<>();
+    Set<String> directions = new HashSet<>();
+    for (String term : orderBy.group(1).split(",")) {
+      String[] parts = term.trim().split("\\s+");
+      sortColumns.add(column(parts[0]));
+      directions.add(parts.length > 1 ? parts[1] : "asc");
+    }
+    assertEquals(1, directions.size(), "mixed sort directions need a sort: " + sql);
+
+    Set<String> pinned = pinnedColumns(lower);
+    List<String> indexColumns = jdbcTemplate.queryForList(
+        "SELECT LOWER(COLUMN_NAME) FROM INFORMATION_SCHEMA.INDEX_COLUMNS WHERE INDEX_NAME = ? " +
+            "ORDER BY ORDINAL_POSITION", String.class, index);
+    assertFalse(indexColumns.isEmpty(), "unknown index " + index);
+
+    int position = 0;
+    for (String column : sortColumns) {
+      while (position < indexColumns.size() && !indexColumns.get(position).equals(column)
+          && pinned.contains(indexColumns.get(position))) {
+        position++;
+      }
+      if (position < indexColumns.size() && indexColumns.get(position).equals(column)) {
+        position++;
+      } else {
+        assertTrue(pinned.contains(column), "ORDER BY " + sortColumns + " needs a sort on " + index + " "
+            + indexColumns + " with " + pinned + " fixed:\n" + sql);
+      }
+    }
+  }
+
+  /**
+   * Columns fixed to one value by the top-level conjuncts of the WHERE
+   * clause ("col = ?", or a bare boolean column); conditions inside
+   * parentheses (IN lists, the keyset OR) pin nothing
+   */
+  private static Set<String> pinnedColumns(String sql) {
+    Matcher where = WHERE.matcher(sql);
+    Set<String> pinned = new HashSet<>();
+    if (!where.find()) {
+      return pinned;
+    }
+    String condition = where.group(1);
+    for (String previous = null; !condition.equals(previous); ) {
+      previous = condition;
+      condition = NESTED.matcher(condition).replaceAll("");
+    }
+    Arrays.stream(condition.split(" and ")).map(String::trim).forEach(term -> {
+      if (term.matches("[\\w.]+")) {
+        pinned.add(column(term));
+      } else if (term.matches("[\\w.]+=[^=<>]+")) {
+        pinned.add(column(term.substring(0, term.indexOf('='))));
+      }
+    });
+    return pinned;
+  }
+
+  // "u1_0.created_at" -> "created_at"
+  private static String column(String qualified) {
+    return qualified.substring(qualified.indexOf('.') + 1);
+  }
+
+  /**
+   * Run the query in a rolled-back transaction and return the statements it
+   * issued
+   */
+  private List<String> capture(Runnable query) {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    CapturingInspector.STATEMENTS.clear();
+    transaction.executeWithoutResult(status -> {
+      query.run();
+      status.setRollbackOnly();
+    });
+    return List.copyOf(CapturingInspector.STATEMENTS);
+  }
+
+  /**
+   * EXPLAIN a captured statement; bind parameters are left unset, which the
+   * embedded database accepts for planning
+   */
+  private String explain(String sql) {
+    return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+  }
+
+  private static Arguments query(String name, String expectedAccess, Runnable query) {
+    return query(name, expectedAccess, null, query);
+  }
+
+  // orderIndex: index the ORDER BY is checked against, when not the one in the plan
+  private static Arguments query(String name, String expectedAccess, String orderIndex, Runnable query) {
+    return Arguments.of(Named.of(name, query), expectedAccess, orderIndex);
+  }
+
+  /**
+   * Records the SQL of every statement Hibernate prepares
+   */
+  public static class CapturingInspector implements StatementInspector {
+
+    static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+      STATEMENTS.add(sql);
+      return sql;
+    }
+  }
+}
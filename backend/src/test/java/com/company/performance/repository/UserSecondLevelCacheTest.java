@@ -0,0 +1,120 @@
+package com.company.performance.repository;
+
+import com.company.performance.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Second-level cache behaviour of the User lookups: repeat lookups are
+ * served from the natural-id, entity and query cache regions, and writes
+ * through UserRepository.save are visible to the next lookup.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:l2cache;MODE=MySQL;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserSecondLevelCacheTest {
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private Statistics statistics;
+  private TransactionTemplate transaction;
+
+  @BeforeAll
+  void seed() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    transaction = new TransactionTemplate(transactionManager);
+    userRepository.save(user("cache.employee@company.com", "CACHE1", User.Role.EMPLOYEE));
+    userRepository.save(user("cache.manager@company.com", "CACHE2", User.Role.MANAGER));
+  }
+
+  @BeforeEach
+  void clearStatistics() {
+    statistics.clear();
+  }
+
+  @Test
+  void emailLookupsHitTheNaturalIdAndEntityRegions() {
+    userRepository.findByEmail("cache.employee@company.com").orElseThrow();
+    long statements = statistics.getPrepareStatementCount();
+    User user = userRepository.findByEmail("cache.employee@company.com").orElseThrow();
+
+    assertEquals("cache.employee@company.com", user.getEmail());
+    assertEquals(statements, statistics.getPrepareStatementCount(), "repeat lookup went to the database");
+    assertTrue(statistics.getNaturalIdCacheHitCount() >= 1);
+    assertTrue(statistics.getSecondLevelCacheHitCount() >= 1);
+  }
+
+  @Test
+  void savesAreVisibleToCachedLookups() {
+    User user = userRepository.findByEmail("cache.employee@company.com").orElseThrow();
+    user.setJobTitle("Updated title");
+    userRepository.save(user);
+
+    assertEquals("Updated title",
+        userRepository.findByEmail("cache.employee@company.com").orElseThrow().getJobTitle());
+    assertEquals("Updated title", userRepository.findByEmployeeId("CACHE1").orElseThrow().getJobTitle());
+    assertEquals("Updated title", transaction.execute(status ->
+        userRepository.findById(user.getId()).orElseThrow().getJobTitle()));
+  }
+
+  @Test
+  void activeManagersQueryIsCachedUntilUsersChange() {
+    List<String> managers = managerEmails();
+    long statements = statistics.getPrepareStatementCount();
+    assertEquals(managers, managerEmails());
+    assertEquals(statements, statistics.getPrepareStatementCount(), "repeat query went to the database");
+    assertTrue(statistics.getQueryCacheHitCount() >= 1);
+
+    // A new manager invalidates the cached result
+    User manager = userRepository.save(user("cache.manager2@company.com", "CACHE3", User.Role.MANAGER));
+    assertTrue(managerEmails().contains("cache.manager2@company.com"));
+
+    // So does deactivating one
+    manager.setIsActive(false);
+    userRepository.save(manager);
+    assertFalse(managerEmails().contains("cache.manager2@company.com"));
+  }
+
+  private List<String> managerEmails() {
+    return userRepository.findAllActiveManagers().stream().map(User::getEmail).sorted().toList();
+  }
+
+  private static User user(String email, String employeeId, User.Role role) {
+    User user = new User();
+    user.setEmail(email);
+    user.setPassword("unused");
+    user.setFirstName("Cache");
+    user.setLastName("Test");
+    user.setEmployeeId(employeeId);
+    user.setRole(role);
+    user.setIsActive(true);
+    user.setHireDate(LocalDateTime.now());
+    return user;
+  }
+}
@@ -0,0 +1,82 @@
+package com.company.performance.service;
+
+import com.company.performance.dto.review.DepartmentStats;
+import com.company.performance.entity.RatingAggregate;
+import com.company.performance.event.DomainEvent;
+import com.company.performance.event.DomainEventBus;
+import com.company.performance.repository.GoalRepository;
+import com.company.performance.repository.RatingAggregateRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rebuilds racing approvals: an approval applied after the rebuild read its
+ * row is re-applied to the rebuilt snapshot, and a rebuild that read the row
+ * earlier never replaces one that read it later.
+ */
+class DepartmentStatsServiceTest {
+
+  private static final String DEPARTMENT = "Stats Dept";
+
+  private final RatingAggregateRepository ratingAggregateRepository = mock(RatingAggregateRepository.class);
+  private final DepartmentStatsService departmentStatsService = new DepartmentStatsService(
+      ratingAggregateRepository, mock(GoalRepository.class), mock(DomainEventBus.class), Duration.ofMinutes(5), 500);
+
+  @Test
+  void approvalAppliedWhileRebuildReadsSurvivesIt() {
+    when(ratingAggregateRepository.findById(any())).thenReturn(Optional.of(aggregate(1, 4)));
+    departmentStatsService.forceRebuild(DEPARTMENT);
+
+    // The row is read before the second approval commits
+    when(ratingAggregateRepository.findById(any())).thenAnswer(invocation -> {
+      departmentStatsService.applyApprovals(List.of(approval(2, 2)));
+      return Optional.of(aggregate(1, 4));
+    });
+    DepartmentStats stats = departmentStatsService.forceRebuild(DEPARTMENT);
+    assertEquals(2, stats.getReviewCount());
+    assertEquals(3.0, stats.getAverageRating(), 1e-9);
+
+    // Once a rebuild reads it from the row it is not added again
+    when(ratingAggregateRepository.findById(any())).thenReturn(Optional.of(aggregate(2, 6)));
+    assertEquals(2, departmentStatsService.forceRebuild(DEPARTMENT).getReviewCount());
+    departmentStatsService.applyApprovals(List.of(approval(3, 5)));
+    assertEquals(3, departmentStatsService.getStats(DEPARTMENT).getReviewCount());
+  }
+
+  @Test
+  void rebuildFromAnOlderReadKeepsTheNewerSnapshot() {
+    AtomicBoolean outer = new AtomicBoolean(true);
+    // A second rebuild reads and installs a later row while the first reads
+    when(ratingAggregateRepository.findById(any())).thenAnswer(invocation -> {
+      if (outer.getAndSet(false)) {
+        departmentStatsService.forceRebuild(DEPARTMENT);
+        return Optional.of(aggregate(1, 4));
+      }
+      return Optional.of(aggregate(3, 9));
+    });
+
+    assertEquals(3, departmentStatsService.forceRebuild(DEPARTMENT).getReviewCount());
+    assertEquals(3.0, departmentStatsService.getStats(DEPARTMENT).getAverageRating(), 1e-9);
+  }
+
+  private static DomainEvent.ReviewApproved approval(long sequence, int rating) {
+    return new DomainEvent.ReviewApproved(sequence, 1L, 2L, DEPARTMENT, rating, sequence, Instant.now());
+  }
+
+  // Band counts are not checked here, so every rating is filed as satisfactory
+  private static RatingAggregate aggregate(long count, long sum) {
+    return new RatingAggregate(RatingAggregate.DEPARTMENT, DEPARTMENT, count, sum, sum * sum, 1, 5, 0L, 0L, count,
+        0L, LocalDateTime.now());
+  }
+}
@@ -0,0 +1,113 @@
+package com.company.performance.service;
+
+import com.company.performance.dto.review.DepartmentStats;
+import com.company.performance.entity.GoalEvent;
+import com.company.performance.event.DomainEventBus;
+import com.company.performance.repository.GoalEventRepository;
+import com.company.performance.util.AppConstants;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Overdue sweep across several keyset batches: only open goals due before
+ * today move, each gets one transition event, and the department stats
+ * snapshot follows the new counts through the published goal events.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:goals;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "app.goals.overdue.batch-size=7"
+})
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GoalOverdueSweeperTest {
+
+  private static final String DEPARTMENT = "Goal Dept";
+  private static final LocalDate TODAY = LocalDate.of(2026, 6, 15);
+
+  @Autowired
+  private GoalOverdueSweeper goalOverdueSweeper;
+
+  @Autowired
+  private DepartmentStatsService departmentStatsService;
+
+  @Autowired
+  private GoalEventRepository goalEventRepository;
+
+  @Autowired
+  private DomainEventBus domainEventBus;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeAll
+  void seed() {
+    List<Object[]> goals = new ArrayList<>();
+    // 30 NOT_STARTED and 20 IN_PROGRESS past due, several sharing a due date
+    for (int i = 0; i < 50; i++) {
+      String status = i < 30 ? AppConstants.GoalStatus.NOT_STARTED : AppConstants.GoalStatus.IN_PROGRESS;
+      goals.add(goal(status, TODAY.minusDays(i % 4 + 1)));
+    }
+    // Due today, due later, or already closed: left alone
+    goals.add(goal(AppConstants.GoalStatus.IN_PROGRESS, TODAY));
+    goals.add(goal(AppConstants.GoalStatus.NOT_STARTED, TODAY.plusDays(10)));
+    goals.add(goal(AppConstants.GoalStatus.COMPLETED, TODAY.minusDays(3)));
+    goals.add(goal(AppConstants.GoalStatus.CANCELLED, TODAY.minusDays(3)));
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO goals (employee_id, department, title, status, due_date, version, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)",
+        goals);
+    departmentStatsService.forceRebuild(DEPARTMENT);
+  }
+
+  @Test
+  void marksOpenGoalsDueBeforeTodayInBatches() {
+    assertEquals(50, goalOverdueSweeper.sweep(TODAY));
+    assertEquals(0, goalOverdueSweeper.sweep(TODAY));
+
+    assertEquals(50, count(AppConstants.GoalStatus.OVERDUE));
+    assertEquals(1, count(AppConstants.GoalStatus.NOT_STARTED));
+    assertEquals(1, count(AppConstants.GoalStatus.IN_PROGRESS));
+    assertEquals(1, count(AppConstants.GoalStatus.COMPLETED));
+
+    List<GoalEvent> events = goalEventRepository.findAll();
+    assertEquals(50, events.size());
+    assertEquals(50, events.stream().map(GoalEvent::getGoalId).distinct().count());
+    assertEquals(30, events.stream()
+        .filter(event -> AppConstants.GoalStatus.NOT_STARTED.equals(event.getFromStatus()))
+        .count());
+    events.forEach(event -> assertEquals(AppConstants.Events.GOAL_OVERDUE, event.getEventType()));
+
+    // Snapshot updates from the published events agree with a rebuild from the table
+    assertTrue(domainEventBus.awaitDrained(Duration.ofSeconds(5)));
+    DepartmentStats stats = departmentStatsService.getStats(DEPARTMENT);
+    assertEquals(50L, stats.getGoals().get(AppConstants.GoalStatus.OVERDUE));
+    assertEquals(1L, stats.getGoals().get(AppConstants.GoalStatus.IN_PROGRESS));
+    assertEquals(stats.getGoals(), departmentStatsService.forceRebuild(DEPARTMENT).getGoals());
+    assertEquals(1.0 / 53, stats.getGoalCompletionRate(), 1e-9);
+  }
+
+  private long count(String status) {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM goals WHERE status = ?", Long.class, status);
+  }
+
+  private static Object[] goal(String status, LocalDate dueDate) {
+    return new Object[] { 1L, DEPARTMENT, "Goal", status, Date.valueOf(dueDate), 0L,
+        Timestamp.valueOf(LocalDateTime.now()) };
+  }
+}
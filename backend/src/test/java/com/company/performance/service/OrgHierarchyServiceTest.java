@@ -0,0 +1,140 @@
+package com.company.performance.service;
+
+import com.company.performance.dto.auth.UserInfo;
+import com.company.performance.entity.User;
+import com.company.performance.repository.UserHierarchyRow;
+import com.company.performance.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reporting chains and org subtrees read from the Euler-tour numbering,
+ * cycle checks for manager changes, and updates committed while a reload
+ * reads the rows surviving it.
+ */
+class OrgHierarchyServiceTest {
+
+  // 1 -> {2 -> {3 -> {4, 5, 6 (inactive)}}, 7}; 8 is a separate root
+  private static final List<UserHierarchyRow> ROWS = List.of(
+      new Row(1L, null, true),
+      new Row(2L, 1L, true),
+      new Row(3L, 2L, true),
+      new Row(4L, 3L, true),
+      new Row(5L, 3L, true),
+      new Row(6L, 3L, false),
+      new Row(7L, 1L, true),
+      new Row(8L, null, true));
+
+  private final UserRepository userRepository = mock(UserRepository.class);
+  private final OrgHierarchyService orgHierarchyService = new OrgHierarchyService(userRepository);
+
+  @BeforeEach
+  void load() {
+    when(userRepository.findHierarchyRows()).thenReturn(ROWS);
+    when(userRepository.findUserInfoByIdIn(any())).thenAnswer(invocation -> {
+      Collection<Long> ids = invocation.getArgument(0);
+      return ids.stream().map(id -> UserInfo.from(user(id, null, true))).toList();
+    });
+    orgHierarchyService.reload();
+  }
+
+  @Test
+  void reportingChainRunsFromTheDirectManagerToTheTop() {
+    assertEquals(List.of(3L, 2L, 1L), ids(orgHierarchyService.getReportingChain(4L)));
+    assertEquals(List.of(1L), ids(orgHierarchyService.getReportingChain(7L)));
+    assertTrue(orgHierarchyService.getReportingChain(8L).isEmpty());
+    assertThrows(RuntimeException.class, () -> orgHierarchyService.getReportingChain(99L));
+  }
+
+  @Test
+  void subtreeQueriesCoverActiveReportsOnly() {
+    List<Long> org = ids(orgHierarchyService.getReports(2L, false));
+    // Preorder: a manager comes before their reports
+    assertEquals(3L, org.get(0));
+    assertEquals(Set.of(3L, 4L, 5L), Set.copyOf(org));
+    assertEquals(List.of(3L), ids(orgHierarchyService.getReports(2L, true)));
+    assertEquals(Set.of(2L, 7L), Set.copyOf(ids(orgHierarchyService.getReports(1L, true))));
+
+    assertTrue(orgHierarchyService.isInOrg(1L, 4L));
+    assertTrue(orgHierarchyService.isInOrg(1L, 6L));
+    assertFalse(orgHierarchyService.isInOrg(2L, 7L));
+    assertFalse(orgHierarchyService.isInOrg(4L, 3L));
+    assertFalse(orgHierarchyService.isInOrg(8L, 4L));
+    assertFalse(orgHierarchyService.isInOrg(4L, 4L));
+
+    Map<String, Object> span = orgHierarchyService.getSpanOfControl(3L);
+    assertEquals(2, span.get("directReports"));
+    assertEquals(2, span.get("totalReports"));
+    assertEquals(2, span.get("depth"));
+    assertEquals(5, orgHierarchyService.getSpanOfControl(1L).get("totalReports"));
+  }
+
+  @Test
+  void cycleCheckRefusesManagersFromTheUsersOwnOrg() {
+    assertTrue(orgHierarchyService.wouldCreateCycle(2L, 2L));
+    assertTrue(orgHierarchyService.wouldCreateCycle(2L, 4L));
+    assertTrue(orgHierarchyService.wouldCreateCycle(1L, 3L));
+    assertFalse(orgHierarchyService.wouldCreateCycle(4L, 2L));
+    assertFalse(orgHierarchyService.wouldCreateCycle(2L, 7L));
+    assertFalse(orgHierarchyService.wouldCreateCycle(2L, 8L));
+
+    // Once 8 reports to 4 it is part of 2's org, so 2 may not report to it
+    orgHierarchyService.updateAfterCommit(user(8L, 4L, true));
+    assertTrue(orgHierarchyService.wouldCreateCycle(2L, 8L));
+    assertEquals(List.of(4L, 3L, 2L, 1L), ids(orgHierarchyService.getReportingChain(8L)));
+  }
+
+  @Test
+  void updatesDuringReloadSurviveIt() {
+    // The rows are read before these commit, so they still show the old links
+    when(userRepository.findHierarchyRows()).thenAnswer(invocation -> {
+      orgHierarchyService.updateAfterCommit(user(5L, 7L, true));
+      orgHierarchyService.updateAfterCommit(user(9L, 2L, true));
+      orgHierarchyService.updateAfterCommit(user(4L, 3L, false));
+      return ROWS;
+    });
+    orgHierarchyService.reload();
+
+    assertEquals(List.of(7L, 1L), ids(orgHierarchyService.getReportingChain(5L)));
+    assertEquals(List.of(2L, 1L), ids(orgHierarchyService.getReportingChain(9L)));
+    assertEquals(Set.of(3L, 9L), Set.copyOf(ids(orgHierarchyService.getReports(2L, false))));
+
+    // A later reload reads them from the rows instead of replaying them
+    when(userRepository.findHierarchyRows()).thenReturn(ROWS);
+    orgHierarchyService.reload();
+    assertEquals(List.of(3L, 2L, 1L), ids(orgHierarchyService.getReportingChain(5L)));
+    assertThrows(RuntimeException.class, () -> orgHierarchyService.getReportingChain(9L));
+  }
+
+  private static List<Long> ids(List<UserInfo> users) {
+    return users.stream().map(UserInfo::getId).toList();
+  }
+
+  private static User user(Long id, Long managerId, boolean active) {
+    User user = new User();
+    user.setId(id);
+    user.setEmail("org" + id + "@company.com");
+    user.setFirstName("Org");
+    user.setLastName("User" + id);
+    user.setRole(User.Role.EMPLOYEE);
+    user.setIsActive(active);
+    user.setManagerId(managerId);
+    return user;
+  }
+
+  private record Row(Long getId, Long getManagerId, Boolean getIsActive) implements UserHierarchyRow {
+  }
+}
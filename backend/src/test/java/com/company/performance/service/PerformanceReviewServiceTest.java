@@ -0,0 +1,324 @@
+package com.company.performance.service;
+
+import com.company.performance.dto.review.BulkTransitionRequest;
+import com.company.performance.dto.review.BulkTransitionResult;
+import com.company.performance.dto.review.CreateReviewRequest;
+import com.company.performance.dto.review.DepartmentStats;
+import com.company.performance.dto.review.RatingStats;
+import com.company.performance.dto.review.ReviewInfo;
+import com.company.performance.entity.User;
+import com.company.performance.event.DomainEvent;
+import com.company.performance.event.DomainEventBus;
+import com.company.performance.repository.UserRepository;
+import com.company.performance.util.AppConstants;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Review workflow and the incrementally maintained rating aggregates:
+ * only approvals count, and the employee, manager and department rows
+ * match statistics computed from the approved ratings directly.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:reviews;MODE=MySQL;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PerformanceReviewServiceTest {
+
+  private static final String MANAGER_EMAIL = "review.manager@company.com";
+  private static final String DEPARTMENT = "Review Dept";
+  private static final String LEAD_EMAIL = "review.lead@company.com";
+  private static final String BULK_DEPARTMENT = "Bulk Dept";
+  private static final String REBUILD_DEPARTMENT = "Rebuild Dept";
+  private static final String CONCURRENT_DEPARTMENT = "Concurrent Dept";
+
+  @Autowired
+  private PerformanceReviewService performanceReviewService;
+
+  @Autowired
+  private RatingAggregateService ratingAggregateService;
+
+  @Autowired
+  private DepartmentStatsService departmentStatsService;
+
+  @Autowired
+  private DomainEventBus domainEventBus;
+
+  @Autowired
+  private OrgHierarchyService orgHierarchyService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  private User manager;
+  private User first;
+  private User second;
+  private User outsider;
+  private User teamMember;
+  private User rebuildMember;
+  private User concurrentMember;
+
+  @BeforeAll
+  void seed() {
+    manager = userRepository.save(user(MANAGER_EMAIL, User.Role.MANAGER, null));
+    first = userRepository.save(user("review.first@company.com", User.Role.EMPLOYEE, manager.getId()));
+    second = userRepository.save(user("review.second@company.com", User.Role.EMPLOYEE, manager.getId()));
+    outsider = userRepository.save(user("review.outsider@company.com", User.Role.EMPLOYEE, null));
+    User lead = userRepository.save(user(LEAD_EMAIL, User.Role.MANAGER, null, BULK_DEPARTMENT));
+    teamMember = userRepository.save(user("review.member@company.com", User.Role.EMPLOYEE, lead.getId(),
+        BULK_DEPARTMENT));
+    rebuildMember = userRepository.save(user("review.rebuild@company.com", User.Role.EMPLOYEE, manager.getId(),
+        REBUILD_DEPARTMENT));
+    concurrentMember = userRepository.save(user("review.concurrent@company.com", User.Role.EMPLOYEE,
+        manager.getId(), CONCURRENT_DEPARTMENT));
+    orgHierarchyService.reload();
+  }
+
+  @Test
+  void approvedRatingsUpdateEveryAggregate() {
+    // Start from a snapshot so approvals reach it through events
+    departmentStatsService.forceRebuild(DEPARTMENT);
+    approve(review(first, 5));
+    approve(review(first, 3));
+    approve(review(second, 4));
+    // Rejected and unfinished reviews don't count
+    ReviewInfo rejected = review(second, 1);
+    move(rejected, AppConstants.ReviewStatus.SUBMITTED);
+    move(rejected, AppConstants.ReviewStatus.IN_REVIEW);
+    move(rejected, AppConstants.ReviewStatus.REJECTED);
+    move(review(second, 2), AppConstants.ReviewStatus.SUBMITTED);
+
+    RatingStats employee = ratingAggregateService.getEmployeeStats(first.getId());
+    assertEquals(2, employee.getReviewCount());
+    assertEquals(4.0, employee.getAverageRating(), 1e-9);
+    assertEquals(1.0, employee.getStandardDeviation(), 1e-9);
+    assertEquals(3, employee.getMinRating());
+    assertEquals(5, employee.getMaxRating());
+    assertEquals(1L, employee.getBands().get("EXCELLENT"));
+    assertEquals(1L, employee.getBands().get("SATISFACTORY"));
+
+    RatingStats managerStats = ratingAggregateService.getManagerStats(manager.getId());
+    assertEquals(3, managerStats.getReviewCount());
+    assertEquals(4.0, managerStats.getAverageRating(), 1e-9);
+    assertEquals(1L, managerStats.getBands().get("GOOD"));
+
+    RatingStats department = ratingAggregateService.getDepartmentStats(DEPARTMENT);
+    assertEquals(3, department.getReviewCount());
+    assertEquals(3, department.getMinRating());
+
+    // The dashboard snapshot followed each approval and matches a rebuild
+    assertTrue(domainEventBus.awaitDrained(Duration.ofSeconds(5)));
+    DepartmentStats dashboard = departmentStatsService.getStats(DEPARTMENT);
+    assertEquals(3, dashboard.getReviewCount());
+    assertEquals(4.0, dashboard.getAverageRating(), 1e-9);
+    assertEquals(1L, dashboard.getRatingBands().get("EXCELLENT"));
+    DepartmentStats rebuilt = departmentStatsService.forceRebuild(DEPARTMENT);
+    assertEquals(dashboard.getReviewCount(), rebuilt.getReviewCount());
+    assertEquals(dashboard.getRatingStandardDeviation(), rebuilt.getRatingStandardDeviation(), 1e-9);
+    assertTrue(rebuilt.getVersion() > dashboard.getVersion());
+  }
+
+  @Test
+  void approvalRacingARebuildIsCountedOnce() {
+    ReviewInfo review = review(rebuildMember, 4);
+    approve(review);
+    assertTrue(domainEventBus.awaitDrained(Duration.ofSeconds(5)));
+    assertEquals(1, departmentStatsService.forceRebuild(REBUILD_DEPARTMENT).getReviewCount());
+
+    // Delivered after the rebuild read its row, as when it commits during the read
+    departmentStatsService.applyApprovals(List.of(new DomainEvent.ReviewApproved(review.getId(),
+        rebuildMember.getId(), manager.getId(), REBUILD_DEPARTMENT, 4, 1, Instant.now())));
+    assertEquals(1, departmentStatsService.getStats(REBUILD_DEPARTMENT).getReviewCount());
+
+    // The next approval of the department is past the rebuilt count
+    departmentStatsService.applyApprovals(List.of(new DomainEvent.ReviewApproved(Long.MAX_VALUE,
+        rebuildMember.getId(), manager.getId(), REBUILD_DEPARTMENT, 2, 2, Instant.now())));
+    DepartmentStats stats = departmentStatsService.getStats(REBUILD_DEPARTMENT);
+    assertEquals(2, stats.getReviewCount());
+    assertEquals(3.0, stats.getAverageRating(), 1e-9);
+  }
+
+  @Test
+  void statsWithoutApprovalsAreEmpty() {
+    RatingStats stats = ratingAggregateService.getEmployeeStats(outsider.getId());
+    assertEquals(0, stats.getReviewCount());
+    assertNull(stats.getMinRating());
+    assertEquals(0L, stats.getBands().get("EXCELLENT"));
+  }
+
+  @Test
+  void workflowRejectsSkippedAndBackwardMoves() {
+    ReviewInfo draft = review(second, 4);
+    assertThrows(IllegalStateException.class, () -> move(draft, AppConstants.ReviewStatus.APPROVED));
+
+    ReviewInfo rejected = review(second, 4);
+    move(rejected, AppConstants.ReviewStatus.SUBMITTED);
+    move(rejected, AppConstants.ReviewStatus.IN_REVIEW);
+    move(rejected, AppConstants.ReviewStatus.REJECTED);
+    assertThrows(IllegalStateException.class, () -> move(rejected, AppConstants.ReviewStatus.APPROVED));
+  }
+
+  @Test
+  void staleVersionIsRefused() {
+    ReviewInfo draft = review(first, 4);
+    move(draft, AppConstants.ReviewStatus.SUBMITTED);
+
+    assertThrows(ObjectOptimisticLockingFailureException.class, () -> performanceReviewService.changeStatus(
+        draft.getId(), AppConstants.ReviewStatus.IN_REVIEW, draft.getVersion(), MANAGER_EMAIL));
+  }
+
+  @Test
+  void reviewersMustManageTheEmployee() {
+    assertThrows(RuntimeException.class, () -> performanceReviewService.createReview(MANAGER_EMAIL,
+        new CreateReviewRequest(outsider.getId(), "2026-H1", 4, null)));
+  }
+
+  @Test
+  void bulkTransitionsApplyValidItemsAndReportTheRest() {
+    List<ReviewInfo> team = new ArrayList<>();
+    for (int rating = 1; rating <= 5; rating++) {
+      ReviewInfo review = performanceReviewService.createReview(LEAD_EMAIL,
+          new CreateReviewRequest(teamMember.getId(), "2026-H2", rating, null));
+      team.add(bulkMove(List.of(review), AppConstants.ReviewStatus.SUBMITTED).get(0));
+    }
+    List<ReviewInfo> inReview = bulkMove(team, AppConstants.ReviewStatus.IN_REVIEW);
+    ReviewInfo draft = performanceReviewService.createReview(LEAD_EMAIL,
+        new CreateReviewRequest(teamMember.getId(), "2026-H2", 4, null));
+
+    List<BulkTransitionRequest.Transition> transitions = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      transitions.add(transition(inReview.get(i), AppConstants.ReviewStatus.APPROVED));
+    }
+    transitions.add(transition(inReview.get(3), AppConstants.ReviewStatus.REJECTED));
+    // Stale version, duplicate, skipped step and unknown review
+    transitions.add(new BulkTransitionRequest.Transition(inReview.get(4).getId(),
+        inReview.get(4).getVersion() - 1, AppConstants.ReviewStatus.APPROVED));
+    transitions.add(transition(inReview.get(0), AppConstants.ReviewStatus.APPROVED));
+    transitions.add(transition(draft, AppConstants.ReviewStatus.APPROVED));
+    transitions.add(new BulkTransitionRequest.Transition(Long.MAX_VALUE, 0L, AppConstants.ReviewStatus.APPROVED));
+
+    BulkTransitionResult result = performanceReviewService.changeStatuses(transitions, LEAD_EMAIL);
+    assertEquals(4, result.getApplied());
+    assertEquals(4, result.getFailed());
+    List<String> outcomes = result.getResults().stream().map(BulkTransitionResult.ItemResult::getOutcome).toList();
+    assertEquals(List.of(BulkTransitionResult.APPLIED, BulkTransitionResult.APPLIED, BulkTransitionResult.APPLIED,
+        BulkTransitionResult.APPLIED, BulkTransitionResult.CONFLICT, BulkTransitionResult.DUPLICATE,
+        BulkTransitionResult.INVALID_TRANSITION, BulkTransitionResult.NOT_FOUND), outcomes);
+
+    ReviewInfo approved = performanceReviewService.getReview(inReview.get(0).getId(), LEAD_EMAIL);
+    assertEquals(AppConstants.ReviewStatus.APPROVED, approved.getStatus());
+    assertEquals(result.getResults().get(0).getVersion(), approved.getVersion());
+    assertEquals(AppConstants.ReviewStatus.IN_REVIEW,
+        performanceReviewService.getReview(inReview.get(4).getId(), LEAD_EMAIL).getStatus());
+
+    // Ratings 1, 2 and 3 were approved
+    RatingStats department = ratingAggregateService.getDepartmentStats(BULK_DEPARTMENT);
+    assertEquals(3, department.getReviewCount());
+    assertEquals(2.0, department.getAverageRating(), 1e-9);
+    assertTrue(domainEventBus.awaitDrained(Duration.ofSeconds(5)));
+    assertEquals(3, departmentStatsService.getStats(BULK_DEPARTMENT).getReviewCount());
+  }
+
+  @Test
+  void concurrentBulkApprovalsOfOneReviewApplyOnce() throws Exception {
+    int count = 20;
+    ExecutorService pool = Executors.newFixedThreadPool(2);
+    try {
+      int applied = 0;
+      for (int n = 0; n < count; n++) {
+        ReviewInfo review = review(concurrentMember, 5);
+        move(review, AppConstants.ReviewStatus.SUBMITTED);
+        ReviewInfo inReview = move(review, AppConstants.ReviewStatus.IN_REVIEW);
+
+        // Both callers read the same version; only one may own the move
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BulkTransitionResult>> results = new ArrayList<>();
+        for (int caller = 0; caller < 2; caller++) {
+          results.add(pool.submit(() -> {
+            start.await();
+            return performanceReviewService.changeStatuses(
+                List.of(transition(inReview, AppConstants.ReviewStatus.APPROVED)), MANAGER_EMAIL);
+          }));
+        }
+        start.countDown();
+        int appliedHere = 0;
+        for (Future<BulkTransitionResult> result : results) {
+          appliedHere += result.get().getApplied();
+        }
+        assertEquals(1, appliedHere);
+        applied += appliedHere;
+      }
+      assertEquals(count, applied);
+    } finally {
+      pool.shutdownNow();
+    }
+
+    assertEquals(count, ratingAggregateService.getEmployeeStats(concurrentMember.getId()).getReviewCount());
+    assertEquals(count, ratingAggregateService.getDepartmentStats(CONCURRENT_DEPARTMENT).getReviewCount());
+  }
+
+  private List<ReviewInfo> bulkMove(List<ReviewInfo> reviews, String status) {
+    BulkTransitionResult result = performanceReviewService.changeStatuses(
+        reviews.stream().map(review -> transition(review, status)).toList(), LEAD_EMAIL);
+    assertEquals(reviews.size(), result.getApplied());
+    return reviews.stream().map(review -> performanceReviewService.getReview(review.getId(), LEAD_EMAIL)).toList();
+  }
+
+  private static BulkTransitionRequest.Transition transition(ReviewInfo review, String status) {
+    return new BulkTransitionRequest.Transition(review.getId(), review.getVersion(), status);
+  }
+
+  private ReviewInfo review(User employee, int rating) {
+    return performanceReviewService.createReview(MANAGER_EMAIL,
+        new CreateReviewRequest(employee.getId(), "2026-H1", rating, null));
+  }
+
+  private void approve(ReviewInfo review) {
+    move(review, AppConstants.ReviewStatus.SUBMITTED);
+    move(review, AppConstants.ReviewStatus.IN_REVIEW);
+    move(review, AppConstants.ReviewStatus.APPROVED);
+  }
+
+  private ReviewInfo move(ReviewInfo review, String status) {
+    return performanceReviewService.changeStatus(review.getId(), status, null, MANAGER_EMAIL);
+  }
+
+  private static User user(String email, User.Role role, Long managerId) {
+    return user(email, role, managerId, DEPARTMENT);
+  }
+
+  private static User user(String email, User.Role role, Long managerId, String department) {
+    User user = new User();
+    user.setEmail(email);
+    user.setPassword("unused");
+    user.setFirstName("Review");
+    user.setLastName("Test");
+    user.setRole(role);
+    user.setIsActive(true);
+    user.setManagerId(managerId);
+    user.setDepartment(department);
+    user.setHireDate(LocalDateTime.now());
+    return user;
+  }
+}
@@ -0,0 +1,122 @@
+package com.company.performance.service;
+
+import com.company.performance.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statement metrics through the instrumented data source: statements are
+ * attributed to the repository method that issued them with their row
+ * counts, slow statements are counted, and a request repeating one SELECT
+ * shape is flagged as a possible N+1.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:querymetrics;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    // Every statement counts as slow
+    "app.db.metrics.slow-query-threshold=PT0S",
+    "app.db.metrics.n-plus-one-threshold=5"
+})
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryMetricsServiceTest {
+
+  private static final long MANAGER_ID = 424242L;
+
+  @Autowired
+  private QueryMetricsService queryMetricsService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeAll
+  void seed() {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    List<Object[]> users = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      users.add(new Object[] { "metrics.user" + i + "@company.com", "unused", "Metrics", "User" + i,
+          "EMPLOYEE", true, MANAGER_ID, 0L, now, now });
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO users (email, password, first_name, last_name, role, is_active, manager_id, " +
+            "token_version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+        users);
+  }
+
+  @BeforeEach
+  void reset() {
+    queryMetricsService.reset();
+  }
+
+  @Test
+  void statementsAreAttributedToRepositoryMethods() {
+    assertEquals(3, userRepository.findByManagerId(MANAGER_ID).size());
+
+    Map<String, Object> statement = statementOf("UserRepository.findByManagerId");
+    assertEquals(3L, statement.get("rows"));
+    assertTrue(((String) statement.get("sql")).toLowerCase().startsWith("select"));
+    assertEquals(1L, ((Map<?, ?>) statement.get("latency")).get("count"));
+    assertTrue((Long) queryMetricsService.getStats(100).get("slowQueries") >= 1);
+    assertTrue(((Map<?, ?>) queryMetricsService.getStats(100).get("repositoryMethods"))
+        .containsKey("UserRepository.findByManagerId"));
+  }
+
+  @Test
+  void repeatedSelectsInOneRequestAreFlagged() {
+    queryMetricsService.beginRequest();
+    for (int i = 0; i < 3; i++) {
+      userRepository.findUserInfoByEmail("metrics.user" + i + "@company.com").orElseThrow();
+      userRepository.findUserInfoByEmail("metrics.user" + i + "@company.com").orElseThrow();
+    }
+    queryMetricsService.endRequest("GET /test");
+
+    assertEquals(1L, queryMetricsService.getStats(100).get("nPlusOneRequests"));
+    assertEquals(1L, statementOf("UserRepository.findUserInfoByEmail").get("nPlusOneRequests"));
+  }
+
+  @Test
+  void fewRepeatsAreNotFlagged() {
+    queryMetricsService.beginRequest();
+    userRepository.findUserInfoByEmail("metrics.user0@company.com").orElseThrow();
+    userRepository.findUserInfoByEmail("metrics.user1@company.com").orElseThrow();
+    queryMetricsService.endRequest("GET /test");
+
+    assertEquals(0L, queryMetricsService.getStats(100).get("nPlusOneRequests"));
+  }
+
+  @Test
+  void shapesCollapseLiteralsAndInLists() {
+    assertEquals("select * from users where id in (?...) and email = ? and token_version > ?",
+        QueryMetricsService.normalize(
+            "select *\n  from users where id in (1, 2, 3) and email = 'a@b.com' and token_version > 0"));
+    assertEquals("select u1_0.id from users u1_0 where u1_0.id in (?...)",
+        QueryMetricsService.normalize("select u1_0.id from users u1_0 where u1_0.id in (?,?,?)"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> statementOf(String repositoryMethod) {
+    List<Map<String, Object>> statements =
+        (List<Map<String, Object>>) queryMetricsService.getStats(100).get("statements");
+    return statements.stream()
+        .filter(statement -> repositoryMethod.equals(statement.get("repositoryMethod")))
+        .findFirst()
+        .orElseThrow(() -> new AssertionError("no statement recorded for " + repositoryMethod));
+  }
+}
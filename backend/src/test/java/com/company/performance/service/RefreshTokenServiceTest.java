@@ -0,0 +1,135 @@
+package com.company.performance.service;
+
+import com.company.performance.dto.auth.JwtResponse;
+import com.company.performance.dto.auth.RefreshTokenRequest;
+import com.company.performance.entity.User;
+import com.company.performance.repository.RefreshTokenRepository;
+import com.company.performance.repository.UserRepository;
+import com.company.performance.util.JwtUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Refresh token rotation: concurrent refreshes with one token inside the
+ * grace window share a single new pair, presenting a rotated token after
+ * the window revokes its whole family, and logout revokes the stored row.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:refreshtokens;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "app.jwt.refresh-grace=PT1S"
+})
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RefreshTokenServiceTest {
+
+  @Autowired
+  private RefreshTokenService refreshTokenService;
+
+  @Autowired
+  private AuthenticationService authenticationService;
+
+  @Autowired
+  private RefreshTokenRepository refreshTokenRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private JwtUtil jwtUtil;
+
+  private User concurrent;
+  private User reused;
+  private User loggedOut;
+
+  @BeforeAll
+  void seed() {
+    concurrent = userRepository.save(user("refresh.concurrent@company.com"));
+    reused = userRepository.save(user("refresh.reused@company.com"));
+    loggedOut = userRepository.save(user("refresh.logout@company.com"));
+  }
+
+  @Test
+  void concurrentRefreshesInsideTheGraceWindowShareOnePair() throws Exception {
+    String token = refreshTokenService.issue(concurrent);
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      List<Future<JwtResponse>> results = List.of(
+          executor.submit(() -> refresh(start, token)),
+          executor.submit(() -> refresh(start, token)));
+      start.countDown();
+
+      JwtResponse first = results.get(0).get();
+      JwtResponse second = results.get(1).get();
+      assertEquals(first.getRefreshToken(), second.getRefreshToken());
+      assertEquals(first.getAccessToken(), second.getAccessToken());
+      assertNotEquals(token, first.getRefreshToken());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void reuseAfterTheGraceWindowRevokesTheFamily() throws Exception {
+    String token = refreshTokenService.issue(reused);
+    JwtResponse rotated = authenticationService.refreshToken(new RefreshTokenRequest(token));
+    String rotatedId = jwtUtil.verifyTokenOrNull(rotated.getRefreshToken()).getId();
+    assertFalse(refreshTokenRepository.findById(rotatedId).orElseThrow().getRevoked());
+
+    Thread.sleep(1_500);
+    assertThrows(RuntimeException.class,
+        () -> authenticationService.refreshToken(new RefreshTokenRequest(token)));
+
+    // The token rotated from it is revoked too, so the thief's copy is dead
+    assertTrue(refreshTokenRepository.findById(rotatedId).orElseThrow().getRevoked());
+    assertThrows(RuntimeException.class,
+        () -> authenticationService.refreshToken(new RefreshTokenRequest(rotated.getRefreshToken())));
+  }
+
+  @Test
+  void logoutRevokesTheRefreshTokenRow() {
+    String token = refreshTokenService.issue(loggedOut);
+    String tokenId = jwtUtil.verifyTokenOrNull(token).getId();
+    assertFalse(refreshTokenRepository.findById(tokenId).orElseThrow().getRevoked());
+
+    authenticationService.logout(null, token);
+
+    assertTrue(refreshTokenRepository.findById(tokenId).orElseThrow().getRevoked());
+    assertThrows(RuntimeException.class,
+        () -> authenticationService.refreshToken(new RefreshTokenRequest(token)));
+  }
+
+  private JwtResponse refresh(CountDownLatch start, String token) throws InterruptedException {
+    start.await();
+    return authenticationService.refreshToken(new RefreshTokenRequest(token));
+  }
+
+  private static User user(String email) {
+    User user = new User();
+    user.setEmail(email);
+    user.setPassword("unused");
+    user.setFirstName("Refresh");
+    user.setLastName("Test");
+    user.setRole(User.Role.EMPLOYEE);
+    user.setIsActive(true);
+    user.setHireDate(LocalDateTime.now());
+    return user;
+  }
+}
@@ -0,0 +1,100 @@
+package com.company.performance.service;
+
+import com.company.performance.util.VerifiedToken;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Denylist and per-user cutoffs: a revoked token stays rejected until the
+ * sweeper finds its timing-wheel bucket due, a cutoff rejects tokens issued
+ * in earlier seconds but not in its own, and both are dropped once every
+ * token they apply to has expired.
+ */
+class TokenRevocationServiceTest {
+
+  private static final long TOKEN_LIFETIME_MS = 2_000;
+
+  private final TokenRevocationService tokenRevocationService = new TokenRevocationService(1, 100,
+      TOKEN_LIFETIME_MS);
+
+  @Test
+  void revokedTokenIsRejectedUntilItExpires() {
+    Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    VerifiedToken live = token("live", "live@company.com", now, now.plusSeconds(3600));
+    VerifiedToken expired = token("expired", "expired@company.com", now.minusSeconds(60), now.minusSeconds(10));
+    tokenRevocationService.revoke(live);
+    tokenRevocationService.revoke(expired);
+
+    assertTrue(tokenRevocationService.isRevoked(live));
+    assertTrue(tokenRevocationService.isRevoked(expired));
+    assertFalse(tokenRevocationService.isRevoked(token("other", "live@company.com", now, now.plusSeconds(3600))));
+
+    // Only the expired token's bucket is due
+    tokenRevocationService.sweep();
+    assertTrue(tokenRevocationService.isRevoked(live));
+    assertFalse(tokenRevocationService.isRevoked(expired));
+    assertEquals(1, tokenRevocationService.getStats().get("revokedTokens"));
+  }
+
+  @Test
+  void cutoffRevokesEarlierSecondsOnly() {
+    Instant cutoffSecond = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    tokenRevocationService.revokeSubject("cutoff@company.com", cutoffSecond.plusMillis(700));
+
+    assertTrue(tokenRevocationService.isRevoked(token("before", "cutoff@company.com",
+        cutoffSecond.minusSeconds(1), cutoffSecond.plusSeconds(3600))));
+    // A login in the same second as the revocation keeps working
+    assertFalse(tokenRevocationService.isRevoked(token("same", "cutoff@company.com",
+        cutoffSecond, cutoffSecond.plusSeconds(3600))));
+    assertFalse(tokenRevocationService.isRevoked(token("before", "other@company.com",
+        cutoffSecond.minusSeconds(1), cutoffSecond.plusSeconds(3600))));
+  }
+
+  @Test
+  void laterCutoffWinsAndEarlierOneIsIgnored() {
+    Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    tokenRevocationService.revokeSubject("user@company.com", now);
+    tokenRevocationService.revokeSubject("user@company.com", now.minusSeconds(30));
+
+    assertTrue(tokenRevocationService.isRevoked(token("t", "user@company.com", now.minusSeconds(10),
+        now.plusSeconds(3600))));
+  }
+
+  @Test
+  void cutoffIsSweptOnceItsTokensHaveExpired() {
+    Instant now = Instant.now();
+    tokenRevocationService.revokeSubject("old@company.com", now.minusSeconds(60));
+    tokenRevocationService.revokeSubject("recent@company.com", now);
+
+    tokenRevocationService.sweep();
+    assertEquals(1, tokenRevocationService.getStats().get("revokedSubjects"));
+    assertFalse(tokenRevocationService.isRevoked(token("t", "old@company.com", now.minusSeconds(120),
+        now.plusSeconds(3600))));
+    assertTrue(tokenRevocationService.isRevoked(token("t", "recent@company.com", now.minusSeconds(120),
+        now.plusSeconds(3600))));
+  }
+
+  @Test
+  void fullDenylistFallsBackToACutoffCoveringTheToken() {
+    TokenRevocationService small = new TokenRevocationService(1, 1, TOKEN_LIFETIME_MS);
+    Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    small.revoke(token("first", "first@company.com", now, now.plusSeconds(3600)));
+
+    // Issued this second, so a cutoff at the current second would miss it
+    VerifiedToken overflow = token("second", "second@company.com", now, now.plusSeconds(3600));
+    small.revoke(overflow);
+    assertTrue(small.isRevoked(overflow));
+    assertTrue(small.isRevoked(token("sibling", "second@company.com", now, now.plusSeconds(3600))));
+    assertEquals(1L, small.getStats().get("overflowCount"));
+  }
+
+  private static VerifiedToken token(String id, String subject, Instant issuedAt, Instant expiration) {
+    return new VerifiedToken(id, subject, VerifiedToken.TYPE_ACCESS, expiration, issuedAt, null, null, null);
+  }
+}
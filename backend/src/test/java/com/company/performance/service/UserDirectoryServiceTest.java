@@ -0,0 +1,38 @@
+package com.company.performance.service;
+
+import com.company.performance.repository.UserRepository;
+import com.company.performance.util.PageCursor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Cursors are client input: a tampered or corrupted one is rejected as an
+ * invalid cursor (400 at the controller) before any query runs.
+ */
+class UserDirectoryServiceTest {
+
+  private final UserRepository userRepository = mock(UserRepository.class);
+  private final UserDirectoryService userDirectoryService = new UserDirectoryService(userRepository);
+
+  @Test
+  void rejectsCursorWithUnparseableSortValue() {
+    String cursor = new PageCursor("active", "CREATED_AT", "DESC", "not-a-timestamp", 42).encode();
+
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> userDirectoryService.listActive(null, null, 20, cursor));
+    assertEquals("Invalid cursor", e.getMessage());
+    verifyNoInteractions(userRepository);
+  }
+
+  @Test
+  void rejectsMalformedCursor() {
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> userDirectoryService.listActive(null, null, 20, "not base64!"));
+    assertEquals("Invalid cursor", e.getMessage());
+    verifyNoInteractions(userRepository);
+  }
+}
@@ -0,0 +1,87 @@
+package com.company.performance.service;
+
+import com.company.performance.dto.auth.UserInfo;
+import com.company.performance.entity.User;
+import com.company.performance.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Updates committed while a reload reads the users survive it: the reload's
+ * rows may predate them, so the newer state is re-applied on top.
+ */
+class UserSearchServiceTest {
+
+  private final UserRepository userRepository = mock(UserRepository.class);
+  private final UserSearchService userSearchService = new UserSearchService(userRepository);
+
+  @Test
+  void updatesDuringReloadSurviveIt() {
+    User leaving = user(1L, "Leaving", true);
+    User staying = user(2L, "Staying", true);
+    User joining = user(3L, "Joining", true);
+    when(userRepository.findActiveUserInfo()).thenReturn(List.of(UserInfo.from(leaving), UserInfo.from(staying)));
+    userSearchService.reload();
+
+    // The rows are read before these commit, so they still show the old state
+    when(userRepository.findActiveUserInfo()).thenAnswer(invocation -> {
+      leaving.setIsActive(false);
+      userSearchService.updateAfterCommit(leaving);
+      userSearchService.updateAfterCommit(joining);
+      return List.of(UserInfo.from(user(1L, "Leaving", true)), UserInfo.from(staying));
+    });
+    userSearchService.reload();
+
+    assertTrue(names("Leaving").isEmpty());
+    assertEquals(List.of("Staying"), names("Staying"));
+    assertEquals(List.of("Joining"), names("Joining"));
+  }
+
+  @Test
+  void laterReloadDoesNotReplayAnEarlierReloadsUpdates() {
+    User user = user(1L, "Returning", true);
+    when(userRepository.findActiveUserInfo()).thenAnswer(invocation -> {
+      user.setIsActive(false);
+      userSearchService.updateAfterCommit(user);
+      return List.of(UserInfo.from(user(1L, "Returning", true)));
+    });
+    userSearchService.reload();
+    assertTrue(names("Returning").isEmpty());
+
+    // Reactivated on another instance: only the next reload sees it
+    when(userRepository.findActiveUserInfo()).thenReturn(List.of(UserInfo.from(user(1L, "Returning", true))));
+    userSearchService.reload();
+    assertEquals(List.of("Returning"), names("Returning"));
+  }
+
+  @Test
+  void failedReloadStopsRecording() {
+    when(userRepository.findActiveUserInfo()).thenThrow(new IllegalStateException("database down"));
+    assertThrows(IllegalStateException.class, userSearchService::reload);
+
+    userSearchService.updateAfterCommit(user(1L, "After", true));
+    assertEquals(List.of("After"), names("After"));
+  }
+
+  private List<String> names(String query) {
+    return userSearchService.search(query, 0, 10).getResults().stream().map(UserInfo::getLastName).toList();
+  }
+
+  private static User user(Long id, String lastName, boolean active) {
+    User user = new User();
+    user.setId(id);
+    user.setEmail(lastName.toLowerCase() + "@company.com");
+    user.setFirstName("Search");
+    user.setLastName(lastName);
+    user.setRole(User.Role.EMPLOYEE);
+    user.setIsActive(active);
+    return user;
+  }
+}
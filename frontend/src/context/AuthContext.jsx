@@ -8,6 +8,9 @@ const AuthContext = createContext();
 const API_BASE_URL = 'http://localhost:8080/api';
 axios.defaults.baseURL = API_BASE_URL;
 
+// Pending token refresh, shared by concurrent requests
+let refreshPromise = null;
+
 export const useAuth = () => {
   const context = useContext(AuthContext);
   if (!context) {
@@ -49,9 +52,15 @@ export const AuthProvider = ({ children }) => {
 
           if (refreshToken) {
             try {
-              const refreshResponse = await axios.post('/auth/refresh', {
-                refreshToken: refreshToken
-              });
+              // Share one in-flight refresh across all requests that got a 401
+              if (!refreshPromise) {
+                refreshPromise = axios.post('/auth/refresh', {
+                  refreshToken: refreshToken
+                }).finally(() => {
+                  refreshPromise = null;
+                });
+              }
+              const refreshResponse = await refreshPromise;
 
               const { accessToken, refreshToken: newRefreshToken } = refreshResponse.data.data;
               
@@ -132,6 +141,11 @@ export const AuthProvider = ({ children }) => {
   };
 
   const logout = () => {
+    // Revoke tokens server-side before they are dropped from state
+    axios.post('/auth/logout', refreshToken ? { refreshToken } : undefined, {
+      headers: token ? { Authorization: `Bearer ${token}` } : {}
+    }).catch(console.error);
+
     setUser(null);
     setToken(null);
     setRefreshToken(null);
@@ -140,9 +154,6 @@ export const AuthProvider = ({ children }) => {
     // Clear tokens from localStorage
     localStorage.removeItem('accessToken');
     localStorage.removeItem('refreshToken');
-
-    // Optional: Call logout endpoint
-    axios.post('/auth/logout').catch(console.error);
   };
 
   const register = async (userData) => {